@@ -0,0 +1,82 @@
+package com.ruchira.murex.benchmark;
+
+import com.ruchira.murex.dto.StgMrxExtDmcDto;
+import com.ruchira.murex.model.AggregatedDataResponse;
+import com.ruchira.murex.model.TransformedMurexTrade;
+import com.ruchira.murex.util.AccessorBackend;
+import com.ruchira.murex.util.CopyPlan;
+import com.ruchira.murex.util.FieldTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AccessorBackend}s compared on the field-copy workloads: the TPS projection of a
+ * {@link TransformedMurexTrade}, mapping the shared fields of an {@link AggregatedDataResponse} onto a
+ * {@link TransformedMurexTrade}, and reading a {@link StgMrxExtDmcDto} field by field through ordinals.
+ * <p>
+ * Subclasses fix the thread count; {@link Threads} on this class is the single-threaded run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class AccessorBackendBenchmark {
+
+    @State(Scope.Thread)
+    public static class BackendState {
+
+        @Param({"VAR_HANDLE", "LAMBDA"})
+        public AccessorBackend backend;
+
+        @Param({"10", "30", "102"})
+        public int fieldCount;
+
+        TransformedMurexTrade trade;
+        AggregatedDataResponse response;
+        StgMrxExtDmcDto dmc;
+        CopyPlan<TransformedMurexTrade, TransformedMurexTrade> tpsPlan;
+        CopyPlan<AggregatedDataResponse, TransformedMurexTrade> responsePlan;
+        FieldTable<StgMrxExtDmcDto> dmcTable;
+        int[] dmcOrdinals;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            trade = BenchmarkFixtures.populated(TransformedMurexTrade.class);
+            response = BenchmarkFixtures.populated(AggregatedDataResponse.class);
+            dmc = BenchmarkFixtures.populated(StgMrxExtDmcDto.class);
+
+            Set<String> tradeFields = BenchmarkFixtures.fieldNames(TransformedMurexTrade.class, fieldCount);
+            tpsPlan = CopyPlan.compile(TransformedMurexTrade.class, TransformedMurexTrade.class, tradeFields, backend);
+            responsePlan = CopyPlan.compile(AggregatedDataResponse.class, TransformedMurexTrade.class,
+                    BenchmarkFixtures.fieldNames(AggregatedDataResponse.class, fieldCount), backend);
+
+            dmcTable = FieldTable.forClass(StgMrxExtDmcDto.class, backend);
+            dmcOrdinals = BenchmarkFixtures.fieldNames(StgMrxExtDmcDto.class, fieldCount).stream()
+                    .mapToInt(dmcTable::ordinal)
+                    .filter(ordinal -> ordinal >= 0)
+                    .toArray();
+        }
+    }
+
+    @Benchmark
+    public TransformedMurexTrade tpsProjectionCopy(BackendState state) {
+        return state.tpsPlan.copy(state.trade);
+    }
+
+    @Benchmark
+    public TransformedMurexTrade responseToTradeCopy(BackendState state) {
+        return state.responsePlan.copy(state.response);
+    }
+
+    @Benchmark
+    public void dmcOrdinalRead(BackendState state, Blackhole blackhole) {
+        for (int ordinal : state.dmcOrdinals) {
+            blackhole.consume(state.dmcTable.get(state.dmc, ordinal));
+        }
+    }
+}
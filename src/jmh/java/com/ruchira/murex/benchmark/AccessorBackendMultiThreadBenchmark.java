@@ -0,0 +1,10 @@
+package com.ruchira.murex.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * {@link AccessorBackendBenchmark} with four concurrent threads, each on its own state
+ */
+@Threads(4)
+public class AccessorBackendMultiThreadBenchmark extends AccessorBackendBenchmark {
+}
@@ -0,0 +1,58 @@
+package com.ruchira.murex.benchmark;
+
+import com.ruchira.murex.util.VarHandleMapper;
+
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deterministic objects and field sets shared by the benchmarks
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Create an instance of the given type with every supported field populated
+     */
+    static <T> T populated(Class<T> type) {
+        try {
+            T instance = type.getDeclaredConstructor().newInstance();
+            for (Map.Entry<String, VarHandle> entry : VarHandleMapper.getVarHandles(type).entrySet()) {
+                Object value = sampleValue(entry.getValue().varType(), entry.getKey());
+                if (value != null) {
+                    entry.getValue().set(instance, value);
+                }
+            }
+            return instance;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create benchmark fixture for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * The first {@code size} field names of the type in a stable, sorted order
+     */
+    static Set<String> fieldNames(Class<?> type, int size) {
+        List<String> names = new ArrayList<>(VarHandleMapper.getVarHandles(type).keySet());
+        Collections.sort(names);
+        return new LinkedHashSet<>(names.subList(0, Math.min(size, names.size())));
+    }
+
+    static Object sampleValue(Class<?> fieldType, String fieldName) {
+        if (fieldType == String.class) return fieldName;
+        if (fieldType == BigDecimal.class) return new BigDecimal("12345.678");
+        if (fieldType == LocalDate.class) return LocalDate.of(2025, 8, 20);
+        if (fieldType == LocalDateTime.class) return LocalDateTime.of(2025, 8, 20, 10, 30);
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ruchira.murex.benchmark;
+
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingTradeLeg;
+import com.ruchira.murex.mapper.HawkMurexBookingMapper;
+import com.ruchira.murex.mapper.MurexBookingAssembler;
+import com.ruchira.murex.mapper.MurexTradeRecordMapper;
+import com.ruchira.murex.model.TransformedMurexTrade;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.model.trade.MurexTrade;
+import com.ruchira.murex.model.trade.MurexTradeLeg;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the trade graph and HAWK record of a single-leg booking: the chained MapStruct mappings
+ * ({@link MurexTradeRecordMapper} then {@link HawkMurexBookingMapper}) against the single pass of
+ * {@link MurexBookingAssembler}. Run with {@code -prof gc} to compare allocation per booking.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class BookingAssemblyBenchmark {
+
+    @State(Scope.Thread)
+    public static class AssemblyState {
+
+        TransformedMurexTrade trade;
+        final MurexTradeRecordMapper tradeMapper = Mappers.getMapper(MurexTradeRecordMapper.class);
+        final HawkMurexBookingMapper hawkMapper = Mappers.getMapper(HawkMurexBookingMapper.class);
+        final MurexBookingAssembler assembler = new MurexBookingAssembler();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            trade = BenchmarkFixtures.populated(TransformedMurexTrade.class);
+        }
+    }
+
+    @Benchmark
+    public HAWKMurexBookingRecord chainedMappers(AssemblyState state) {
+        MurexTrade murexTrade = state.tradeMapper.toMurexTrade(state.trade);
+        MurexTradeLeg leg = state.tradeMapper.toMurexTradeLeg(state.trade);
+        leg.setComponents(List.of(state.tradeMapper.toMurexTradeLegComponent(state.trade)));
+        leg.setAdditionalFields(state.tradeMapper.toMurexTradeLegAdditionalFields(state.trade));
+        murexTrade.setNearLeg(leg);
+
+        HAWKMurexBookingRecord hawkRecord = state.hawkMapper.toHawkMurexBooking(murexTrade);
+        HAWKMurexBookingTradeLeg hawkLeg = state.hawkMapper.toHawkMurexTradeLeg(leg);
+        hawkLeg.setComponents(state.hawkMapper.toHawkMurexTradeLegComponents(leg.getComponents()));
+        hawkLeg.setAdditionalFields(state.hawkMapper.toHawkMurexTradeLegAdditionalFields(leg.getAdditionalFields()));
+        hawkRecord.setNearLeg(hawkLeg);
+        return hawkRecord;
+    }
+
+    @Benchmark
+    public MurexBookingEntry fusedAssembler(AssemblyState state) {
+        return state.assembler.assemble(state.trade);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ruchira.murex.benchmark;
+
+import com.ruchira.murex.mapper.DynamicMapper;
+import com.ruchira.murex.model.TransformedMurexTrade;
+import com.ruchira.murex.util.CloneUtils;
+import com.ruchira.murex.util.VarHandleMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copying a {@link TransformedMurexTrade}: selected fields via {@link CloneUtils#cloneWithFields} and
+ * {@link VarHandleMapper#copy}, and the full MapStruct {@link DynamicMapper#clone}.
+ * <p>
+ * Subclasses fix the thread count; {@link Threads} on this class is the single-threaded run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class CopyBenchmark {
+
+    @State(Scope.Thread)
+    public static class CopyState {
+
+        @Param({"10", "30", "102"})
+        public int fieldCount;
+
+        TransformedMurexTrade source;
+        Set<String> fields;
+        final DynamicMapper dynamicMapper = Mappers.getMapper(DynamicMapper.class);
+        final VarHandleMapper<TransformedMurexTrade, TransformedMurexTrade> varHandleMapper =
+                new VarHandleMapper<>(TransformedMurexTrade.class, TransformedMurexTrade.class);
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            source = BenchmarkFixtures.populated(TransformedMurexTrade.class);
+            fields = BenchmarkFixtures.fieldNames(TransformedMurexTrade.class, fieldCount);
+        }
+    }
+
+    @Benchmark
+    public TransformedMurexTrade cloneUtilsCloneWithFields(CopyState state) {
+        return CloneUtils.cloneWithFields(state.source, TransformedMurexTrade.class, state.fields);
+    }
+
+    @Benchmark
+    public TransformedMurexTrade varHandleMapperCopy(CopyState state) {
+        return state.varHandleMapper.copy(state.source, TransformedMurexTrade.class, state.fields);
+    }
+
+    @Benchmark
+    public TransformedMurexTrade dynamicMapperClone(CopyState state) {
+        return state.dynamicMapper.clone(state.source);
+    }
+}
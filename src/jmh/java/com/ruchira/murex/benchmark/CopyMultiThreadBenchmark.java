@@ -0,0 +1,10 @@
+package com.ruchira.murex.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * {@link CopyBenchmark} with four concurrent threads, each on its own state
+ */
+@Threads(4)
+public class CopyMultiThreadBenchmark extends CopyBenchmark {
+}
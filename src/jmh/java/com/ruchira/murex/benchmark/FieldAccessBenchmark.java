@@ -0,0 +1,102 @@
+package com.ruchira.murex.benchmark;
+
+import com.ruchira.murex.model.AggregatedDataResponse;
+import com.ruchira.murex.model.TransformedMurexTrade;
+import com.ruchira.murex.parser.DynamicFieldParser;
+import com.ruchira.murex.util.VarHandleMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-field get/set through {@link VarHandleMapper}, {@link DynamicFieldParser} (cached field accessors)
+ * and, as the baseline, a {@link BeanWrapperImpl} created per access as {@link DynamicFieldParser} did before.
+ * <p>
+ * Every thread works on its own object, so results measure access cost rather than contention.
+ * Subclasses fix the thread count; {@link Threads} on this class is the single-threaded run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class FieldAccessBenchmark {
+
+    @State(Scope.Thread)
+    public static class FieldState {
+
+        @Param({"AggregatedDataResponse", "TransformedMurexTrade"})
+        public String model;
+
+        @Param({"30"})
+        public int fieldCount;
+
+        Object target;
+        String[] fields;
+        Object[] values;
+        final DynamicFieldParser fieldParser = new DynamicFieldParser();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Class<?> type = "AggregatedDataResponse".equals(model) ? AggregatedDataResponse.class : TransformedMurexTrade.class;
+            target = BenchmarkFixtures.populated(type);
+            fields = BenchmarkFixtures.fieldNames(type, fieldCount).toArray(String[]::new);
+            values = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = VarHandleMapper.getField(target, fields[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public void varHandleGet(FieldState state, Blackhole blackhole) {
+        for (String field : state.fields) {
+            blackhole.consume(VarHandleMapper.getField(state.target, field));
+        }
+    }
+
+    @Benchmark
+    public void fieldAccessorsGet(FieldState state, Blackhole blackhole) {
+        for (String field : state.fields) {
+            blackhole.consume(state.fieldParser.getFieldValue(state.target, field));
+        }
+    }
+
+    @Benchmark
+    public void beanWrapperGet(FieldState state, Blackhole blackhole) {
+        for (String field : state.fields) {
+            BeanWrapperImpl wrapper = new BeanWrapperImpl(state.target);
+            blackhole.consume(wrapper.isReadableProperty(field) ? wrapper.getPropertyValue(field) : null);
+        }
+    }
+
+    @Benchmark
+    public Object varHandleSet(FieldState state) {
+        for (int i = 0; i < state.fields.length; i++) {
+            VarHandleMapper.setField(state.target, state.fields[i], state.values[i]);
+        }
+        return state.target;
+    }
+
+    @Benchmark
+    public Object fieldAccessorsSet(FieldState state) {
+        for (int i = 0; i < state.fields.length; i++) {
+            state.fieldParser.setFieldValue(state.target, state.fields[i], state.values[i]);
+        }
+        return state.target;
+    }
+
+    @Benchmark
+    public Object beanWrapperSet(FieldState state) {
+        for (int i = 0; i < state.fields.length; i++) {
+            BeanWrapperImpl wrapper = new BeanWrapperImpl(state.target);
+            if (wrapper.isWritableProperty(state.fields[i])) {
+                wrapper.setPropertyValue(state.fields[i], state.values[i]);
+            }
+        }
+        return state.target;
+    }
+}
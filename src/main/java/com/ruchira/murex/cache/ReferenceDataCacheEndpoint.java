@@ -0,0 +1,93 @@
+package com.ruchira.murex.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ruchira.murex.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admin endpoint for the reference data caches, exposed at {@code /actuator/refdatacache}
+ * <p>
+ * Cache keys:
+ * - murexConfigs       : ruleId (e.g. RULE_1)
+ * - businessEventRules : instructionEvent|hedgeMethod|hedgingInstrumentType|currencyType
+ * - currencyConfigs    : functional currency (e.g. HKD)
+ */
+@Component
+@Endpoint(id = "refdatacache")
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCacheEndpoint {
+
+    private final CacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String cacheName : ReferenceDataCacheManager.REFERENCE_DATA_CACHES) {
+            summary.put(cacheName, describe(getCache(cacheName)));
+        }
+        return summary;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String cacheName) {
+        return describe(getCache(cacheName));
+    }
+
+    /**
+     * Invalidate every entry of the given cache
+     */
+    @DeleteOperation
+    public void invalidateAll(@Selector String cacheName) {
+        getCache(cacheName).clear();
+        log.info("Invalidated all entries of reference data cache {}", cacheName);
+    }
+
+    /**
+     * Invalidate a single entry of the given cache
+     */
+    @DeleteOperation
+    public void invalidate(@Selector String cacheName, @Selector String key) {
+        getCache(cacheName).evict(key);
+        log.info("Invalidated key {} of reference data cache {}", key, cacheName);
+    }
+
+    private Cache getCache(String cacheName) {
+        if (!ReferenceDataCacheManager.REFERENCE_DATA_CACHES.contains(cacheName)) {
+            throw new BusinessException(String.format("Unknown reference data cache: %s", cacheName));
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new BusinessException(String.format("Reference data cache not initialised: %s", cacheName));
+        }
+        return cache;
+    }
+
+    private Map<String, Object> describe(Cache cache) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (cache instanceof CaffeineCache caffeineCache) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            CacheStats stats = nativeCache.stats();
+            details.put("size", nativeCache.estimatedSize());
+            details.put("keys", List.copyOf(nativeCache.asMap().keySet()));
+            details.put("hitCount", stats.hitCount());
+            details.put("missCount", stats.missCount());
+            details.put("evictionCount", stats.evictionCount());
+            details.put("hitRate", stats.hitRate());
+        }
+        return details;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ruchira.murex.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ruchira.murex.config.ReferenceDataCacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+import static com.ruchira.murex.constant.Constants.*;
+
+/**
+ * Enables Spring caching backed by bounded, TTL based Caffeine caches for reference data
+ * <p>
+ * Caches are registered eagerly so that Actuator binds hit/miss/eviction metrics
+ * for them at startup (exposed under {@code cache.gets}, {@code cache.evictions}, ...).
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class ReferenceDataCacheManager {
+
+    public static final List<String> REFERENCE_DATA_CACHES = List.of(
+            MUREX_CONFIG_CACHE,
+            BUSINESS_EVENT_RULE_CACHE,
+            CURRENCY_CONFIG_CACHE
+    );
+
+    @Bean
+    public CacheManager cacheManager(ReferenceDataCacheConfig cacheConfig) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        for (String cacheName : REFERENCE_DATA_CACHES) {
+            ReferenceDataCacheConfig.CacheSpec spec = cacheConfig.getSpec(cacheName);
+            cacheManager.registerCustomCache(cacheName, Caffeine.newBuilder()
+                    .maximumSize(spec.getMaximumSize())
+                    .expireAfterWrite(spec.getExpireAfterWrite())
+                    .recordStats()
+                    .build());
+            log.info("Registered reference data cache {} with maximumSize={} expireAfterWrite={}",
+                    cacheName, spec.getMaximumSize(), spec.getExpireAfterWrite());
+        }
+        return cacheManager;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ruchira.murex.config;
+
+import com.ruchira.murex.util.AccessorBackend;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the field accessors used by compiled copy plans
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.accessor")
+@Data
+public class AccessorConfig {
+
+    private AccessorBackend backend = AccessorBackend.VAR_HANDLE;
+}
@@ -0,0 +1,22 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for coalescing identical instruction requests
+ * A request identical to one still running waits for and shares its result; one identical to a request
+ * that succeeded within {@code completedWindow} gets that result without being processed again
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.coalescing")
+@Data
+public class CoalescingConfig {
+
+    private boolean enabled = true;
+    private Duration completedWindow = Duration.ofSeconds(30);
+    private long maxCompleted = 1_000;
+}
@@ -0,0 +1,26 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for bounded parallel processing of grouped records
+ * When adaptive, parallelism moves between {@code minInFlight} and {@code maxInFlight} based on the
+ * measured connection pool wait time
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.concurrency")
+@Data
+public class ConcurrencyConfig {
+
+    private boolean bounded = true;
+    private int maxInFlight = 32;
+    private int minInFlight = 4;
+    private int chunkSize = 1;
+    private boolean adaptive = true;
+    private Duration targetPoolWait = Duration.ofMillis(10);
+    private Duration adjustInterval = Duration.ofMillis(500);
+}
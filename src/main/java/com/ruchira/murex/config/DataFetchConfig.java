@@ -0,0 +1,18 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for fetching aggregated trade data
+ * Controls whether rows are streamed from a cursor and how many rows are read per round trip
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.fetch")
+@Data
+public class DataFetchConfig {
+
+    private boolean streamingEnabled = false;
+    private int streamFetchSize = 500;
+}
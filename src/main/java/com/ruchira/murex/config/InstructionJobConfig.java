@@ -0,0 +1,23 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for instructions submitted as background jobs
+ * {@code workers} instructions run at a time and up to {@code queueCapacity} more wait; further
+ * submissions are rejected. Job results are kept for {@code retention}, up to {@code maxRetainedJobs}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.instruction-jobs")
+@Data
+public class InstructionJobConfig {
+
+    private int workers = 4;
+    private int queueCapacity = 64;
+    private Duration retention = Duration.ofHours(1);
+    private long maxRetainedJobs = 1_000;
+}
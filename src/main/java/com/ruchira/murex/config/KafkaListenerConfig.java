@@ -0,0 +1,53 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for consuming murex-topic
+ * Each of the {@code concurrency} consumers owns a disjoint set of partitions and processes them in
+ * order, so records with the same key are never processed concurrently. Values above the partition
+ * count leave consumers idle, so when {@code partitions} is set the concurrency is capped at it.
+ * Records are delivered in batches of up to {@code maxPollRecords} and committed once per batch.
+ * A record that fails is forwarded to the retry topic instead of being retried in place, see {@link Retry}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.kafka.consumer")
+@Data
+public class KafkaListenerConfig {
+
+    private int concurrency = 3;
+    private int partitions = 0;
+    private int maxPollRecords = 500;
+    private Retry retry = new Retry();
+
+    /**
+     * Number of consumer threads to start: the configured concurrency, capped at the partition count when known
+     */
+    public int getEffectiveConcurrency() {
+        int threads = Math.max(1, concurrency);
+        return partitions > 0 ? Math.min(threads, partitions) : threads;
+    }
+
+    /**
+     * Non-blocking retries of failed murex-topic records
+     * Failed records go to {@code topic}, which has its own consumers; each further failure moves the
+     * record to the next delay tier ({@code topic}{@code retryTopicSuffix}-&lt;delay ms&gt;) until
+     * {@code maxAttempts} is reached, after which it lands on {@code topic}{@code dltSuffix} with its
+     * original headers.
+     */
+    @Data
+    public static class Retry {
+        private String topic = "murex-topic-retry";
+        private String retryTopicSuffix = "-delay";
+        private String dltSuffix = "-dlt";
+        private int maxAttempts = 4;
+        private Duration initialDelay = Duration.ofSeconds(5);
+        private double multiplier = 6.0;
+        private Duration maxDelay = Duration.ofMinutes(5);
+        private int concurrency = 1;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for publishing to Kafka
+ * Caps the batch publish sends in flight across the instance and tunes producer batching per topic,
+ * on top of the spring.kafka.producer defaults
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.kafka.publish")
+@Data
+public class KafkaPublishConfig {
+
+    private int maxInFlight = 256;
+    private RecordKeyStrategy keyStrategy = RecordKeyStrategy.CONTRACT;
+    private Map<String, TopicSpec> topics = new HashMap<>();
+
+    /**
+     * Get the producer settings for the given topic, or null if the topic uses the producer defaults
+     */
+    public TopicSpec getTopicSpec(String topic) {
+        return topics.get(topic);
+    }
+
+    /**
+     * What the key of a published booking record is derived from. Records with the same key land on
+     * the same partition, so they are consumed in publish order.
+     */
+    public enum RecordKeyStrategy {
+        /**
+         * No key; records are spread over partitions by the producer
+         */
+        NONE,
+        /**
+         * The trade reference of the booking
+         */
+        TRADE_REFERENCE,
+        /**
+         * The originating contract of the booking's legs
+         */
+        CONTRACT,
+        /**
+         * The trading portfolio the booking is made in
+         */
+        ENTITY
+    }
+
+    /**
+     * Producer batching settings of a topic; unset values keep the producer defaults
+     */
+    @Data
+    public static class TopicSpec {
+        private Duration linger;
+        private Integer batchSize;
+        private String compressionType;
+    }
+}
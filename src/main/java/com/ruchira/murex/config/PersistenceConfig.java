@@ -0,0 +1,20 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for persisting generated Murex bookings
+ * Ids are assigned by the application from database sequences in blocks of {@code idAllocationSize};
+ * unless {@code verifyIdSequences} is off, startup fails if a sequence's INCREMENT BY differs from it
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.persistence")
+@Data
+public class PersistenceConfig {
+
+    private boolean bulkBookingInsert = true;
+    private int idAllocationSize = 100;
+    private boolean verifyIdSequences = true;
+}
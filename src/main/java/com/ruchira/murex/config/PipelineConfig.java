@@ -0,0 +1,35 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for pipelined instruction processing
+ * Controls queue sizes between stages, transform parallelism and how DMC rows are committed
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.pipeline")
+@Data
+public class PipelineConfig {
+
+    private boolean enabled = false;
+    private int queueCapacity = 256;
+    private int transformWorkers = 8;
+    private int dmcBatchSize = 500;
+    private DmcCommitMode dmcCommitMode = DmcCommitMode.ALL_OR_NONE;
+
+    public enum DmcCommitMode {
+        /**
+         * DMC rows are inserted in a single transaction once every group transformed successfully;
+         * trades are handed to the publish stage in that transaction and published only after it commits.
+         */
+        ALL_OR_NONE,
+        /**
+         * DMC rows are inserted in batches of {@code dmcBatchSize} as results arrive, one transaction per
+         * batch, and the trades of each batch are published once it commits. A later failure leaves
+         * earlier batches committed and their trades published.
+         */
+        INCREMENTAL
+    }
+}
@@ -0,0 +1,22 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for publishing generated trades off the request thread
+ * At most {@code maxConcurrency} trades are stored and sent at a time; completion reports are kept for
+ * {@code reportRetention}, up to {@code maxRetainedReports} of them
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.publish-stage")
+@Data
+public class PublishStageConfig {
+
+    private int maxConcurrency = 16;
+    private Duration reportRetention = Duration.ofHours(1);
+    private long maxRetainedReports = 1_000;
+}
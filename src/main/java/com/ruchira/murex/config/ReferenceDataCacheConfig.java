@@ -0,0 +1,35 @@
+package com.ruchira.murex.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the in-process reference data caches
+ * Each cache is bounded by size and expires entries after a fixed time-to-live
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+@Data
+public class ReferenceDataCacheConfig {
+
+    private CacheSpec defaults = new CacheSpec();
+    private Map<String, CacheSpec> referenceData = new HashMap<>();
+
+    /**
+     * Get the cache specification for the given cache, falling back to the defaults
+     */
+    public CacheSpec getSpec(String cacheName) {
+        return referenceData.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class CacheSpec {
+        private long maximumSize = 1_000;
+        private Duration expireAfterWrite = Duration.ofMinutes(30);
+    }
+}
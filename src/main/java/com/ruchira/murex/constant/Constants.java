@@ -1,5 +1,6 @@
 package com.ruchira.murex.constant;
 
+import java.util.List;
 
 public final class Constants {
 
@@ -41,6 +42,7 @@ public final class Constants {
     public static final String BLENDED_HISTORICAL_EXCHANGE_RATE = "BLEND_HISTFX";
 
     // FTL File names
+    public static final String AGGREGATED_DATA_FETCH_FTL_FILE = "aggregatedDataFetch.ftl";
     public static final String FETCH_BUSINESS_EVENT_RULE_FTL_FILE = "fetchInstructionEventConfig.ftl";
     public static final String FETCH_MUREX_BOOK_CODES_FTL_FILE = "fetchMurexBookCodes.ftl";
     public static final String FETCH_CURRENCY_CONFIG_FTL_FILE = "fetchCurrencyConfig.ftl";
@@ -48,4 +50,22 @@ public final class Constants {
     public static final String INSERT_DATA_TO_MUREX_BOOKING_FTL_FILE = "murexBookingInsert.ftl";
     public static final String INSERT_DATA_TO_MUREX_BOOK_TRADE_LEG_FTL_FILE = "murexBookingTradeLegInsert.ftl";
     public static final String INSERT_DATA_TO_MUREX_BOOK_TRADE_LEG_COMPONENTS_FTL_FILE = "murexBookingTradeLegComponentInsert.ftl";
+    public static final String UPDATE_MUREX_BOOKING_STATUS_FTL_FILE = "murexBookingStatusUpdate.ftl";
+
+    // Murex booking statuses: STORED on insert, PUBLISHED once sent downstream, PROCESSED once acknowledged
+    public static final String BOOKING_STATUS_STORED = "STORED";
+    public static final String BOOKING_STATUS_PUBLISHED = "PUBLISHED";
+    public static final String BOOKING_STATUS_PROCESSED = "PROCESSED";
+
+    // Key sequences for application-assigned ids
+    public static final String MUREX_BOOKING_SEQUENCE = "h_murex_booking_seq";
+    public static final String MUREX_TRADE_LEG_SEQUENCE = "h_murex_trade_leg_seq";
+    public static final String MUREX_TRADE_LEG_COMPONENT_SEQUENCE = "h_murex_trade_leg_component_seq";
+    public static final List<String> MUREX_ID_SEQUENCES = List.of(
+            MUREX_BOOKING_SEQUENCE, MUREX_TRADE_LEG_SEQUENCE, MUREX_TRADE_LEG_COMPONENT_SEQUENCE);
+
+    // Reference data cache names
+    public static final String MUREX_CONFIG_CACHE = "murexConfigs";
+    public static final String BUSINESS_EVENT_RULE_CACHE = "businessEventRules";
+    public static final String CURRENCY_CONFIG_CACHE = "currencyConfigs";
 }
@@ -1,12 +1,21 @@
 package com.ruchira.murex.controller;
 
 import com.ruchira.murex.dto.InstructionRequestDto;
+import com.ruchira.murex.model.InstructionBatchResult;
+import com.ruchira.murex.model.InstructionJobStatus;
+import com.ruchira.murex.pipeline.PublishReport;
+import com.ruchira.murex.pipeline.PublishStage;
 import com.ruchira.murex.service.InboundInstructionProcessingService;
+import com.ruchira.murex.service.InstructionBatchService;
+import com.ruchira.murex.service.InstructionCoalescer;
+import com.ruchira.murex.service.InstructionJobService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/")
 @RequiredArgsConstructor
@@ -14,14 +23,24 @@ import org.springframework.web.bind.annotation.*;
 public class InstructionProcessingController {
 
     private final InboundInstructionProcessingService inboundInstructionProcessingService;
+    private final PublishStage publishStage;
+    private final InstructionJobService instructionJobService;
+    private final InstructionCoalescer instructionCoalescer;
+    private final InstructionBatchService instructionBatchService;
 
+    /**
+     * Processes the instruction and returns once its trades are generated; they are stored and published
+     * in the background, tracked by the returned publish report. An identical instruction that is running
+     * or just completed serves the request instead.
+     */
     @GetMapping("/process-instruction")
     public ResponseEntity<Object> fetchData(InstructionRequestDto instructionRequestDto) {
 
         try {
 
-           inboundInstructionProcessingService.processInstruction(instructionRequestDto);
-            return ResponseEntity.ok("SUCCESS");
+            PublishReport publishReport = instructionCoalescer.execute(instructionRequestDto,
+                    () -> inboundInstructionProcessingService.processInstruction(instructionRequestDto));
+            return ResponseEntity.ok(publishReport);
         } catch (Exception e) {
             // Log the error and return appropriate response
             log.error("Error fetching data: {}", e.getMessage());
@@ -29,5 +48,38 @@ public class InstructionProcessingController {
         }
     }
 
+    /**
+     * Queues the instruction for background processing and returns its job id at once
+     */
+    @PostMapping("/instruction-jobs")
+    public ResponseEntity<InstructionJobStatus> submitInstruction(@RequestBody InstructionRequestDto instructionRequestDto) {
+        return ResponseEntity.accepted().body(instructionJobService.submit(instructionRequestDto));
+    }
+
+    /**
+     * Status of a submitted instruction with its step timings, counts, publish progress and failure
+     */
+    @GetMapping("/instruction-jobs/{jobId}")
+    public ResponseEntity<InstructionJobStatus> instructionStatus(@PathVariable String jobId) {
+        return ResponseEntity.of(instructionJobService.status(jobId));
+    }
+
+    /**
+     * Processes many instructions with shared reference lookups, fetches and writes; the result holds the
+     * outcome of every instruction and the publish report of their trades
+     */
+    @PostMapping("/instruction-batches")
+    public ResponseEntity<InstructionBatchResult> processInstructionBatch(@RequestBody List<InstructionRequestDto> instructionRequestDtos) {
+        return ResponseEntity.ok(instructionBatchService.processBatch(instructionRequestDtos));
+    }
+
+    /**
+     * Progress of a publish job, or its completion report once every trade was stored and sent
+     */
+    @GetMapping("/publish-status/{jobId}")
+    public ResponseEntity<PublishReport> publishStatus(@PathVariable String jobId) {
+        return ResponseEntity.of(publishStage.report(jobId));
+    }
+
 
-}
\ No newline at end of file
+}
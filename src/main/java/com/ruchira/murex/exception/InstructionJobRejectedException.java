@@ -0,0 +1,11 @@
+package com.ruchira.murex.exception;
+
+/**
+ * Raised when an instruction cannot be queued because the job queue is full
+ */
+public class InstructionJobRejectedException extends BusinessException {
+
+    public InstructionJobRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -6,5 +6,14 @@ public interface FtlQueryBuilder {
 
      void init();
 
+     /**
+      * Renders the template with every {@code bind("name")} value inlined as a SQL literal.
+      */
      String buildQuery(Map<String, Object> params, String ftlFileName);
+
+     /**
+      * Renders the template with every {@code bind("name")} value replaced by a named placeholder
+      * and returns the placeholder values alongside the SQL.
+      */
+     ParameterizedQuery buildParameterizedQuery(Map<String, Object> params, String ftlFileName);
 }
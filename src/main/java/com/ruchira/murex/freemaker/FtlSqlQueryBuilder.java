@@ -14,6 +14,8 @@ import org.springframework.stereotype.Component;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -43,6 +45,18 @@ public class FtlSqlQueryBuilder implements FtlQueryBuilder {
     @Override
     public String buildQuery(Map<String, Object> payload, String ftlFileName) {
         log.info("Generating query using FTL file: {}", ftlFileName);
+        return render(payload, ftlFileName, null);
+    }
+
+    @Override
+    public ParameterizedQuery buildParameterizedQuery(Map<String, Object> payload, String ftlFileName) {
+        log.info("Generating parameterized query using FTL file: {}", ftlFileName);
+        final Map<String, Object> parameters = new LinkedHashMap<>();
+        final String sql = render(payload, ftlFileName, parameters);
+        return new ParameterizedQuery(sql, parameters);
+    }
+
+    private String render(Map<String, Object> payload, String ftlFileName, Map<String, Object> parameters) {
         try {
             final Template template = ftlCache.computeIfAbsent(ftlFileName, key -> {
                 try (InputStream inputStream = FtlSqlQueryBuilder.class.getResourceAsStream(FTL_RESOURCE_LOCATION + key)) {
@@ -57,8 +71,11 @@ public class FtlSqlQueryBuilder implements FtlQueryBuilder {
                 }
             });
 
+            final Map<String, Object> model = new HashMap<>(payload);
+            model.put(SqlBindMethod.METHOD_NAME, new SqlBindMethod(payload, parameters));
+
             try (Writer out = new StringWriter()) {
-                template.process(payload, out);
+                template.process(model, out);
                 return out.toString();
             }
         } catch (Exception exception) {
@@ -67,4 +84,4 @@ public class FtlSqlQueryBuilder implements FtlQueryBuilder {
             throw new FTLException(message, exception);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.ruchira.murex.freemaker;
+
+import java.util.Map;
+
+/**
+ * SQL statement rendered with named placeholders (e.g. {@code :businessDate}) together with
+ * the values to bind to them.
+ * <p>
+ * Because values are bound rather than inlined, the statement text stays stable across requests,
+ * allowing the driver and MariaDB to reuse prepared statements and cached plans.
+ *
+ * @param sql        SQL text containing named placeholders
+ * @param parameters placeholder name to value map
+ */
+public record ParameterizedQuery(String sql, Map<String, Object> parameters) {
+}
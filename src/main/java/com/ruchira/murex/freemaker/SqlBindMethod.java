@@ -0,0 +1,69 @@
+package com.ruchira.murex.freemaker;
+
+import freemarker.template.SimpleScalar;
+import freemarker.template.TemplateMethodModelEx;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateScalarModel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * FreeMarker method exposed to templates as {@code bind("name")}.
+ * <p>
+ * Renders the model value registered under {@code name} either as:
+ * - a named placeholder ({@code :name}) while recording the value as a bind parameter, or
+ * - an escaped SQL literal when no parameter sink is supplied (literal rendering mode)
+ * <p>
+ * Collections expand to a comma separated literal list; in placeholder mode they are expanded
+ * by {@link org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate}.
+ */
+class SqlBindMethod implements TemplateMethodModelEx {
+
+    static final String METHOD_NAME = "bind";
+
+    private final Map<String, Object> model;
+    private final Map<String, Object> parameters;
+
+    SqlBindMethod(Map<String, Object> model, Map<String, Object> parameters) {
+        this.model = model;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public Object exec(List arguments) throws TemplateModelException {
+        if (arguments.size() != 1 || !(arguments.getFirst() instanceof TemplateScalarModel nameModel)) {
+            throw new TemplateModelException("bind expects exactly one parameter name argument");
+        }
+
+        final String name = nameModel.getAsString();
+        if (!model.containsKey(name)) {
+            throw new TemplateModelException(String.format("No value supplied for bind parameter: %s", name));
+        }
+
+        final Object value = model.get(name);
+        if (parameters == null) {
+            return new SimpleScalar(toLiteral(value));
+        }
+
+        parameters.put(name, value);
+        return new SimpleScalar(":" + name);
+    }
+
+    private static String toLiteral(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        if (value instanceof Collection<?> values) {
+            return values.stream()
+                    .map(SqlBindMethod::toLiteral)
+                    .collect(Collectors.joining(", "));
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+}
@@ -1,87 +1,206 @@
 package com.ruchira.murex.kafka.config;
 
+import com.ruchira.murex.config.KafkaListenerConfig;
 import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.commons.lang3.SerializationException;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
-import org.springframework.kafka.listener.ListenerExecutionFailedException;
-import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.retrytopic.RetryTopicConfiguration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationBuilder;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Kafka Consumer configuration class for the data service application
+ * <p>
+ * murex-topic is consumed in batches and never retried in place: a failed record is forwarded to the
+ * retry topic at once, so the records behind it are not held up. The retry topic and its delay tiers
+ * have their own record-mode consumers and end in a dead-letter topic.
  */
 @Configuration
 @Slf4j
 public class KafkaConsumerConfig {
 
+    public static final String RETRY_CONTAINER_FACTORY = "retryKafkaListenerContainerFactory";
+
+    // failures that fail the same way on every attempt skip the retry tiers
+    private static final List<Class<? extends Throwable>> NOT_RETRYABLE_EXCEPTIONS = List.of(
+            IllegalArgumentException.class,    // validation errors, etc.
+            SerializationException.class,
+            DeserializationException.class
+    );
+
+    /**
+     * Templates created for the error handlers; each owns a copy of the producer factory
+     */
+    private final List<KafkaTemplate<String, Object>> deadLetterTemplates = new CopyOnWriteArrayList<>();
+
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, HAWKMurexBookingRecord> concurrentKafkaListenerContainerFactory(
-            ConsumerFactory<String, HAWKMurexBookingRecord> consumerFactory
+            ConsumerFactory<String, HAWKMurexBookingRecord> consumerFactory,
+            KafkaTemplate<String, Object> kafkaTemplate,
+            KafkaListenerConfig listenerConfig
     ) {
         ConcurrentKafkaListenerContainerFactory<String, HAWKMurexBookingRecord> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory);
-        factory.setCommonErrorHandler(errorHandler());
+        factory.setCommonErrorHandler(errorHandler(kafkaTemplate, listenerConfig.getRetry()));
+
+        // One consumer thread per partition subset: records are keyed, so per-key order is kept
+        factory.setConcurrency(listenerConfig.getEffectiveConcurrency());
+        factory.getContainerProperties().setConsumerRebalanceListener(partitionAssignmentLogger());
+
+        // Deliver each poll as one list; a single acknowledge() commits the offsets of the whole batch
+        factory.setBatchListener(true);
+        factory.getContainerProperties().getKafkaConsumerProperties().setProperty(
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.max(1, listenerConfig.getMaxPollRecords())));
 
         // Enable manual acknowledgment
-        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
 
         return factory;
     }
 
-    public DefaultErrorHandler errorHandler() {
-        // 6 retries with exponential delay: 1s, 2s, 4s, 8s, 10s, 10s
-        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(6);
-        backOff.setInitialInterval(1_000L);
-        backOff.setMultiplier(2.0);
-        backOff.setMaxInterval(10_000L);
-
-        DefaultErrorHandler handler = new DefaultErrorHandler((record, exception) -> {
-            // Recovery callback: executed after retries are exhausted
-            log.error("""
-                            Kafka record dropped after retries
-                            ─────────────────────────────────────────
-                            Topic      : {}
-                            Partition  : {}
-                            Offset     : {}
-                            Key        : {}
-                            Payload    : {}
-                            Error Type : {}
-                            Error Msg  : {}
-                            ─────────────────────────────────────────
-                            Action     : Skipped (no DLT)
-                            """,
-                    record.topic(),
-                    record.partition(),
-                    record.offset(),
-                    record.key(),
-                    record.value(),
-                    exception.getClass().getSimpleName(),
-                    exception.getMessage()
-            );
-        }, backOff);
-
-
-        // Tell the handler which exceptions should NOT be retried
-        handler.addNotRetryableExceptions(
-                IllegalArgumentException.class,    // validation errors, etc.
-                SerializationException.class,
-                ListenerExecutionFailedException.class
-        );
+    /**
+     * Record-mode factory for the retry topic and its delay tiers; the retry topic infrastructure installs
+     * its own error handler, which moves a failed record to the next tier
+     */
+    @Bean(name = RETRY_CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, HAWKMurexBookingRecord> retryKafkaListenerContainerFactory(
+            ConsumerFactory<String, HAWKMurexBookingRecord> consumerFactory,
+            KafkaListenerConfig listenerConfig
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, HAWKMurexBookingRecord> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(Math.max(1, listenerConfig.getRetry().getConcurrency()));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        return factory;
+    }
 
-        // Nice to have: observe each attempt for metrics/logging
-        handler.setRetryListeners((record, ex, attempt) ->
-                log.info("Retry {} for{} due to {}", attempt, record, ex.toString())
-        );
+    /**
+     * Tiered delays for the retry topic: with the defaults a record is retried at once on murex-topic-retry,
+     * then after 5s, 30s and 180s on the delay topics, and finally published to murex-topic-retry-dlt
+     * with its original headers plus the exception headers
+     */
+    @Bean
+    public RetryTopicConfiguration murexRetryTopicConfiguration(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            KafkaListenerConfig listenerConfig
+    ) {
+        KafkaListenerConfig.Retry retry = listenerConfig.getRetry();
+        return RetryTopicConfigurationBuilder.newInstance()
+                .includeTopic(retry.getTopic())
+                .maxAttempts(Math.max(1, retry.getMaxAttempts()))
+                .exponentialBackoff(retry.getInitialDelay().toMillis(), retry.getMultiplier(), retry.getMaxDelay().toMillis())
+                .retryTopicSuffix(retry.getRetryTopicSuffix())
+                .dltSuffix(retry.getDltSuffix())
+                .notRetryOn(NOT_RETRYABLE_EXCEPTIONS)
+                .listenerFactory(RETRY_CONTAINER_FACTORY)
+                .create(kafkaTemplate);
+    }
+
+    private ConsumerAwareRebalanceListener partitionAssignmentLogger() {
+        return new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                log.info("Partitions assigned: {}", partitions);
+            }
+
+            @Override
+            public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                log.info("Partitions revoked: {}", partitions);
+            }
+        };
+    }
+
+    public DefaultErrorHandler errorHandler(KafkaTemplate<String, Object> kafkaTemplate, KafkaListenerConfig.Retry retry) {
+        // A record whose value could not be deserialized is forwarded with its original bytes, which the
+        // JSON value serializer would re-encode; send those through a template writing the bytes as they are.
+        // Most specific type first: the recoverer uses the first template whose type matches the value
+        KafkaTemplate<String, Object> bytesTemplate = new KafkaTemplate<>(kafkaTemplate.getProducerFactory(),
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+        deadLetterTemplates.add(bytesTemplate);
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, bytesTemplate);
+        templates.put(Object.class, kafkaTemplate);
+
+        // Recovery: forward the failed record with its original headers; a negative partition lets the
+        // producer partition by key, so records of one key stay together on the retry topic
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates,
+                (record, exception) -> new TopicPartition(forwardTopic(record, exception, retry), -1));
+
+        // No in-place retries: the failed record leaves the partition immediately
+        DefaultErrorHandler handler = new DefaultErrorHandler(recoverer, new FixedBackOff(0L, 0L));
 
-        // If you use AckMode.MANUAL_IMMEDIATE and want the offset of "recovered" records committed:
+        // A batch listener throwing BatchListenerFailedException has the records before the failed one committed,
+        // the failed one recovered, and the rest redelivered; any other exception recovers the whole batch.
+        // Commit the offset of "recovered" records as well:
         handler.setCommitRecovered(true);
 
         return handler;
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void closeDeadLetterTemplates() {
+        deadLetterTemplates.forEach(KafkaTemplate::destroy);
+    }
+
+    private static String forwardTopic(ConsumerRecord<?, ?> record, Exception exception, KafkaListenerConfig.Retry retry) {
+        final boolean retryable = NOT_RETRYABLE_EXCEPTIONS.stream()
+                .noneMatch(type -> hasCause(exception, type));
+        final String destination = retryable ? retry.getTopic() : retry.getTopic() + retry.getDltSuffix();
+        log.error("""
+                        Kafka record forwarded
+                        ─────────────────────────────────────────
+                        Topic      : {}
+                        Partition  : {}
+                        Offset     : {}
+                        Key        : {}
+                        Error Type : {}
+                        Error Msg  : {}
+                        ─────────────────────────────────────────
+                        Action     : Forwarded to {}
+                        """,
+                record.topic(),
+                record.partition(),
+                record.offset(),
+                record.key(),
+                exception.getClass().getSimpleName(),
+                exception.getMessage(),
+                destination
+        );
+        return destination;
+    }
+
+    private static boolean hasCause(Throwable throwable, Class<? extends Throwable> type) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (type.isInstance(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,25 +1,130 @@
 package com.ruchira.murex.kafka.consumer;
 
+import com.ruchira.murex.kafka.config.KafkaConsumerConfig;
 import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.service.TradeDataHandlerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.core.log.LogAccessor;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_PROCESSED;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class KafkaEventListener {
 
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(KafkaEventListener.class);
+
+    private final TradeDataHandlerService tradeDataHandlerService;
 
     @KafkaListener(id = "murex-group-id", topics = "murex-topic", containerFactory = "concurrentKafkaListenerContainerFactory")
-    public void onTradeResponse(ConsumerRecord<String, HAWKMurexBookingRecord> record,
-                                     Acknowledgment acknowledgment) {
-        final HAWKMurexBookingRecord response = record.value();
-        log.info("MurexTradeOutBound Processed Event Received: {}", response);
+    public void onTradeResponses(List<ConsumerRecord<String, HAWKMurexBookingRecord>> records,
+                                 Acknowledgment acknowledgment) {
+        final Set<String> tradeReferences = new LinkedHashSet<>();
+        int unreadable = -1;
+        Exception unreadableCause = null;
+        for (int i = 0; i < records.size(); i++) {
+            final ConsumerRecord<String, HAWKMurexBookingRecord> record = records.get(i);
+            // records of one key share a partition, which only this consumer thread processes, in offset order
+            log.debug("MurexTradeOutBound Processed Event Received [partition={}, offset={}, key={}]: {}",
+                    record.partition(), record.offset(), record.key(), record.value());
+            unreadableCause = deserializationFailureOf(record);
+            if (Objects.nonNull(unreadableCause)) {
+                // the records before it are applied and committed, the record itself is recovered to the DLT
+                unreadable = i;
+                break;
+            }
+            final String tradeReference = tradeReferenceOf(record);
+            if (Objects.nonNull(tradeReference)) {
+                tradeReferences.add(tradeReference);
+            }
+        }
+        final List<ConsumerRecord<String, HAWKMurexBookingRecord>> readable =
+                unreadable < 0 ? records : records.subList(0, unreadable);
 
+        // one statement for the whole batch; only if it fails are the records applied one by one to find the culprit
+        try {
+            final int updated = tradeDataHandlerService.updateMurexBookingStatus(tradeReferences, BOOKING_STATUS_PROCESSED);
+            log.info("MurexTradeOutBound batch of {} events processed; {} bookings marked {}",
+                    readable.size(), updated, BOOKING_STATUS_PROCESSED);
+        } catch (RuntimeException ex) {
+            log.warn("Bulk status update failed for batch of {} events, applying them one by one: {}", readable.size(), ex.getMessage());
+            applyIndividually(readable);
+        }
+
+        if (unreadable >= 0) {
+            throw new BatchListenerFailedException(
+                    String.format("Event at offset %d could not be deserialized", records.get(unreadable).offset()),
+                    unreadableCause, unreadable);
+        }
         acknowledgment.acknowledge();
     }
+
+    /**
+     * Consumes the retry topic and its delay tiers; a failure here moves the record to the next tier
+     */
+    @KafkaListener(id = "murex-retry-group-id", topics = "${app.kafka.consumer.retry.topic:murex-topic-retry}",
+            containerFactory = KafkaConsumerConfig.RETRY_CONTAINER_FACTORY)
+    public void onTradeResponseRetry(ConsumerRecord<String, HAWKMurexBookingRecord> record) {
+        log.info("MurexTradeOutBound Processed Event Retried [topic={}, partition={}, offset={}, key={}]",
+                record.topic(), record.partition(), record.offset(), record.key());
+        markProcessed(record);
+    }
+
+    private void applyIndividually(List<ConsumerRecord<String, HAWKMurexBookingRecord>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            if (Objects.isNull(tradeReferenceOf(records.get(i)))) {
+                // readable but without a trade reference, skipped by the bulk update as well
+                continue;
+            }
+            try {
+                markProcessed(records.get(i));
+            } catch (RuntimeException ex) {
+                // records before i are committed, record i goes to the retry topic, the rest are redelivered
+                throw new BatchListenerFailedException(
+                        String.format("Failed to process event at offset %d", records.get(i).offset()), ex, i);
+            }
+        }
+    }
+
+    private void markProcessed(ConsumerRecord<String, HAWKMurexBookingRecord> record) {
+        final String tradeReference = tradeReferenceOf(record);
+        if (Objects.isNull(tradeReference)) {
+            throw new IllegalArgumentException(String.format("Event at offset %d has no trade reference", record.offset()));
+        }
+        tradeDataHandlerService.updateMurexBookingStatus(List.of(tradeReference), BOOKING_STATUS_PROCESSED);
+    }
+
+    /**
+     * Why the value of the record could not be read, or null when it was deserialized
+     * A failed ErrorHandlingDeserializer leaves a null value and the failure in a header
+     */
+    private static Exception deserializationFailureOf(ConsumerRecord<String, HAWKMurexBookingRecord> record) {
+        final DeserializationException failure = SerializationUtils.getExceptionFromHeader(
+                record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        if (Objects.nonNull(failure)) {
+            return failure;
+        }
+        return Objects.isNull(record.value())
+                ? new IllegalArgumentException(String.format("Event at offset %d has no value", record.offset()))
+                : null;
+    }
+
+    private static String tradeReferenceOf(ConsumerRecord<String, HAWKMurexBookingRecord> record) {
+        final HAWKMurexBookingRecord response = record.value();
+        return Objects.isNull(response) ? null : response.getExternalReference();
+    }
 }
@@ -0,0 +1,21 @@
+package com.ruchira.murex.kafka.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch publish, one {@link PublishResult} per record in batch order
+ */
+public record BatchPublishResult(String topic, List<PublishResult> results) {
+
+    public List<PublishResult> failures() {
+        return results.stream().filter(result -> !result.isSuccess()).toList();
+    }
+
+    public long successCount() {
+        return results.stream().filter(PublishResult::isSuccess).count();
+    }
+
+    public boolean isAllSucceeded() {
+        return results.stream().allMatch(PublishResult::isSuccess);
+    }
+}
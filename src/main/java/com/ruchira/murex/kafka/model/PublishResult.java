@@ -0,0 +1,25 @@
+package com.ruchira.murex.kafka.model;
+
+/**
+ * Outcome of sending one record of a batch
+ *
+ * @param index     position of the record in the published batch
+ * @param topic     topic the record was sent to
+ * @param partition partition written to, or -1 if the send failed
+ * @param offset    offset of the written record, or -1 if the send failed
+ * @param failure   cause of a failed send, or null
+ */
+public record PublishResult(int index, String topic, int partition, long offset, Throwable failure) {
+
+    public static PublishResult success(int index, String topic, int partition, long offset) {
+        return new PublishResult(index, topic, partition, offset, null);
+    }
+
+    public static PublishResult failed(int index, String topic, Throwable failure) {
+        return new PublishResult(index, topic, -1, -1L, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
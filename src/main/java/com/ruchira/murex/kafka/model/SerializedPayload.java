@@ -0,0 +1,22 @@
+package com.ruchira.murex.kafka.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A value already encoded as UTF-8 JSON, so that the same bytes can be stored and published without
+ * serializing the value again
+ *
+ * @param type  class of the encoded value; published as the type header for consumers
+ * @param bytes the encoded JSON; must not be modified
+ */
+public record SerializedPayload(Class<?> type, byte[] bytes) {
+
+    public String asString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "SerializedPayload[" + type.getSimpleName() + ", " + bytes.length + " bytes]";
+    }
+}
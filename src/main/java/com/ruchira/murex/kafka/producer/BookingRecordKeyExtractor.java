@@ -0,0 +1,49 @@
+package com.ruchira.murex.kafka.producer;
+
+import com.ruchira.murex.config.KafkaPublishConfig;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingTradeLeg;
+import com.ruchira.murex.kafka.model.HawkMurexBookingTradeLegAdditionalFields;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Derives the Kafka record key of a HAWK booking record according to
+ * {@code app.kafka.publish.key-strategy}
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingRecordKeyExtractor {
+
+    private final KafkaPublishConfig publishConfig;
+
+    /**
+     * Key of the given booking record, or null if the strategy is NONE or the record has no value for it
+     */
+    public String keyOf(HAWKMurexBookingRecord bookingRecord) {
+        return switch (publishConfig.getKeyStrategy()) {
+            case NONE -> null;
+            case TRADE_REFERENCE -> bookingRecord.getExternalReference();
+            case CONTRACT -> contractOf(bookingRecord);
+            case ENTITY -> bookingRecord.getTradingPortf();
+        };
+    }
+
+    /**
+     * Both legs of a booking originate from the same contract, so the near leg decides and the far leg
+     * is only used when there is no near leg
+     */
+    private String contractOf(HAWKMurexBookingRecord bookingRecord) {
+        return Stream.of(bookingRecord.getNearLeg(), bookingRecord.getFarLeg())
+                .filter(Objects::nonNull)
+                .map(HAWKMurexBookingTradeLeg::getAdditionalFields)
+                .filter(Objects::nonNull)
+                .map(HawkMurexBookingTradeLegAdditionalFields::getOrigContractRef)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+}
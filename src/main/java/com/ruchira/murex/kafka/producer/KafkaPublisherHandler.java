@@ -1,21 +1,61 @@
 package com.ruchira.murex.kafka.producer;
 
-import lombok.RequiredArgsConstructor;
+import com.ruchira.murex.config.KafkaPublishConfig;
+import com.ruchira.murex.kafka.model.BatchPublishResult;
+import com.ruchira.murex.kafka.model.PublishResult;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class KafkaPublisherHandler {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaPublishConfig publishConfig;
+
+    /**
+     * Sends of batch publishes in flight, shared by all concurrent {@link #publishAll} calls
+     */
+    private final Semaphore inFlight;
+
+    /**
+     * Templates of topics with their own producer settings; each owns a copy of the producer factory
+     */
+    private final Map<String, KafkaTemplate<String, Object>> topicTemplates = new ConcurrentHashMap<>();
+
+    public KafkaPublisherHandler(KafkaTemplate<String, Object> kafkaTemplate, KafkaPublishConfig publishConfig) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.publishConfig = publishConfig;
+        this.inFlight = new Semaphore(Math.max(1, publishConfig.getMaxInFlight()));
+    }
 
     public void publish(final String topic, final Object payload) {
+        publish(topic, null, payload);
+    }
+
+    /**
+     * Publish a keyed record; records with the same key go to the same partition
+     *
+     * @param key record key, or null to let the producer pick the partition
+     */
+    public void publish(final String topic, final String key, final Object payload) {
 
-        kafkaTemplate.send(topic, payload).whenCompleteAsync((result, exception) -> {
+        templateFor(topic).send(topic, key, payload).whenCompleteAsync((result, exception) -> {
             if (exception == null) {
                 log.info("Event Published Successfully with Offset: {}", result.getRecordMetadata().offset());
                 return;
@@ -23,4 +63,90 @@ public class KafkaPublisherHandler {
             log.error("Unable to Publish Message: {}", exception, exception);
         });
     }
+
+    /**
+     * Publish a batch of records to one topic.
+     * <p>
+     * At most {@code app.kafka.publish.max-in-flight} sends are outstanding at a time, counted over all batches
+     * being published concurrently; the calling thread blocks until earlier sends complete. The producer batches the records according to the topic's
+     * settings. A failed send does not stop the remaining ones.
+     *
+     * @param topic    topic to publish to
+     * @param payloads records to publish
+     * @return completes once every send completed, with one result per record in batch order
+     */
+    public CompletableFuture<BatchPublishResult> publishAll(final String topic, final List<?> payloads) {
+        return publishAll(topic, payloads, null);
+    }
+
+    /**
+     * Keyed variant of {@link #publishAll(String, List)}
+     *
+     * @param keys record key per payload, in payload order; null, or null entries, for unkeyed records
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<BatchPublishResult> publishAll(final String topic, final List<?> payloads, final List<String> keys) {
+        final KafkaTemplate<String, Object> template = templateFor(topic);
+        final CompletableFuture<PublishResult>[] sends = new CompletableFuture[payloads.size()];
+
+        for (int i = 0; i < sends.length; i++) {
+            final int index = i;
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                CancellationException cancelled = new CancellationException("Batch publish was interrupted");
+                Arrays.setAll(sends, j -> j < index ? sends[j] : CompletableFuture.completedFuture(PublishResult.failed(j, topic, cancelled)));
+                break;
+            }
+            try {
+                final String key = Objects.isNull(keys) ? null : keys.get(i);
+                sends[i] = template.send(topic, key, payloads.get(i))
+                        .handle((result, exception) -> {
+                            inFlight.release();
+                            return toPublishResult(index, topic, result, exception);
+                        });
+            } catch (RuntimeException e) {
+                inFlight.release();
+                sends[i] = CompletableFuture.completedFuture(PublishResult.failed(index, topic, e));
+            }
+        }
+
+        return CompletableFuture.allOf(sends)
+                .thenApply(ignored -> new BatchPublishResult(topic, Arrays.stream(sends).map(CompletableFuture::join).toList()));
+    }
+
+    private PublishResult toPublishResult(int index, String topic, SendResult<String, Object> result, Throwable exception) {
+        if (exception != null) {
+            log.error("Unable to Publish Message {} of batch to {}: {}", index, topic, exception.getMessage());
+            return PublishResult.failed(index, topic, exception);
+        }
+        return PublishResult.success(index, topic, result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+    }
+
+    private KafkaTemplate<String, Object> templateFor(final String topic) {
+        final KafkaPublishConfig.TopicSpec spec = publishConfig.getTopicSpec(topic);
+        if (Objects.isNull(spec)) {
+            return kafkaTemplate;
+        }
+        return topicTemplates.computeIfAbsent(topic, t -> {
+            Map<String, Object> overrides = new HashMap<>();
+            if (Objects.nonNull(spec.getLinger())) {
+                overrides.put(ProducerConfig.LINGER_MS_CONFIG, spec.getLinger().toMillis());
+            }
+            if (Objects.nonNull(spec.getBatchSize())) {
+                overrides.put(ProducerConfig.BATCH_SIZE_CONFIG, spec.getBatchSize());
+            }
+            if (Objects.nonNull(spec.getCompressionType())) {
+                overrides.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, spec.getCompressionType());
+            }
+            log.info("Using producer overrides {} for topic {}", overrides, t);
+            return new KafkaTemplate<>(kafkaTemplate.getProducerFactory(), overrides);
+        });
+    }
+
+    @PreDestroy
+    public void closeTopicTemplates() {
+        topicTemplates.values().forEach(KafkaTemplate::destroy);
+    }
 }
@@ -0,0 +1,53 @@
+package com.ruchira.murex.kafka.producer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruchira.murex.kafka.model.SerializedPayload;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * {@link JsonSerializer} that writes a {@link SerializedPayload} as its bytes, unchanged.
+ * <p>
+ * The type header names the encoded type rather than the wrapper, so consumers deserialize the record
+ * as if the original value had been sent. Any other value is serialized as usual.
+ * <p>
+ * Payloads must be produced by {@link #encode(Object)}, which uses the mapper of a default
+ * {@link JsonSerializer}, so published messages keep the wire format downstream consumers expect
+ * (e.g. Java time values as arrays) whether or not they were pre-serialized.
+ */
+public class PayloadAwareJsonSerializer extends JsonSerializer<Object> {
+
+    private static final ObjectMapper WIRE_MAPPER = JacksonUtils.enhancedObjectMapper();
+
+    public PayloadAwareJsonSerializer() {
+        super(WIRE_MAPPER);
+    }
+
+    /**
+     * Serialize a value exactly as this serializer would publish it
+     */
+    public static SerializedPayload encode(Object value) throws JsonProcessingException {
+        return new SerializedPayload(value.getClass(), WIRE_MAPPER.writeValueAsBytes(value));
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data instanceof SerializedPayload payload) {
+            if (addTypeInfo && headers != null) {
+                typeMapper.fromClass(payload.type(), headers);
+            }
+            return payload.bytes();
+        }
+        return super.serialize(topic, headers, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data instanceof SerializedPayload payload) {
+            return payload.bytes();
+        }
+        return super.serialize(topic, data);
+    }
+}
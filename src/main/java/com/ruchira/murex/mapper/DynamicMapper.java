@@ -3,40 +3,38 @@ package com.ruchira.murex.mapper;
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
 import com.ruchira.murex.model.AggregatedDataResponse;
 import com.ruchira.murex.model.TransformedMurexTrade;
-import org.apache.commons.lang3.ObjectUtils;
 import org.mapstruct.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
-
-import java.util.Map;
 
 @Mapper(componentModel = "spring", nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
 public interface DynamicMapper {
 
     StgMrxExtDmcDto mapToDmcDto(TransformedMurexTrade dataResponse);
 
-    TransformedMurexTrade mapToMurexTradeLeg(AggregatedDataResponse dataResponse, @Context Map<String, Object> overrides);
+    /**
+     * Map a source record straight to its DMC row; same result as mapping it to a
+     * {@link TransformedMurexTrade} first, without the intermediate copy. The trace id, rule id and book code
+     * are stamped by the caller, the timestamps are set by the database
+     */
+    @Mapping(target = "traceId", ignore = true)
+    @Mapping(target = "instructionRuleId", ignore = true)
+    @Mapping(target = "murexBookCode", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    StgMrxExtDmcDto mapToDmcDto(AggregatedDataResponse dataResponse);
 
     TransformedMurexTrade mapToMurexTradeLeg(AggregatedDataResponse dataResponse);
 
+    /**
+     * Map a record and apply overrides bound to a precompiled {@link OverridePlan}
+     */
+    TransformedMurexTrade mapToMurexTradeLeg(AggregatedDataResponse dataResponse, @Context OverridePlan.Overrides<TransformedMurexTrade> overrides);
+
     TransformedMurexTrade clone(TransformedMurexTrade transformedMurexTrade);
 
     @AfterMapping
-    default <S, T> void overrideValues(S source, @MappingTarget T target, @Context Map<String, Object> overrides) {
-        Logger log = LoggerFactory.getLogger(DynamicMapper.class);
-
-        if (ObjectUtils.isNotEmpty(overrides)) {
-            BeanWrapper wrapper = new BeanWrapperImpl(target);
-            overrides.forEach((key, value) -> {
-                if (wrapper.isWritableProperty(key)) {
-                    wrapper.setPropertyValue(key, value);
-                    log.debug("Overridden property '{}' with value '{}' on {}", key, value, target.getClass().getSimpleName());
-                } else {
-                    log.debug("Skipping override: property '{}' not found on {}", key, target.getClass().getSimpleName());
-                }
-            });
+    default void applyOverrides(@MappingTarget TransformedMurexTrade target, @Context OverridePlan.Overrides<TransformedMurexTrade> overrides) {
+        if (overrides != null) {
+            overrides.applyTo(target);
         }
     }
 
@@ -0,0 +1,153 @@
+package com.ruchira.murex.mapper;
+
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingTradeLeg;
+import com.ruchira.murex.kafka.model.HawkMurexBookingTradeLegAdditionalFields;
+import com.ruchira.murex.kafka.model.HawkMurexBookingTradeLegComponent;
+import com.ruchira.murex.model.TransformedMurexTrade;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.model.trade.MurexTrade;
+import com.ruchira.murex.model.trade.MurexTradeLeg;
+import com.ruchira.murex.model.trade.MurexTradeLegAdditionalFields;
+import com.ruchira.murex.model.trade.MurexTradeLegComponent;
+import com.ruchira.murex.util.MurexTradingHelper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+import static com.ruchira.murex.constant.Constants.NEAR_LEG_TYPE;
+
+/**
+ * Builds the {@link MurexTrade} graph and its {@link HAWKMurexBookingRecord} together in a single pass
+ * over the transformed legs.
+ * <p>
+ * Field mapping is the one of the former MapStruct chain (trade graph mapping, then HAWK record mapping),
+ * but every source field is read and every derived value (deal currency, amount, rates) computed once
+ * and written to both outputs, instead of mapping the legs to the trade graph and walking that graph
+ * again for the HAWK record. Values are immutable, so both outputs share the same instances.
+ */
+@Component
+public class MurexBookingAssembler {
+
+    /**
+     * Assemble a single-leg booking; the leg is always the near leg
+     */
+    public MurexBookingEntry assemble(TransformedMurexTrade trade) {
+        MurexBookingEntry booking = header(trade);
+        setNearLeg(booking, trade);
+        return booking;
+    }
+
+    /**
+     * Assemble a booking from its legs; the header is taken from the first leg and each leg is placed
+     * as near or far leg by its leg identification type
+     */
+    public MurexBookingEntry assemble(List<TransformedMurexTrade> trades) {
+        MurexBookingEntry booking = header(trades.getFirst());
+        for (TransformedMurexTrade trade : trades) {
+            if (NEAR_LEG_TYPE.equals(trade.getLegIdentificationType())) {
+                setNearLeg(booking, trade);
+            } else {
+                setFarLeg(booking, trade);
+            }
+        }
+        return booking;
+    }
+
+    private MurexBookingEntry header(TransformedMurexTrade source) {
+        MurexTrade murexTrade = new MurexTrade();
+        HAWKMurexBookingRecord hawkRecord = new HAWKMurexBookingRecord();
+
+        murexTrade.setTradeReference(source.getTraceId());
+        hawkRecord.setExternalReference(source.getTraceId());
+        murexTrade.setTradeExecutionDate(source.getTransDte());
+        hawkRecord.setTransDate(source.getTransDte());
+        murexTrade.setTradeExecutionTime(source.getDealTime());
+        hawkRecord.setDealTime(source.getDealTime());
+        murexTrade.setDealType(source.getOutboundProduct());
+        hawkRecord.setDealType(source.getOutboundProduct());
+        murexTrade.setSourcePortfolio(source.getTradingPortf());
+        hawkRecord.setTradingPortf(source.getTradingPortf());
+        murexTrade.setDestinationPortfolio(source.getCtpy());
+        hawkRecord.setDestinationPortfolio(source.getCtpy());
+        murexTrade.setFamilyGrpType(source.getFamilyGrpType());
+        hawkRecord.setFamilyGrpType(source.getFamilyGrpType());
+        // not sourced from the trade; carry the MurexTrade defaults over to the HAWK record
+        hawkRecord.setInternal(murexTrade.getInternal());
+
+        return new MurexBookingEntry(murexTrade, hawkRecord);
+    }
+
+    private void setNearLeg(MurexBookingEntry booking, TransformedMurexTrade source) {
+        MurexTradeLeg leg = new MurexTradeLeg();
+        HAWKMurexBookingTradeLeg hawkLeg = new HAWKMurexBookingTradeLeg();
+        populateLeg(source, leg, hawkLeg);
+        booking.murexTrade().setNearLeg(leg);
+        booking.murexBookingRecord().setNearLeg(hawkLeg);
+    }
+
+    private void setFarLeg(MurexBookingEntry booking, TransformedMurexTrade source) {
+        MurexTradeLeg leg = new MurexTradeLeg();
+        HAWKMurexBookingTradeLeg hawkLeg = new HAWKMurexBookingTradeLeg();
+        populateLeg(source, leg, hawkLeg);
+        booking.murexTrade().setFarLeg(leg);
+        booking.murexBookingRecord().setFarLeg(hawkLeg);
+    }
+
+    private void populateLeg(TransformedMurexTrade source, MurexTradeLeg leg, HAWKMurexBookingTradeLeg hawkLeg) {
+        String dealCcy = MurexTradingHelper.determineDealCurrency(source);
+        BigDecimal dealAmount = MurexTradingHelper.determineDealAmount(source);
+        BigDecimal clientSpotRate = MurexTradingHelper.determineClientSpotRate(source);
+        BigDecimal clientRate = MurexTradingHelper.determineClientRate(source);
+        String fwswPoints = Objects.toString(source.getFwswPoints(), null);
+
+        leg.setDealCcy(dealCcy);
+        hawkLeg.setDealCcy(dealCcy);
+        leg.setDealAmount(dealAmount);
+        hawkLeg.setDealAmount(dealAmount);
+        leg.setBsIndicator(source.getBsIndicator());
+        hawkLeg.setBsIndicator(source.getBsIndicator());
+        leg.setInitPrice(source.getInitPrice());
+        hawkLeg.setInitPrice(source.getInitPrice());
+        leg.setClientSpotRate(clientSpotRate);
+        hawkLeg.setSpotRate(clientSpotRate);
+        leg.setClientRate(clientRate);
+        hawkLeg.setExchRate(clientRate);
+        leg.setFwswPoints(fwswPoints);
+        hawkLeg.setFwswPoints(fwswPoints);
+        leg.setValueDate(source.getValueDte());
+        hawkLeg.setValueDate(source.getValueDte());
+        leg.setFixDate(source.getFixDate());
+        hawkLeg.setFixDate(source.getFixDate());
+
+        MurexTradeLegComponent component = new MurexTradeLegComponent();
+        HawkMurexBookingTradeLegComponent hawkComponent = new HawkMurexBookingTradeLegComponent();
+        component.setCurrencyPair(source.getInstrumentCode());
+        hawkComponent.setCurrencyPair(source.getInstrumentCode());
+        component.setMarketSpotRate(source.getMarketSpotRate1());
+        hawkComponent.setMarketSpotRate(source.getMarketSpotRate1());
+        leg.setComponents(List.of(component));
+        hawkLeg.setComponents(List.of(hawkComponent));
+
+        MurexTradeLegAdditionalFields additionalFields = new MurexTradeLegAdditionalFields();
+        HawkMurexBookingTradeLegAdditionalFields hawkAdditionalFields = new HawkMurexBookingTradeLegAdditionalFields();
+        additionalFields.setSourceSystem(source.getSourceSystem());
+        hawkAdditionalFields.setSourceSystem(source.getSourceSystem());
+        additionalFields.setTraderId(source.getTraderId());
+        hawkAdditionalFields.setTraderId(source.getTraderId());
+        additionalFields.setOrigContractRef(source.getTxnId());
+        hawkAdditionalFields.setOrigContractRef(source.getTxnId());
+        additionalFields.setCounterPartyCode(source.getCtpy());
+        hawkAdditionalFields.setCounterPartyCode(source.getCtpy());
+        additionalFields.setComment0(source.getComment0());
+        hawkAdditionalFields.setComment0(source.getComment0());
+        additionalFields.setComment1(source.getComment1());
+        hawkAdditionalFields.setComment1(source.getComment1());
+        additionalFields.setComment2(source.getComment2());
+        hawkAdditionalFields.setComment2(source.getComment2());
+        leg.setAdditionalFields(additionalFields);
+        hawkLeg.setAdditionalFields(hawkAdditionalFields);
+    }
+}
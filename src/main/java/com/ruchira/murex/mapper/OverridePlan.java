@@ -0,0 +1,101 @@
+package com.ruchira.murex.mapper;
+
+import com.ruchira.murex.exception.BusinessException;
+import com.ruchira.murex.parser.FieldAccessors;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A validated, reusable set of property overrides for mapped objects.
+ * <p>
+ * The override keys are resolved to setters once, when the plan is compiled; a key that is not a
+ * writable property of the target type is rejected at that point instead of being skipped for every
+ * mapped row. Values are supplied per mapping through {@link #bind(Object...)}, in key order.
+ *
+ * @param <T> the mapped target type
+ */
+public final class OverridePlan<T> {
+
+    private final Class<T> targetType;
+    private final List<String> keys;
+    private final FieldAccessors.FieldAccessor[] setters;
+
+    private OverridePlan(Class<T> targetType, List<String> keys, FieldAccessors.FieldAccessor[] setters) {
+        this.targetType = targetType;
+        this.keys = keys;
+        this.setters = setters;
+    }
+
+    /**
+     * Compile a plan overriding the given properties of the target type
+     *
+     * @param targetType mapped target type
+     * @param keys       property names, in the order values will be bound
+     * @throws BusinessException if a key is not a writable property of the target type
+     */
+    public static <T> OverridePlan<T> compile(Class<T> targetType, String... keys) {
+        FieldAccessors.FieldAccessor[] setters = new FieldAccessors.FieldAccessor[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            FieldAccessors.FieldAccessor accessor = FieldAccessors.forPath(targetType, keys[i]);
+            if (!accessor.isWritable()) {
+                throw new BusinessException(String.format("Override property '%s' is not writable on %s",
+                        keys[i], targetType.getSimpleName()));
+            }
+            setters[i] = accessor;
+        }
+        return new OverridePlan<>(targetType, List.of(keys), setters);
+    }
+
+    /**
+     * Bind values for one mapping, in the order of the plan's keys
+     *
+     * @throws BusinessException if the number of values does not match the number of keys
+     */
+    public Overrides<T> bind(Object... values) {
+        if (values.length != setters.length) {
+            throw new BusinessException(String.format("Override plan %s expects %d values but got %d",
+                    keys, setters.length, values.length));
+        }
+        return new Overrides<>(this, values);
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    void apply(T target, Object[] values) {
+        for (int i = 0; i < setters.length; i++) {
+            setters[i].set(target, values[i]);
+        }
+    }
+
+    /**
+     * Override values bound to a plan, passed to the mapper as mapping context
+     */
+    public static final class Overrides<T> {
+        private final OverridePlan<T> plan;
+        private final Object[] values;
+
+        private Overrides(OverridePlan<T> plan, Object[] values) {
+            this.plan = plan;
+            this.values = values;
+        }
+
+        /**
+         * Apply the bound values to a mapped object
+         */
+        public void applyTo(T target) {
+            plan.apply(target, values);
+        }
+
+        public Class<T> getTargetType() {
+            return plan.targetType;
+        }
+
+        @Override
+        public String toString() {
+            return plan.keys + "=" + Arrays.toString(values);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ruchira.murex.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.ruchira.murex.constant.Constants.FX_SPOT_TYPOLOGY;
+
+/**
+ * FX Spot groups of one instruction keyed by navType and comment0.
+ * <p>
+ * Built once after grouping, so the FX Spot group an NDF record references is found with a map lookup
+ * instead of a scan over every grouped record of the instruction.
+ */
+public final class FxSpotGroupIndex {
+
+    public static final FxSpotGroupIndex EMPTY = new FxSpotGroupIndex(Map.of());
+
+    private final Map<Key, List<GroupedRecord>> groupsByKey;
+
+    private FxSpotGroupIndex(Map<Key, List<GroupedRecord>> groupsByKey) {
+        this.groupsByKey = groupsByKey;
+    }
+
+    /**
+     * Index the FX Spot groups among the given grouped records; other typologies are ignored
+     */
+    public static FxSpotGroupIndex of(List<GroupedRecord> groupedRecords) {
+        Map<Key, List<GroupedRecord>> groupsByKey = new HashMap<>();
+        for (GroupedRecord record : groupedRecords) {
+            if (FX_SPOT_TYPOLOGY.equals(record.getTypology())) {
+                groupsByKey.computeIfAbsent(new Key(record.getNavType(), record.getComment0()), key -> new ArrayList<>()).add(record);
+            }
+        }
+        return groupsByKey.isEmpty() ? EMPTY : new FxSpotGroupIndex(Map.copyOf(groupsByKey));
+    }
+
+    /**
+     * Find an FX Spot group with the given navType and comment0 that belongs to another contract
+     *
+     * @param navType         navType of the referencing record
+     * @param comment0        comment0 of the referencing record
+     * @param excludeContract contract of the referencing record
+     */
+    public Optional<GroupedRecord> find(String navType, String comment0, String excludeContract) {
+        return groupsByKey.getOrDefault(new Key(navType, comment0), List.of()).stream()
+                .filter(record -> !Objects.equals(record.getContract(), excludeContract))
+                .findAny();
+    }
+
+    public int size() {
+        return groupsByKey.values().stream().mapToInt(List::size).sum();
+    }
+
+    private record Key(String navType, String comment0) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.ruchira.murex.model;
+
+import com.ruchira.murex.pipeline.PublishReport;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a batch of instructions
+ *
+ * @param sharedStepMillis time spent on the reference lookups, fetches and writes shared by the batch
+ * @param outcomes         one per submitted instruction, in submission order
+ * @param publishReport    progress of storing and publishing the trades of all succeeded instructions
+ */
+public record InstructionBatchResult(
+        int instructions,
+        long succeeded,
+        long failed,
+        Map<InstructionStep, Long> sharedStepMillis,
+        List<InstructionOutcome> outcomes,
+        PublishReport publishReport,
+        long elapsedMillis
+) {
+}
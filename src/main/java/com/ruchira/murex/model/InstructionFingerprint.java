@@ -0,0 +1,39 @@
+package com.ruchira.murex.model;
+
+import com.ruchira.murex.dto.InstructionRequestDto;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Canonical identity of an instruction request: two requests with the same fingerprint fetch the same
+ * rows and book the same trades. Text fields are kept as sent, since processing binds and stamps them
+ * verbatim; only the external trade ids are canonicalized the way the aggregated data fetch reads them:
+ * split on ':' and trimmed, then de-duplicated and sorted, as their order and repetition do not matter there.
+ */
+public record InstructionFingerprint(
+        String businessDate,
+        String instructionEvent,
+        String hedgeMethod,
+        String hedgeInstrumentType,
+        String currency,
+        List<String> externalTradeIds
+) {
+
+    public static InstructionFingerprint of(InstructionRequestDto dto) {
+        return new InstructionFingerprint(
+                dto.getBusinessDate(),
+                dto.getInstructionEvent(),
+                dto.getHedgeMethod(),
+                dto.getHedgeInstrumentType(),
+                dto.getCurrency(),
+                Objects.isNull(dto.getExternalTradeIds()) ? List.of() : Arrays.stream(dto.getExternalTradeIds().split(":"))
+                        .map(String::trim)
+                        .filter(id -> !id.isEmpty())
+                        .distinct()
+                        .sorted()
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,78 @@
+package com.ruchira.murex.model;
+
+import com.ruchira.murex.dto.InstructionRequestDto;
+import com.ruchira.murex.pipeline.PublishReport;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An instruction submitted for background processing
+ */
+@Getter
+public final class InstructionJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final InstructionRequestDto request;
+    private final InstructionRunStats stats = new InstructionRunStats();
+    private final Instant submittedAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String publishJobId;
+    private volatile String failure;
+    private volatile boolean coalesced;
+    private volatile InstructionRunStats servedStats;
+
+    public InstructionJob(InstructionRequestDto request) {
+        this.request = request;
+    }
+
+    public void started() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    public void succeeded(String publishJobId) {
+        this.publishJobId = publishJobId;
+        finishedAt = Instant.now();
+        status = Status.SUCCEEDED;
+    }
+
+    /**
+     * The job was served by another, identical execution without being processed itself
+     *
+     * @param servedStats timings and counts of the execution that served it
+     */
+    public void coalesced(String publishJobId, InstructionRunStats servedStats) {
+        this.coalesced = true;
+        this.servedStats = servedStats;
+        succeeded(publishJobId);
+    }
+
+    public void failed(String failure) {
+        this.failure = failure;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    /**
+     * Snapshot of the job; a coalesced job reports the timings and counts of the execution that served it
+     *
+     * @param publishReport current report of the job's publish job, if any
+     */
+    public InstructionJobStatus toStatus(PublishReport publishReport) {
+        final InstructionRunStats reported = coalesced ? servedStats : stats;
+        return new InstructionJobStatus(id, request.getInstructionEvent(), status, coalesced, submittedAt, startedAt, finishedAt,
+                reported.getStepMillis(), reported.getGroups(), reported.getTrades(), reported.getDmcRows(), publishReport, failure);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ruchira.murex.model;
+
+import com.ruchira.murex.pipeline.PublishReport;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * State of a submitted instruction, with the timings and counts recorded so far
+ *
+ * @param coalesced     whether the instruction was served by another, identical execution, whose timings
+ *                      and counts are reported
+ * @param publishReport progress of storing and publishing the generated trades; null until processing succeeded
+ * @param failure       reason processing failed; null unless the status is FAILED
+ */
+public record InstructionJobStatus(
+        String jobId,
+        String instructionEvent,
+        InstructionJob.Status status,
+        boolean coalesced,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        Map<InstructionStep, Long> stepMillis,
+        long groups,
+        long trades,
+        long dmcRows,
+        PublishReport publishReport,
+        String failure
+) {
+}
@@ -0,0 +1,27 @@
+package com.ruchira.murex.model;
+
+import java.util.Map;
+
+/**
+ * Result of one instruction of a batch
+ *
+ * @param index      position of the instruction in the submitted batch
+ * @param stepMillis time spent on this instruction alone; shared fetches and writes are reported by the batch
+ * @param failure    reason the instruction failed; null unless the status is FAILED
+ */
+public record InstructionOutcome(
+        int index,
+        String instructionEvent,
+        Status status,
+        Map<InstructionStep, Long> stepMillis,
+        long groups,
+        long trades,
+        long dmcRows,
+        String failure
+) {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED
+    }
+}
@@ -0,0 +1,68 @@
+package com.ruchira.murex.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Step timings and counts of one instruction run; safe to update from concurrent tasks
+ */
+public final class InstructionRunStats {
+
+    private final Map<InstructionStep, Long> stepMillis = new ConcurrentHashMap<>();
+    private final AtomicLong groups = new AtomicLong();
+    private final AtomicLong trades = new AtomicLong();
+    private final AtomicLong dmcRows = new AtomicLong();
+
+    /**
+     * Run the work and add its duration to the step, whether it succeeds or not
+     */
+    public <T> T time(InstructionStep step, Callable<T> work) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return work.call();
+        } finally {
+            record(step, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    public void record(InstructionStep step, long millis) {
+        stepMillis.merge(step, millis, Long::sum);
+    }
+
+    public void addGroups(long count) {
+        groups.addAndGet(count);
+    }
+
+    public void addTrades(long count) {
+        trades.addAndGet(count);
+    }
+
+    public void addDmcRows(long count) {
+        dmcRows.addAndGet(count);
+    }
+
+    /**
+     * Recorded step durations in step order
+     */
+    public Map<InstructionStep, Long> getStepMillis() {
+        Map<InstructionStep, Long> ordered = new EnumMap<>(InstructionStep.class);
+        ordered.putAll(stepMillis);
+        return ordered;
+    }
+
+    public long getGroups() {
+        return groups.get();
+    }
+
+    public long getTrades() {
+        return trades.get();
+    }
+
+    public long getDmcRows() {
+        return dmcRows.get();
+    }
+}
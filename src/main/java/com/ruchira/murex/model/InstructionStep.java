@@ -0,0 +1,17 @@
+package com.ruchira.murex.model;
+
+/**
+ * Timed steps of instruction processing.
+ * <p>
+ * In streaming mode {@link #FETCH} covers the cursor pass, which also groups and transforms non-NDF
+ * records as they arrive, and {@link #TRANSFORM} the deferred NDF pass. In pipelined mode all steps
+ * overlap and only {@link #PIPELINE} is recorded.
+ */
+public enum InstructionStep {
+    REFERENCE_DATA,
+    FETCH,
+    GROUP,
+    TRANSFORM,
+    PERSIST,
+    PIPELINE
+}
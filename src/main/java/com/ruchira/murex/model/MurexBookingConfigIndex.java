@@ -0,0 +1,41 @@
+package com.ruchira.murex.model;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Murex booking configs of one instruction event rule, pre-filtered by typology.
+ * <p>
+ * Built once when the configs of a rule are loaded and cached together with them, so selecting the
+ * configs for a grouped record is a map lookup instead of a JSON evaluation per config.
+ */
+@Getter
+public class MurexBookingConfigIndex {
+
+    private final String ruleId;
+    private final List<MurexBookingConfig> configs;
+    private final Map<String, List<MurexBookingConfig>> configsByTypology;
+
+    public MurexBookingConfigIndex(String ruleId,
+                                   List<MurexBookingConfig> configs,
+                                   Map<String, List<MurexBookingConfig>> configsByTypology) {
+        this.ruleId = ruleId;
+        this.configs = List.copyOf(configs);
+        this.configsByTypology = Map.copyOf(configsByTypology);
+    }
+
+    /**
+     * Get the configs matching the given typology
+     *
+     * @param typology grouped record typology (e.g. "FX Spot")
+     * @return matching configs, empty when none match
+     */
+    public List<MurexBookingConfig> getConfigs(String typology) {
+        if (typology == null) {
+            return List.of();
+        }
+        return configsByTypology.getOrDefault(typology, List.of());
+    }
+}
@@ -0,0 +1,51 @@
+package com.ruchira.murex.model;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Murex booking configs by ruleId, loaded at most once per memo and shared by the instructions using it.
+ * <p>
+ * The first caller of a rule loads it outside any map lock, so a database round trip never holds a
+ * {@link ConcurrentHashMap} bin lock (which would pin the carriers of virtual threads contending for it);
+ * concurrent callers of the same rule wait for that load. A failed load is not kept.
+ */
+public final class MurexBookingConfigMemo {
+
+    private final ConcurrentMap<String, CompletableFuture<MurexBookingConfigIndex>> configsByRule = new ConcurrentHashMap<>();
+
+    /**
+     * Configs of the rule, loading them with {@code loader} if no caller has yet
+     */
+    public MurexBookingConfigIndex get(String ruleId, Function<String, MurexBookingConfigIndex> loader) {
+        final CompletableFuture<MurexBookingConfigIndex> loading = new CompletableFuture<>();
+        final CompletableFuture<MurexBookingConfigIndex> existing = configsByRule.putIfAbsent(ruleId, loading);
+        if (Objects.nonNull(existing)) {
+            return await(existing);
+        }
+        try {
+            MurexBookingConfigIndex configs = loader.apply(ruleId);
+            loading.complete(configs);
+            return configs;
+        } catch (RuntimeException | Error e) {
+            configsByRule.remove(ruleId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static MurexBookingConfigIndex await(CompletableFuture<MurexBookingConfigIndex> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
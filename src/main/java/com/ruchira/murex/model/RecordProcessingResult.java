@@ -1,15 +1,24 @@
 package com.ruchira.murex.model;
 
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
 import com.ruchira.murex.model.trade.MurexTrade;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Objects;
 
 @Data
 @AllArgsConstructor
 public class RecordProcessingResult {
     private List<StgMrxExtDmcDto> allStgMrxExtDmcs;
-    private List<MurexTrade> allMurexTrades;
+    private List<MurexBookingEntry> allMurexBookings;
+
+    /**
+     * Trades of the generated bookings, without their HAWK records
+     */
+    public List<MurexTrade> getAllMurexTrades() {
+        return Objects.isNull(allMurexBookings) ? null : allMurexBookings.stream().map(MurexBookingEntry::murexTrade).toList();
+    }
 }
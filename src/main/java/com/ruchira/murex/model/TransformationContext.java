@@ -19,8 +19,8 @@ import java.util.List;
  *   <li>{@code instructionEventRuleId} – Identifier for the instruction event rule</li>
  *   <li>{@code filteredMurexConfigs} – List of Murex book configurations filtered for processing</li>
  *   <li>{@code inputCurrency} – Input currency used for transformation calculations</li>
- *   <li>{@code allGroupedRecords} – (Optional) All grouped records, if the transformation
- *       requires context across multiple records</li>
+ *   <li>{@code fxSpotGroups} – (Optional) Index of the FX Spot groups of the instruction, if the
+ *       transformation references other records</li>
  * </ul>
  */
 public class TransformationContext {
@@ -31,7 +31,7 @@ public class TransformationContext {
     private List<String> currenciesInFamily;
 
     // optional
-    private List<GroupedRecord> allGroupedRecords;
+    private FxSpotGroupIndex fxSpotGroups;
 
 
     public String getFlipCurrencyVariant() {
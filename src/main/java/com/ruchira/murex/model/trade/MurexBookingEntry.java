@@ -0,0 +1,22 @@
+package com.ruchira.murex.model.trade;
+
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.SerializedPayload;
+
+/**
+ * A generated trade paired with the HAWK booking record stored alongside it in h_murex_booking
+ *
+ * @param recordPayload the booking record serialized once for storage and publishing, or null until
+ *                      {@link #withRecordPayload(SerializedPayload)} is applied
+ */
+public record MurexBookingEntry(MurexTrade murexTrade, HAWKMurexBookingRecord murexBookingRecord,
+                                SerializedPayload recordPayload) {
+
+    public MurexBookingEntry(MurexTrade murexTrade, HAWKMurexBookingRecord murexBookingRecord) {
+        this(murexTrade, murexBookingRecord, null);
+    }
+
+    public MurexBookingEntry withRecordPayload(SerializedPayload payload) {
+        return new MurexBookingEntry(murexTrade, murexBookingRecord, payload);
+    }
+}
@@ -15,7 +15,7 @@ import java.util.*;
  * Eliminates hardcoded field mappings and supports nested properties
  * <p>
  * Key Features:
- * - Reflection-based property access with caching for performance
+ * - Property access through accessors resolved once per (class, path), see {@link FieldAccessors}
  * - Support for nested field paths (e.g., "address.street.name")
  * - Type-safe conversions with proper error handling
  */
@@ -37,11 +37,14 @@ public class DynamicFieldParser {
         }
 
         try {
-            BeanWrapperImpl wrapper = new BeanWrapperImpl(obj);
-            if (!wrapper.isReadableProperty(fieldPath)) {
-                return null; // or throw exception if strict mode
+            if (isKeyedPath(fieldPath)) {
+                BeanWrapperImpl wrapper = new BeanWrapperImpl(obj);
+                if (!wrapper.isReadableProperty(fieldPath)) {
+                    return null; // or throw exception if strict mode
+                }
+                return wrapper.getPropertyValue(fieldPath);
             }
-            return wrapper.getPropertyValue(fieldPath);
+            return FieldAccessors.forPath(obj.getClass(), fieldPath).get(obj);
 
         } catch (Exception e) {
             throw new DynamicMappingException(String.format("Failed to get field value: %s", fieldPath), e);
@@ -61,11 +64,19 @@ public class DynamicFieldParser {
         }
 
         try {
-            BeanWrapperImpl wrapper = new BeanWrapperImpl(obj);
-            if (!wrapper.isWritableProperty(fieldPath)) {
+            if (isKeyedPath(fieldPath)) {
+                BeanWrapperImpl wrapper = new BeanWrapperImpl(obj);
+                if (!wrapper.isWritableProperty(fieldPath)) {
+                    throw new DynamicMappingException(String.format("Field not found: %s", fieldPath));
+                }
+                wrapper.setPropertyValue(fieldPath, value);
+                return;
+            }
+            FieldAccessors.FieldAccessor accessor = FieldAccessors.forPath(obj.getClass(), fieldPath);
+            if (!accessor.isWritable(obj)) {
                 throw new DynamicMappingException(String.format("Field not found: %s", fieldPath));
             }
-            wrapper.setPropertyValue(fieldPath, value);
+            accessor.set(obj, value);
 
         } catch (Exception e) {
             throw new DynamicMappingException(String.format("Failed to set field value: %s", fieldPath), e);
@@ -128,6 +139,14 @@ public class DynamicFieldParser {
         return valueNode.asText();
     }
 
+    /**
+     * Indexed or keyed paths (e.g. "legs[0]" or "attributes[key]") are left to BeanWrapper;
+     * plain and dotted paths go through the cached accessors.
+     */
+    private boolean isKeyedPath(String fieldPath) {
+        return fieldPath.indexOf('[') >= 0;
+    }
+
     /**
      * Custom exception for dynamic mapping operations
      */
@@ -0,0 +1,228 @@
+package com.ruchira.murex.parser;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache of precompiled property accessors keyed by (class, dotted property path).
+ * <p>
+ * Getters, setters and the value converter of the last segment are resolved once per (class, path);
+ * afterwards a get or set is a chain of method handle calls with no introspection and no wrapper
+ * allocation. Semantics follow {@link org.springframework.beans.BeanWrapperImpl} with default editors:
+ * <ul>
+ *   <li>a path that is not readable, or runs through a null intermediate value, reads as {@code null}</li>
+ *   <li>a path that is not writable, or runs through a null intermediate value, is not writable</li>
+ *   <li>values are converted to the property type (number widening/narrowing, text to number, wrappers to
+ *   text); anything else goes through Spring's {@link SimpleTypeConverter}</li>
+ * </ul>
+ * Intermediate segments are resolved against their declared property type.
+ */
+public final class FieldAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Map<Class<?>, Map<String, FieldAccessor>> accessors = new ConcurrentHashMap<>();
+
+    private FieldAccessors() {
+    }
+
+    /**
+     * Get the cached accessor for the given property path of the given class
+     *
+     * @param type      class the path starts from
+     * @param fieldPath property path (e.g. "name" or "address.street")
+     * @return accessor for the path; never null, but possibly neither readable nor writable
+     */
+    public static FieldAccessor forPath(Class<?> type, String fieldPath) {
+        return accessors.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fieldPath, path -> FieldAccessor.resolve(type, path));
+    }
+
+    /**
+     * A resolved property path
+     */
+    public static final class FieldAccessor {
+
+        private final String path;
+        private final boolean readable;
+        private final MethodHandle[] getters;
+        private final MethodHandle setter;
+        private final Function<Object, Object> converter;
+
+        private FieldAccessor(String path, boolean readable, MethodHandle[] getters, MethodHandle setter, Function<Object, Object> converter) {
+            this.path = path;
+            this.readable = readable;
+            this.getters = getters;
+            this.setter = setter;
+            this.converter = converter;
+        }
+
+        /**
+         * Whether every segment of the path has a getter
+         */
+        public boolean isReadable() {
+            return readable;
+        }
+
+        /**
+         * Whether the intermediate segments have getters and the last segment has a setter
+         */
+        public boolean isWritable() {
+            return setter != null;
+        }
+
+        /**
+         * Read the value at this path, or {@code null} if the path is not readable or crosses a null value
+         */
+        public Object get(Object target) {
+            if (!readable) {
+                return null;
+            }
+            Object current = target;
+            for (MethodHandle getter : getters) {
+                if (current == null) {
+                    return null;
+                }
+                current = invokeGetter(getter, current);
+            }
+            return current;
+        }
+
+        /**
+         * Whether the value at this path can be written on the given target: the path is writable and
+         * no intermediate value is null
+         */
+        public boolean isWritable(Object target) {
+            return setter != null && resolveOwner(target) != null;
+        }
+
+        /**
+         * Convert and write the value at this path
+         *
+         * @throws IllegalStateException if the path is not writable on the target
+         */
+        public void set(Object target, Object value) {
+            Object owner = setter == null ? null : resolveOwner(target);
+            if (owner == null) {
+                throw new IllegalStateException(String.format("Property path %s is not writable", path));
+            }
+            try {
+                setter.invokeExact(owner, converter.apply(value));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(String.format("Failed to write property path %s", path), e);
+            }
+        }
+
+        private Object resolveOwner(Object target) {
+            // all getters except the last one lead to the object owning the final property
+            Object current = target;
+            for (int i = 0; i < getters.length - 1 && current != null; i++) {
+                current = invokeGetter(getters[i], current);
+            }
+            return current;
+        }
+
+        private Object invokeGetter(MethodHandle getter, Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(String.format("Failed to read property path %s", path), e);
+            }
+        }
+
+        private static FieldAccessor resolve(Class<?> type, String path) {
+            String[] segments = path.split("\\.");
+            MethodHandle[] getters = new MethodHandle[segments.length];
+            Class<?> currentType = type;
+
+            // intermediate segments must be readable to reach the owner of the last property
+            for (int i = 0; i < segments.length - 1; i++) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(currentType, segments[i]);
+                if (descriptor == null || descriptor.getReadMethod() == null) {
+                    return new FieldAccessor(path, false, getters, null, null);
+                }
+                getters[i] = unreflect(descriptor.getReadMethod(), GETTER_TYPE);
+                currentType = descriptor.getPropertyType();
+            }
+
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(currentType, segments[segments.length - 1]);
+            if (descriptor == null) {
+                return new FieldAccessor(path, false, getters, null, null);
+            }
+            Method readMethod = descriptor.getReadMethod();
+            Method writeMethod = descriptor.getWriteMethod();
+            if (readMethod != null) {
+                getters[segments.length - 1] = unreflect(readMethod, GETTER_TYPE);
+            }
+            return new FieldAccessor(
+                    path,
+                    readMethod != null,
+                    getters,
+                    writeMethod == null ? null : unreflect(writeMethod, SETTER_TYPE),
+                    writeMethod == null ? null : converterFor(descriptor.getPropertyType())
+            );
+        }
+
+        private static MethodHandle unreflect(Method method, MethodType type) {
+            try {
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method).asType(type);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new IllegalStateException(String.format("Cannot access %s", method), e);
+            }
+        }
+    }
+
+    /**
+     * Precompute the conversion of an incoming value to the given property type
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> converterFor(Class<?> propertyType) {
+        Class<?> targetType = ClassUtils.resolvePrimitiveIfNecessary(propertyType);
+
+        if (targetType == String.class) {
+            return value -> {
+                if (value == null || value instanceof String) return value;
+                if (ClassUtils.isPrimitiveOrWrapper(value.getClass())) return value.toString();
+                return convertWithSpring(value, propertyType);
+            };
+        }
+        if (Number.class.isAssignableFrom(targetType)) {
+            Class<? extends Number> numberType = (Class<? extends Number>) targetType;
+            return value -> {
+                if (value == null || numberType.isInstance(value)) return value;
+                if (value instanceof Number number) return NumberUtils.convertNumberToTargetClass(number, numberType);
+                if (value instanceof String text) {
+                    return StringUtils.hasText(text) ? NumberUtils.parseNumber(text, numberType) : null;
+                }
+                return convertWithSpring(value, propertyType);
+            };
+        }
+        return value -> {
+            if (value == null || targetType.isInstance(value)) return value;
+            return convertWithSpring(value, propertyType);
+        };
+    }
+
+    private static Object convertWithSpring(Object value, Class<?> propertyType) {
+        // SimpleTypeConverter keeps editor state, so use a fresh one on this rare path
+        return new SimpleTypeConverter().convertIfNecessary(value, propertyType);
+    }
+}
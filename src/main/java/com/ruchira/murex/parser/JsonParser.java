@@ -3,11 +3,16 @@ package com.ruchira.murex.parser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.ruchira.murex.exception.TransformationException;
+import com.ruchira.murex.kafka.model.SerializedPayload;
+import com.ruchira.murex.kafka.producer.PayloadAwareJsonSerializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,11 +33,28 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JsonParser {
 
+    private static final int PARSED_JSON_CACHE_SIZE = 1_000;
+
     private final ObjectMapper objectMapper;
 
+    /**
+     * Parsed config JSON keyed by its content: the JSON string itself is the key, so lookups use the
+     * string's content hash and equal documents share one parsed tree regardless of which config
+     * instance they came from. Failed parses are not cached.
+     */
+    private final Cache<String, ParsedJson> parsedJsonCache = Caffeine.newBuilder()
+            .maximumSize(PARSED_JSON_CACHE_SIZE)
+            .build();
+
+    private record ParsedJson(JsonNode root, List<JsonNode> elements) {
+    }
+
     /**
      * Parse transformations JSON string into a list of transformation nodes.
      * Handles both legacy object format and new array format for backward compatibility.
+     * <p>
+     * The result is served from the parsed-config cache; the returned list is unmodifiable and the
+     * nodes are shared, so callers must not mutate them.
      *
      * @param transformationsJson JSON string containing transformations
      * @return List of JsonNode objects representing individual transformations
@@ -40,27 +62,51 @@ public class JsonParser {
      */
     public List<JsonNode> parseTransformations(String transformationsJson) {
         try {
-            JsonNode rootNode = objectMapper.readTree(transformationsJson);
-            List<JsonNode> transformationNodes = new ArrayList<>();
+            return parseCached(transformationsJson).elements();
+        } catch (Exception e) {
+            throw new TransformationException("Failed to parse transformations JSON: {}", "Generic Transformation", e);
+        }
+    }
+
+    /**
+     * Parse a JSON document (e.g. a tpsOutbound config) once and serve subsequent calls for the same
+     * content from the parsed-config cache. The returned node is shared and must not be mutated.
+     *
+     * @param json JSON string
+     * @return root node of the parsed document
+     */
+    public JsonNode readTree(String json) {
+        return parseCached(json).root();
+    }
+
+    private ParsedJson parseCached(String json) {
+        if (json == null) {
+            throw new TransformationException("JSON content must not be null");
+        }
+        return parsedJsonCache.get(json, this::parse);
+    }
+
+    private ParsedJson parse(String json) {
+        try {
+            JsonNode rootNode = objectMapper.readTree(json);
+            List<JsonNode> elements = new ArrayList<>();
 
             if (rootNode.isArray()) {
                 // New format: array of transformation objects
                 for (JsonNode transformation : rootNode) {
-                    transformationNodes.add(transformation);
+                    elements.add(transformation);
                 }
             } else {
                 // Legacy format: single transformation object (wrap in list for consistency)
-                transformationNodes.add(rootNode);
+                elements.add(rootNode);
             }
 
-            return transformationNodes;
-
-        } catch (Exception e) {
-            throw new TransformationException("Failed to parse transformations JSON: {}", "Generic Transformation", e);
+            return new ParsedJson(rootNode, List.copyOf(elements));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
-
     /**
      * Get the first transformation node from the transformations array.
      * Maintains backward compatibility for Spot/Swap strategies that expect a single transformation.
@@ -103,7 +149,7 @@ public class JsonParser {
         }
 
         try {
-            objectMapper.readTree(transformationsJson);
+            parseCached(transformationsJson);
             return true;
         } catch (Exception e) {
             return false;
@@ -118,4 +164,12 @@ public class JsonParser {
     public <S> String serializesToJsonString(S source) throws JsonProcessingException {
         return objectMapper.writeValueAsString(source);
     }
+
+    /**
+     * Serialize once into a payload whose bytes can be both stored and published. Encoded in the Kafka
+     * wire format rather than with the application mapper, so published messages are unchanged.
+     */
+    public <S> SerializedPayload serializeToPayload(S source) throws JsonProcessingException {
+        return PayloadAwareJsonSerializer.encode(source);
+    }
 }
\ No newline at end of file
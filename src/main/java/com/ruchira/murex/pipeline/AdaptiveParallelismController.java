@@ -0,0 +1,118 @@
+package com.ruchira.murex.pipeline;
+
+import com.ruchira.murex.config.ConcurrencyConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Supplies the parallelism limit for bounded record processing.
+ * <p>
+ * The limit follows an additive-increase / multiplicative-decrease rule driven by the mean connection
+ * acquisition time of the JDBC pool ({@code hikaricp.connections.acquire}) over the last adjustment
+ * interval: above the target wait the limit is halved, well below it the limit grows by one. Under pool
+ * contention this keeps tasks from queueing on connections while still using free capacity.
+ * Without the pool timer, or with adaptation disabled, the configured maximum is used.
+ */
+@Component
+@Slf4j
+public class AdaptiveParallelismController {
+
+    static final String POOL_ACQUIRE_METRIC = "hikaricp.connections.acquire";
+
+    private final ConcurrencyConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile int currentLimit;
+    /**
+     * Read without the lock to skip adjustments that are not due; written under it
+     */
+    private volatile long lastAdjustmentNanos;
+    /**
+     * Pool timer totals at the previous adjustment, guarded by the lock; unset until the timer is first seen
+     */
+    private boolean sampled;
+    private long lastCount;
+    private double lastTotalNanos;
+
+    public AdaptiveParallelismController(ConcurrencyConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.currentLimit = Math.max(1, config.getMaxInFlight());
+        this.lastAdjustmentNanos = System.nanoTime();
+        Gauge.builder("instruction.processing.parallelism.limit", this, AdaptiveParallelismController::peekLimit)
+                .description("Current maximum number of grouped record tasks running concurrently")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Current parallelism limit, re-evaluated at most once per adjustment interval
+     */
+    public int currentLimit() {
+        if (!config.isAdaptive()) {
+            return Math.max(1, config.getMaxInFlight());
+        }
+        if (System.nanoTime() - lastAdjustmentNanos >= config.getAdjustInterval().toNanos() && lock.tryLock()) {
+            try {
+                adjust();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return currentLimit;
+    }
+
+    private int peekLimit() {
+        return currentLimit;
+    }
+
+    private void adjust() {
+        long now = System.nanoTime();
+        if (now - lastAdjustmentNanos < config.getAdjustInterval().toNanos()) {
+            return;
+        }
+        lastAdjustmentNanos = now;
+
+        Timer acquireTimer = meterRegistry.find(POOL_ACQUIRE_METRIC).timer();
+        if (acquireTimer == null) {
+            return;
+        }
+
+        long count = acquireTimer.count();
+        double totalNanos = acquireTimer.totalTime(TimeUnit.NANOSECONDS);
+        long acquisitions = count - lastCount;
+        double waitedNanos = totalNanos - lastTotalNanos;
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+        if (!sampled) {
+            // the first sample holds the waits since startup, which only seed the next interval
+            sampled = true;
+            return;
+        }
+        if (acquisitions <= 0) {
+            return;
+        }
+
+        double meanWaitNanos = waitedNanos / acquisitions;
+        long targetNanos = config.getTargetPoolWait().toNanos();
+        int min = Math.max(1, config.getMinInFlight());
+        int max = Math.max(min, config.getMaxInFlight());
+
+        int previous = currentLimit;
+        if (meanWaitNanos > targetNanos) {
+            currentLimit = Math.max(min, previous / 2);
+        } else if (meanWaitNanos < targetNanos / 2.0) {
+            currentLimit = Math.min(max, previous + 1);
+        }
+        if (currentLimit != previous) {
+            log.info("Adjusted processing parallelism {} -> {} (mean pool wait {} ms)",
+                    previous, currentLimit, String.format("%.2f", meanWaitNanos / 1_000_000.0));
+        }
+    }
+}
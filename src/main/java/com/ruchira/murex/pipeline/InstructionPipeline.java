@@ -0,0 +1,270 @@
+package com.ruchira.murex.pipeline;
+
+import com.ruchira.murex.config.PipelineConfig;
+import com.ruchira.murex.dto.StgMrxExtDmcDto;
+import com.ruchira.murex.model.AggregatedDataResponse;
+import com.ruchira.murex.model.FxSpotGroupIndex;
+import com.ruchira.murex.model.GroupedRecord;
+import com.ruchira.murex.model.RecordProcessingResult;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.service.TradeDataHandlerService;
+import com.ruchira.murex.util.ConcurrencyUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static com.ruchira.murex.constant.Constants.FX_NDF_TYPOLOGY;
+import static com.ruchira.murex.constant.Constants.FX_SPOT_TYPOLOGY;
+
+/**
+ * Runs a single instruction as a staged pipeline so that fetch, grouping, transformation,
+ * persistence and publishing overlap instead of running one after another.
+ * <p>
+ * Stages are connected by bounded queues, which gives back-pressure: a slow stage blocks its
+ * producer instead of letting work pile up in memory.
+ * <pre>
+ * fetch -> [rows] -> group -> [groups] -> transform (N workers) -> [results] -> persist
+ * </pre>
+ * Every stage runs as a subtask of one {@link StructuredTaskScope.ShutdownOnFailure}; the first
+ * failure interrupts all other stages and is rethrown from {@link #run()}.
+ * <p>
+ * NDF groups reference the FX Spot groups of the whole instruction, so the group stage holds them
+ * back until the row stream is exhausted. DMC rows are committed according to
+ * {@link PipelineConfig.DmcCommitMode}: every commit unit writes its DMC rows and hands its trades to
+ * the trade publisher in one transaction, so the publisher can hold the trades back until that
+ * transaction commits, and a failed hand-off rolls the rows back.
+ */
+@Slf4j
+public class InstructionPipeline {
+
+    private static final AggregatedDataResponse END_OF_ROWS = new AggregatedDataResponse();
+    private static final TransformWork END_OF_GROUPS = new TransformWork(null, FxSpotGroupIndex.EMPTY);
+    private static final RecordProcessingResult END_OF_RESULTS = new RecordProcessingResult(List.of(), List.of());
+
+    private final PipelineConfig config;
+    private final PipelineQueueMonitor monitor;
+    private final TransactionOperations transactionOperations;
+    private final StageHandlers handlers;
+
+    private final BlockingQueue<AggregatedDataResponse> rowQueue;
+    private final BlockingQueue<TransformWork> groupQueue;
+    private final BlockingQueue<RecordProcessingResult> resultQueue;
+    private final Map<PipelineStage, BlockingQueue<?>> stageQueues = new EnumMap<>(PipelineStage.class);
+
+    private final AtomicInteger activeTransformWorkers;
+    private final AtomicLong rowsFetched = new AtomicLong();
+    private final AtomicLong groupsEmitted = new AtomicLong();
+    private final AtomicLong dmcRowsPersisted = new AtomicLong();
+    private final AtomicLong tradesPublished = new AtomicLong();
+
+    /**
+     * Callbacks performing the actual work of each stage
+     *
+     * @param rowSource      streams aggregated rows ordered by grouping key
+     * @param transformer    transforms a grouped record, given the index of the FX Spot groups it may reference
+     * @param dmcWriter      inserts a batch of StgMrxExtDmc rows, joining the transaction of the commit unit
+     * @param tradePublisher takes over a batch of generated trades with their HAWK records; called inside the
+     *                       transaction of their DMC rows, it must not publish them before that commits
+     */
+    public record StageHandlers(
+            ConcurrencyUtil.RecordSource<AggregatedDataResponse> rowSource,
+            BiFunction<GroupedRecord, FxSpotGroupIndex, RecordProcessingResult> transformer,
+            Consumer<List<StgMrxExtDmcDto>> dmcWriter,
+            Consumer<List<MurexBookingEntry>> tradePublisher
+    ) {
+    }
+
+    private record TransformWork(GroupedRecord groupedRecord, FxSpotGroupIndex fxSpotGroups) {
+    }
+
+    /**
+     * @param transactionOperations runs each DMC commit unit, see {@link PipelineConfig.DmcCommitMode}
+     */
+    public InstructionPipeline(PipelineConfig config, PipelineQueueMonitor monitor,
+                               TransactionOperations transactionOperations, StageHandlers handlers) {
+        this.config = config;
+        this.monitor = monitor;
+        this.transactionOperations = transactionOperations;
+        this.handlers = handlers;
+
+        int capacity = Math.max(1, config.getQueueCapacity());
+        this.rowQueue = new ArrayBlockingQueue<>(capacity);
+        this.groupQueue = new ArrayBlockingQueue<>(capacity);
+        this.resultQueue = new ArrayBlockingQueue<>(capacity);
+        stageQueues.put(PipelineStage.GROUP, rowQueue);
+        stageQueues.put(PipelineStage.TRANSFORM, groupQueue);
+        stageQueues.put(PipelineStage.PERSIST, resultQueue);
+
+        this.activeTransformWorkers = new AtomicInteger(transformWorkerCount());
+    }
+
+    /**
+     * Runs all stages to completion.
+     *
+     * @return counters of the completed run
+     * @throws Exception the first failure raised by any stage
+     */
+    public PipelineReport run() throws Exception {
+        long start = System.currentTimeMillis();
+        monitor.register(this);
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            scope.fork(this::fetchStage);
+            scope.fork(this::groupStage);
+            for (int i = 0; i < transformWorkerCount(); i++) {
+                scope.fork(this::transformStage);
+            }
+            scope.fork(this::persistStage);
+
+            scope.join();
+            scope.throwIfFailed();
+        } catch (Exception ex) {
+            log.error("Instruction pipeline failed: {}", ex.getMessage(), ex);
+            throw ex;
+        } finally {
+            monitor.unregister(this);
+        }
+
+        return new PipelineReport(rowsFetched.get(), groupsEmitted.get(), dmcRowsPersisted.get(),
+                tradesPublished.get(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Current number of items waiting in the input queue of the given stage
+     */
+    public int queueDepth(PipelineStage stage) {
+        BlockingQueue<?> queue = stageQueues.get(stage);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private Void fetchStage() throws Exception {
+        handlers.rowSource().emit(row -> {
+            rowsFetched.incrementAndGet();
+            put(rowQueue, row);
+        });
+        put(rowQueue, END_OF_ROWS);
+        return null;
+    }
+
+    private Void groupStage() throws InterruptedException {
+        List<GroupedRecord> fxSpotGroups = new ArrayList<>();
+        List<GroupedRecord> deferredNdfGroups = new ArrayList<>();
+
+        TradeDataHandlerService.IncrementalGrouper grouper = new TradeDataHandlerService.IncrementalGrouper(groupedRecord -> {
+            if (FX_NDF_TYPOLOGY.equals(groupedRecord.getTypology())) {
+                deferredNdfGroups.add(groupedRecord);
+                return;
+            }
+            if (FX_SPOT_TYPOLOGY.equals(groupedRecord.getTypology())) {
+                fxSpotGroups.add(groupedRecord);
+            }
+            emitGroup(new TransformWork(groupedRecord, FxSpotGroupIndex.EMPTY));
+        });
+
+        AggregatedDataResponse row;
+        while ((row = rowQueue.take()) != END_OF_ROWS) {
+            grouper.accept(row);
+        }
+        grouper.complete();
+
+        FxSpotGroupIndex completeFxSpotGroups = FxSpotGroupIndex.of(fxSpotGroups);
+        for (GroupedRecord ndfGroup : deferredNdfGroups) {
+            emitGroup(new TransformWork(ndfGroup, completeFxSpotGroups));
+        }
+
+        for (int i = 0; i < transformWorkerCount(); i++) {
+            put(groupQueue, END_OF_GROUPS);
+        }
+        return null;
+    }
+
+    private void emitGroup(TransformWork work) {
+        groupsEmitted.incrementAndGet();
+        put(groupQueue, work);
+    }
+
+    private Void transformStage() throws InterruptedException {
+        TransformWork work;
+        while ((work = groupQueue.take()) != END_OF_GROUPS) {
+            RecordProcessingResult result = handlers.transformer().apply(work.groupedRecord(), work.fxSpotGroups());
+            if (Objects.nonNull(result)) {
+                put(resultQueue, result);
+            }
+        }
+        // the last worker to finish closes the result queue
+        if (activeTransformWorkers.decrementAndGet() == 0) {
+            put(resultQueue, END_OF_RESULTS);
+        }
+        return null;
+    }
+
+    private Void persistStage() throws InterruptedException {
+        boolean allOrNone = config.getDmcCommitMode() == PipelineConfig.DmcCommitMode.ALL_OR_NONE;
+        int batchSize = Math.max(1, config.getDmcBatchSize());
+
+        List<StgMrxExtDmcDto> pendingDmcs = new ArrayList<>();
+        List<MurexBookingEntry> pendingTrades = new ArrayList<>();
+
+        RecordProcessingResult result;
+        while ((result = resultQueue.take()) != END_OF_RESULTS) {
+            if (Objects.nonNull(result.getAllStgMrxExtDmcs())) {
+                pendingDmcs.addAll(result.getAllStgMrxExtDmcs());
+            }
+            if (Objects.nonNull(result.getAllMurexBookings())) {
+                pendingTrades.addAll(result.getAllMurexBookings());
+            }
+            if (!allOrNone && pendingDmcs.size() >= batchSize) {
+                commitBatch(pendingDmcs, pendingTrades);
+                pendingDmcs = new ArrayList<>();
+                pendingTrades = new ArrayList<>();
+            }
+        }
+
+        commitBatch(pendingDmcs, pendingTrades);
+        return null;
+    }
+
+    /**
+     * Writes the DMC rows and hands their trades over in one transaction; any failure rolls the rows back
+     */
+    private void commitBatch(List<StgMrxExtDmcDto> dmcs, List<MurexBookingEntry> trades) {
+        if (dmcs.isEmpty() && trades.isEmpty()) {
+            return;
+        }
+        transactionOperations.executeWithoutResult(status -> {
+            if (!dmcs.isEmpty()) {
+                handlers.dmcWriter().accept(dmcs);
+            }
+            if (!trades.isEmpty()) {
+                handlers.tradePublisher().accept(trades);
+            }
+        });
+        dmcRowsPersisted.addAndGet(dmcs.size());
+        tradesPublished.addAndGet(trades.size());
+    }
+
+    private int transformWorkerCount() {
+        return Math.max(1, config.getTransformWorkers());
+    }
+
+    private static <E> void put(BlockingQueue<E> queue, E item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Instruction pipeline was cancelled");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ruchira.murex.pipeline;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes the depth of every pipeline stage queue as a Micrometer gauge
+ * ({@code instruction.pipeline.queue.depth}, tagged by stage), summed over all running pipelines.
+ * A queue that stays full points at the slow stage downstream of it.
+ */
+@Component
+public class PipelineQueueMonitor {
+
+    static final String QUEUE_DEPTH_METRIC = "instruction.pipeline.queue.depth";
+
+    private final Set<InstructionPipeline> activePipelines = ConcurrentHashMap.newKeySet();
+
+    public PipelineQueueMonitor(MeterRegistry meterRegistry) {
+        for (PipelineStage stage : PipelineStage.values()) {
+            Gauge.builder(QUEUE_DEPTH_METRIC, this, monitor -> monitor.queueDepth(stage))
+                    .tag("stage", stage.tagValue())
+                    .description("Items waiting in the input queue of the pipeline stage")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("instruction.pipeline.active", activePipelines, Set::size)
+                .description("Number of instruction pipelines currently running")
+                .register(meterRegistry);
+    }
+
+    public int queueDepth(PipelineStage stage) {
+        return activePipelines.stream()
+                .mapToInt(pipeline -> pipeline.queueDepth(stage))
+                .sum();
+    }
+
+    void register(InstructionPipeline pipeline) {
+        activePipelines.add(pipeline);
+    }
+
+    void unregister(InstructionPipeline pipeline) {
+        activePipelines.remove(pipeline);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ruchira.murex.pipeline;
+
+/**
+ * Summary of a completed instruction pipeline run
+ */
+public record PipelineReport(
+        long rowsFetched,
+        long groupsEmitted,
+        long dmcRowsPersisted,
+        long tradesPublished,
+        long elapsedMillis
+) {
+}
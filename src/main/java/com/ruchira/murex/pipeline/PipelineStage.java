@@ -0,0 +1,15 @@
+package com.ruchira.murex.pipeline;
+
+/**
+ * Stages of the instruction pipeline that consume from a bounded input queue.
+ * The fetch stage is the producer at the head of the pipeline and has no input queue.
+ */
+public enum PipelineStage {
+    GROUP,
+    TRANSFORM,
+    PERSIST;
+
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
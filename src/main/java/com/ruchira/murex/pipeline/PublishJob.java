@@ -0,0 +1,88 @@
+package com.ruchira.murex.pipeline;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the trades of one instruction handed to the {@link PublishStage}.
+ * <p>
+ * Trades may be submitted in several batches; the job completes once it is sealed and every submitted
+ * batch has finished. One pending task is held on behalf of the submitter until {@link #seal()}, so the
+ * job cannot complete between two batches.
+ */
+public final class PublishJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final String label;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong tradesSubmitted = new AtomicLong();
+    private final AtomicLong tradesPublished = new AtomicLong();
+    private final Queue<PublishReport.TradeFailure> failures = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTasks = new AtomicInteger(1);
+    private final AtomicBoolean sealed = new AtomicBoolean();
+    private final CompletableFuture<PublishReport> completion = new CompletableFuture<>();
+
+    PublishJob(String label) {
+        this.label = label;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Completes with the final report once every trade of the sealed job was stored and sent, or failed
+     */
+    public CompletableFuture<PublishReport> completion() {
+        return completion;
+    }
+
+    /**
+     * Snapshot of the current progress
+     */
+    public PublishReport report() {
+        return completion.isDone() ? completion.join() : snapshot(PublishReport.Status.RUNNING, System.nanoTime());
+    }
+
+    private PublishReport snapshot(PublishReport.Status status, long end) {
+        final List<PublishReport.TradeFailure> failed = List.copyOf(failures);
+        return new PublishReport(id, label, status, tradesSubmitted.get(), tradesPublished.get(), failed.size(), failed,
+                TimeUnit.NANOSECONDS.toMillis(end - startNanos));
+    }
+
+    /**
+     * No more trades will be submitted; the job completes once the submitted ones are done
+     */
+    public void seal() {
+        if (sealed.compareAndSet(false, true)) {
+            taskFinished();
+        }
+    }
+
+    void taskSubmitted(int trades) {
+        tradesSubmitted.addAndGet(trades);
+        pendingTasks.incrementAndGet();
+    }
+
+    void tradesPublished(long trades) {
+        tradesPublished.addAndGet(trades);
+    }
+
+    void tradeFailed(String tradeReference, Throwable failure) {
+        failures.add(new PublishReport.TradeFailure(tradeReference, String.valueOf(failure.getMessage())));
+    }
+
+    void taskFinished() {
+        if (pendingTasks.decrementAndGet() == 0) {
+            completion.complete(snapshot(PublishReport.Status.COMPLETED, System.nanoTime()));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ruchira.murex.pipeline;
+
+import java.util.List;
+
+/**
+ * Progress, or final outcome, of publishing the trades of one instruction
+ *
+ * @param elapsedMillis time since the job was opened, up to its completion once completed
+ */
+public record PublishReport(
+        String jobId,
+        String label,
+        Status status,
+        long tradesSubmitted,
+        long tradesPublished,
+        long tradesFailed,
+        List<TradeFailure> failures,
+        long elapsedMillis
+) {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED
+    }
+
+    /**
+     * A trade that could not be stored or sent
+     */
+    public record TradeFailure(String tradeReference, String message) {
+    }
+}
@@ -0,0 +1,248 @@
+package com.ruchira.murex.pipeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ruchira.murex.config.PersistenceConfig;
+import com.ruchira.murex.config.PublishStageConfig;
+import com.ruchira.murex.kafka.model.BatchPublishResult;
+import com.ruchira.murex.kafka.model.PublishResult;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.parser.JsonParser;
+import com.ruchira.murex.service.MurexDownStreamProcessAdapter;
+import com.ruchira.murex.service.TradeDataHandlerService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_PUBLISHED;
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_STORED;
+
+/**
+ * Stores and publishes generated trades on virtual threads, off the thread that produced them.
+ * <p>
+ * With bulk booking inserts every submitted batch is one task (one insert batch per table and one
+ * Kafka batch); otherwise every trade is its own task. At most {@code app.publish-stage.max-concurrency}
+ * tasks run at a time. A trade that cannot be serialized, stored or sent is recorded as a failure of its
+ * {@link PublishJob} and does not affect the others; a trade that could not be stored is not sent.
+ * <p>
+ * Trades submitted inside a transaction are dispatched once it commits, and recorded as failed if it
+ * rolls back, so nothing is published for DMC rows that were never committed.
+ * <p>
+ * Bookings are stored as STORED and moved to PUBLISHED once their send succeeded, so a booking whose
+ * send failed is never reported as published.
+ */
+@Component
+@Slf4j
+public class PublishStage {
+
+    private final TradeDataHandlerService tradeDataHandlerService;
+    private final MurexDownStreamProcessAdapter murexDownStreamProcessAdapter;
+    private final JsonParser jsonParser;
+    private final PersistenceConfig persistenceConfig;
+
+    private final Semaphore permits;
+    private final Cache<String, PublishJob> jobs;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("trade-publish-", 0).factory());
+
+    public PublishStage(TradeDataHandlerService tradeDataHandlerService,
+                        MurexDownStreamProcessAdapter murexDownStreamProcessAdapter,
+                        JsonParser jsonParser,
+                        PersistenceConfig persistenceConfig,
+                        PublishStageConfig config) {
+        this.tradeDataHandlerService = tradeDataHandlerService;
+        this.murexDownStreamProcessAdapter = murexDownStreamProcessAdapter;
+        this.jsonParser = jsonParser;
+        this.persistenceConfig = persistenceConfig;
+        this.permits = new Semaphore(Math.max(1, config.getMaxConcurrency()));
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(config.getMaxRetainedReports())
+                .expireAfterWrite(config.getReportRetention())
+                .build();
+    }
+
+    /**
+     * Open a job to submit trades to; its report is available through {@link #report(String)}
+     *
+     * @param label description of the job, e.g. the instruction event
+     */
+    public PublishJob open(String label) {
+        PublishJob job = new PublishJob(label);
+        jobs.put(job.id(), job);
+        job.completion().thenAccept(report -> log.info("Publish job {} ({}) completed: {} of {} trades published, {} failed in {}ms",
+                report.jobId(), report.label(), report.tradesPublished(), report.tradesSubmitted(), report.tradesFailed(), report.elapsedMillis()));
+        return job;
+    }
+
+    /**
+     * Current report of a job, if it is still retained
+     */
+    public Optional<PublishReport> report(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(PublishJob::report);
+    }
+
+    /**
+     * Hand trades to the job without waiting for them to be stored or sent
+     *
+     * @param job      open, unsealed job
+     * @param bookings trades with their HAWK records
+     */
+    public void submit(PublishJob job, List<MurexBookingEntry> bookings) {
+        if (CollectionUtils.isEmpty(bookings)) {
+            return;
+        }
+        final List<List<MurexBookingEntry>> tasks = persistenceConfig.isBulkBookingInsert()
+                ? List.of(List.copyOf(bookings))
+                : bookings.stream().map(List::of).toList();
+        tasks.forEach(task -> job.taskSubmitted(task.size()));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tasks.forEach(task -> executor.execute(() -> run(job, task)));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    tasks.forEach(task -> executor.execute(() -> run(job, task)));
+                    return;
+                }
+                IllegalStateException rolledBack = new IllegalStateException("Instruction transaction was rolled back");
+                for (List<MurexBookingEntry> task : tasks) {
+                    task.forEach(booking -> job.tradeFailed(tradeReferenceOf(booking), rolledBack));
+                    job.taskFinished();
+                }
+            }
+        });
+    }
+
+    private void run(PublishJob job, List<MurexBookingEntry> bookings) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            bookings.forEach(booking -> job.tradeFailed(tradeReferenceOf(booking), e));
+            job.taskFinished();
+            return;
+        }
+        try {
+            publish(job, bookings);
+        } catch (Exception e) {
+            log.error("Publish task of job {} failed: {}", job.id(), e.getMessage(), e);
+            bookings.forEach(booking -> job.tradeFailed(tradeReferenceOf(booking), e));
+        } finally {
+            permits.release();
+            job.taskFinished();
+        }
+    }
+
+    private void publish(PublishJob job, List<MurexBookingEntry> bookings) {
+        // one encoding per record, shared by the database row and the published message
+        final List<MurexBookingEntry> serialized = serializeBookingRecords(job, bookings);
+        final List<MurexBookingEntry> stored = storeBookings(job, serialized);
+        if (stored.isEmpty()) {
+            return;
+        }
+
+        final BatchPublishResult result = murexDownStreamProcessAdapter.publishHawkMurexTradesToDownStream(stored).join();
+        result.failures().forEach(failure -> {
+            log.error("Failed to publish the GeneratedMurexTrade trade {}: {}",
+                    tradeReferenceOf(stored.get(failure.index())), failure.failure().getMessage());
+            job.tradeFailed(tradeReferenceOf(stored.get(failure.index())), failure.failure());
+        });
+        job.tradesPublished(result.successCount());
+        markPublished(job, stored, result);
+    }
+
+    /**
+     * Move the bookings that were sent from STORED to PUBLISHED. The trades are out either way, so a failed
+     * update is logged rather than recorded as a trade failure; those bookings stay STORED until processed.
+     */
+    private void markPublished(PublishJob job, List<MurexBookingEntry> stored, BatchPublishResult result) {
+        final List<String> sent = result.results().stream()
+                .filter(PublishResult::isSuccess)
+                .map(published -> tradeReferenceOf(stored.get(published.index())))
+                .toList();
+        try {
+            tradeDataHandlerService.updateMurexBookingStatus(sent, BOOKING_STATUS_PUBLISHED, BOOKING_STATUS_STORED);
+        } catch (Exception e) {
+            log.error("Failed to mark {} sent trades of job {} as {}: {}", sent.size(), job.id(), BOOKING_STATUS_PUBLISHED, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serialize the HAWK record of every booking once. A booking whose record cannot be serialized is
+     * recorded as failed and left out, as it could be neither stored nor published.
+     */
+    private List<MurexBookingEntry> serializeBookingRecords(PublishJob job, List<MurexBookingEntry> bookings) {
+        List<MurexBookingEntry> serialized = new ArrayList<>(bookings.size());
+        for (MurexBookingEntry booking : bookings) {
+            try {
+                serialized.add(booking.withRecordPayload(jsonParser.serializeToPayload(booking.murexBookingRecord())));
+            } catch (Exception e) {
+                log.error("Failed to serialize the GeneratedMurexTrade trade {}: {}", tradeReferenceOf(booking), e.getMessage(), e);
+                job.tradeFailed(tradeReferenceOf(booking), e);
+            }
+        }
+        return serialized;
+    }
+
+    /**
+     * Store the bookings with one batch per table; if that fails, store them one by one so that a single
+     * bad trade does not prevent the others from being stored
+     *
+     * @return the bookings that were stored
+     */
+    private List<MurexBookingEntry> storeBookings(PublishJob job, List<MurexBookingEntry> bookings) {
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        if (bookings.size() == 1) {
+            return storeBooking(job, bookings.getFirst()) ? bookings : List.of();
+        }
+        try {
+            tradeDataHandlerService.publishMurexBookingsToDatabase(bookings);
+            return bookings;
+        } catch (Exception e) {
+            log.warn("Bulk insert of {} trades failed, falling back to per-trade inserts: {}", bookings.size(), e.getMessage(), e);
+        }
+
+        List<MurexBookingEntry> stored = new ArrayList<>(bookings.size());
+        for (MurexBookingEntry booking : bookings) {
+            if (storeBooking(job, booking)) {
+                stored.add(booking);
+            }
+        }
+        return stored;
+    }
+
+    private boolean storeBooking(PublishJob job, MurexBookingEntry booking) {
+        try {
+            tradeDataHandlerService.publishMurexBookingsToDatabase(List.of(booking));
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to insert trade {}: {}", tradeReferenceOf(booking), e.getMessage(), e);
+            job.tradeFailed(tradeReferenceOf(booking), e);
+            return false;
+        }
+    }
+
+    private static String tradeReferenceOf(MurexBookingEntry booking) {
+        return booking.murexTrade().getTradeReference();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // lets running tasks finish so that stored trades are also sent
+        executor.close();
+    }
+}
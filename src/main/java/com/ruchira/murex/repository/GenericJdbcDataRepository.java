@@ -1,19 +1,29 @@
 package com.ruchira.murex.repository;
 
 import com.ruchira.murex.exception.BusinessException;
+import com.ruchira.murex.freemaker.ParameterizedQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Repository
 @RequiredArgsConstructor
@@ -45,6 +55,26 @@ public class GenericJdbcDataRepository {
         }
     }
 
+    /**
+     * Executes a parameterized INSERT, UPDATE or DELETE statement in a single round trip.
+     *
+     * @param query SQL statement with named placeholders and their values
+     * @return number of affected rows
+     */
+    public int executeUpdate(final ParameterizedQuery query) {
+        try {
+
+            final int updated = jdbcTemplate.update(query.sql(), query.parameters());
+            log.info("Successfully executed update SQL {}; affected rows={}", query.sql(), updated);
+            return updated;
+
+        } catch (Exception e) {
+            final String message = String.format("update failed for dynamic SQL %s with params %s", query.sql(), query.parameters());
+            log.error(message, e);
+            throw new BusinessException(message, e);
+        }
+    }
+
     /**
      * Executes an INSERT statement using a SQL template and named parameters, and returns the auto-generated ID.
      *
@@ -98,4 +128,74 @@ public class GenericJdbcDataRepository {
             throw new BusinessException(message, e);
         }
     }
+
+    /**
+     * Executes a parameterized query (SQL with named placeholders plus bind values) and maps the results
+     * into a list of objects using the provided {@link RowMapper}.
+     * <p>
+     * Binding values instead of inlining literals keeps the statement text stable, so the driver can
+     * reuse server-side prepared statements across requests.
+     *
+     * @param <T>       the type of objects that the result rows will be mapped to
+     * @param query     SQL statement with named placeholders and their values
+     * @param rowMapper the mapper used to convert each row of the result set into an object of type {@code T}
+     * @return a list of mapped objects resulting from the executed query
+     */
+    public <T> List<T> fetchData(final ParameterizedQuery query, final RowMapper<T> rowMapper) {
+        try {
+
+            // Execute query with bound parameters and row mapper
+            return jdbcTemplate.query(query.sql(), query.parameters(), rowMapper);
+        } catch (Exception e) {
+            final String message = String.format("fetch data failed for dynamic SQL %s with params %s and rowMapper %s",
+                    query.sql(), query.parameters(), rowMapper);
+            log.error(message, e);
+            throw new BusinessException(message, e);
+        }
+    }
+
+    /**
+     * Executes a parameterized query as a forward-only cursor and hands every mapped row to the
+     * given consumer as soon as it is read, instead of materialising the full result list.
+     * <p>
+     * The fetch size is applied to the statement so the driver streams rows from the server in
+     * batches of {@code fetchSize}; memory held by this method is bounded by a single batch.
+     *
+     * @param <T>         the type of objects that the result rows will be mapped to
+     * @param query       SQL statement with named placeholders and their values
+     * @param rowMapper   the mapper used to convert each row of the result set into an object of type {@code T}
+     * @param fetchSize   number of rows the driver fetches per round trip
+     * @param rowConsumer callback receiving each mapped row in result order
+     */
+    public <T> void streamData(final ParameterizedQuery query,
+                               final RowMapper<T> rowMapper,
+                               final int fetchSize,
+                               final Consumer<T> rowConsumer) {
+        try {
+            final SqlParameterSource paramSource = new MapSqlParameterSource(query.parameters());
+            final ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(query.sql());
+            final String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+            final Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+            final List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
+            final PreparedStatementCreator creator = new PreparedStatementCreatorFactory(sqlToUse, declaredParameters)
+                    .newPreparedStatementCreator(params);
+
+            final AtomicInteger rowNum = new AtomicInteger();
+            jdbcTemplate.getJdbcOperations().query(
+                    connection -> {
+                        PreparedStatement statement = creator.createPreparedStatement(connection);
+                        statement.setFetchSize(fetchSize);
+                        return statement;
+                    },
+                    (RowCallbackHandler) resultSet -> rowConsumer.accept(rowMapper.mapRow(resultSet, rowNum.getAndIncrement()))
+            );
+            log.info("Streamed {} rows with fetchSize={}", rowNum.get(), fetchSize);
+
+        } catch (Exception e) {
+            final String message = String.format("stream data failed for dynamic SQL %s with params %s and rowMapper %s",
+                    query.sql(), query.parameters(), rowMapper);
+            log.error(message, e);
+            throw new BusinessException(message, e);
+        }
+    }
 }
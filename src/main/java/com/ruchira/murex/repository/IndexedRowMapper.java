@@ -0,0 +1,153 @@
+package com.ruchira.murex.repository;
+
+import com.ruchira.murex.exception.BusinessException;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Row mapper that reads every column by index with a typed getter and writes it through a
+ * pre-resolved setter handle.
+ * <p>
+ * Column order and setters are resolved once at bootstrap by {@link RowMapperRegistry}, so mapping a
+ * row involves no label lookups or reflection. The first row of every result set is checked against
+ * the expected column labels, guarding against a SELECT list that drifted from the mapper.
+ *
+ * @param <T> the mapped type
+ */
+public final class IndexedRowMapper<T> implements RowMapper<T> {
+
+    private final Class<T> type;
+    private final Supplier<T> factory;
+    private final String[] columnLabels;
+    private final ColumnReader[] readers;
+    private final MethodHandle[] setters;
+    private final boolean[] primitives;
+
+    /**
+     * Binding of one SELECT list column to a property of the mapped type
+     *
+     * @param columnLabel   the column alias in the SELECT list
+     * @param propertyType  the property type, used to pick the typed getter
+     * @param setter        setter handle adapted to {@code (Object, Object)void}
+     */
+    public record ColumnBinding(String columnLabel, Class<?> propertyType, MethodHandle setter) {
+    }
+
+    @FunctionalInterface
+    interface ColumnReader {
+        Object read(ResultSet resultSet, int index) throws SQLException;
+    }
+
+    IndexedRowMapper(Class<T> type, Supplier<T> factory, List<ColumnBinding> bindings) {
+        this.type = type;
+        this.factory = factory;
+        this.columnLabels = new String[bindings.size()];
+        this.readers = new ColumnReader[bindings.size()];
+        this.setters = new MethodHandle[bindings.size()];
+        this.primitives = new boolean[bindings.size()];
+        for (int i = 0; i < bindings.size(); i++) {
+            ColumnBinding binding = bindings.get(i);
+            columnLabels[i] = binding.columnLabel();
+            readers[i] = readerFor(binding.propertyType());
+            setters[i] = binding.setter();
+            primitives[i] = binding.propertyType().isPrimitive();
+        }
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        if (rowNum == 0) {
+            verifyColumns(resultSet.getMetaData());
+        }
+
+        T target = factory.get();
+        for (int i = 0; i < readers.length; i++) {
+            Object value = readers[i].read(resultSet, i + 1);
+            if (value == null && primitives[i]) {
+                continue;
+            }
+            try {
+                setters[i].invokeExact((Object) target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SQLException(String.format("Failed to set column %s on %s", columnLabels[i], type.getSimpleName()), e);
+            }
+        }
+        return target;
+    }
+
+    public List<String> getColumnLabels() {
+        return List.of(columnLabels);
+    }
+
+    private void verifyColumns(ResultSetMetaData metaData) throws SQLException {
+        if (metaData.getColumnCount() != columnLabels.length) {
+            throw new BusinessException(String.format("Row mapper for %s expects %d columns but the result set has %d",
+                    type.getSimpleName(), columnLabels.length, metaData.getColumnCount()));
+        }
+        for (int i = 0; i < columnLabels.length; i++) {
+            String actual = metaData.getColumnLabel(i + 1);
+            if (!columnLabels[i].equalsIgnoreCase(actual)) {
+                throw new BusinessException(String.format("Row mapper for %s expects column %d to be %s but found %s",
+                        type.getSimpleName(), i + 1, columnLabels[i], actual));
+            }
+        }
+    }
+
+    private static ColumnReader readerFor(Class<?> propertyType) {
+        if (propertyType == String.class) {
+            return ResultSet::getString;
+        }
+        if (propertyType == BigDecimal.class) {
+            return ResultSet::getBigDecimal;
+        }
+        if (propertyType == LocalDate.class) {
+            return (rs, i) -> rs.getObject(i, LocalDate.class);
+        }
+        if (propertyType == LocalDateTime.class) {
+            return (rs, i) -> rs.getObject(i, LocalDateTime.class);
+        }
+        if (propertyType == Long.class || propertyType == long.class) {
+            return (rs, i) -> {
+                long value = rs.getLong(i);
+                return rs.wasNull() ? null : value;
+            };
+        }
+        if (propertyType == Integer.class || propertyType == int.class) {
+            return (rs, i) -> {
+                int value = rs.getInt(i);
+                return rs.wasNull() ? null : value;
+            };
+        }
+        if (propertyType == Byte.class || propertyType == byte.class) {
+            return (rs, i) -> {
+                byte value = rs.getByte(i);
+                return rs.wasNull() ? null : value;
+            };
+        }
+        if (propertyType == Double.class || propertyType == double.class) {
+            return (rs, i) -> {
+                double value = rs.getDouble(i);
+                return rs.wasNull() ? null : value;
+            };
+        }
+        if (propertyType == Boolean.class || propertyType == boolean.class) {
+            return (rs, i) -> {
+                boolean value = rs.getBoolean(i);
+                return rs.wasNull() ? null : value;
+            };
+        }
+        return (rs, i) -> rs.getObject(i, propertyType);
+    }
+}
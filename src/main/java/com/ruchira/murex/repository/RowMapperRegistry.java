@@ -0,0 +1,143 @@
+package com.ruchira.murex.repository;
+
+import com.ruchira.murex.exception.BusinessException;
+import com.ruchira.murex.model.AggregatedDataResponse;
+import com.ruchira.murex.model.Currency;
+import com.ruchira.murex.model.InstructionEventConfig;
+import com.ruchira.murex.model.MurexBookingConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.ruchira.murex.constant.Constants.*;
+
+/**
+ * Builds and caches an {@link IndexedRowMapper} per fetch model at bootstrap.
+ * <p>
+ * The column order of each mapper is taken from the SELECT list of the FTL template that produces the
+ * result set, and every column alias must resolve to a writable property of the model. A template and
+ * model that disagree therefore fail application startup instead of silently leaving fields unset.
+ */
+@Component
+@Slf4j
+public class RowMapperRegistry {
+
+    private static final String FTL_RESOURCE_LOCATION = "ftl/";
+    private static final Pattern FTL_COMMENT = Pattern.compile("<#--.*?-->", Pattern.DOTALL);
+    private static final Pattern SELECT_LIST = Pattern.compile("\\bSELECT\\b(.*?)\\bFROM\\b", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+    private static final Pattern COLUMN_ALIAS = Pattern.compile("\\bAS\\s+(\\w+)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Map<Class<?>, IndexedRowMapper<?>> rowMappers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        register(AggregatedDataResponse.class, AggregatedDataResponse::new, AGGREGATED_DATA_FETCH_FTL_FILE);
+        register(InstructionEventConfig.class, InstructionEventConfig::new, FETCH_BUSINESS_EVENT_RULE_FTL_FILE);
+        register(MurexBookingConfig.class, MurexBookingConfig::new, FETCH_MUREX_BOOK_CODES_FTL_FILE);
+        register(Currency.class, Currency::new, FETCH_CURRENCY_CONFIG_FTL_FILE);
+    }
+
+    /**
+     * Returns the precompiled row mapper for the given model type
+     *
+     * @param type fetch model class
+     * @return cached row mapper
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RowMapper<T> getRowMapper(final Class<T> type) {
+        IndexedRowMapper<?> rowMapper = rowMappers.get(type);
+        if (rowMapper == null) {
+            throw new BusinessException(String.format("No row mapper registered for %s", type.getName()));
+        }
+        return (RowMapper<T>) rowMapper;
+    }
+
+    <T> void register(final Class<T> type, final Supplier<T> factory, final String ftlFileName) {
+        List<String> columnLabels = readSelectList(ftlFileName);
+        Map<String, PropertyDescriptor> properties = new HashMap<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            if (descriptor.getWriteMethod() != null) {
+                properties.put(descriptor.getName().toLowerCase(Locale.ROOT), descriptor);
+            }
+        }
+
+        List<IndexedRowMapper.ColumnBinding> bindings = new ArrayList<>(columnLabels.size());
+        for (String columnLabel : columnLabels) {
+            PropertyDescriptor descriptor = properties.get(columnLabel.toLowerCase(Locale.ROOT));
+            if (descriptor == null) {
+                throw new BusinessException(String.format("Column %s selected by %s has no writable property on %s",
+                        columnLabel, ftlFileName, type.getSimpleName()));
+            }
+            bindings.add(new IndexedRowMapper.ColumnBinding(columnLabel, descriptor.getPropertyType(), setterHandle(descriptor)));
+        }
+
+        rowMappers.put(type, new IndexedRowMapper<>(type, factory, bindings));
+        log.info("Registered indexed row mapper for {} with {} columns from {}", type.getSimpleName(), bindings.size(), ftlFileName);
+    }
+
+    /**
+     * Extracts the column aliases of the top-level SELECT list of an FTL template, in order
+     */
+    static List<String> parseSelectList(final String template) {
+        Matcher matcher = SELECT_LIST.matcher(FTL_COMMENT.matcher(template).replaceAll(""));
+        if (!matcher.find()) {
+            return List.of();
+        }
+
+        List<String> columnLabels = new ArrayList<>();
+        for (String column : matcher.group(1).split(",")) {
+            String expression = column.trim();
+            if (expression.isEmpty()) {
+                continue;
+            }
+            Matcher alias = COLUMN_ALIAS.matcher(expression);
+            if (alias.find()) {
+                columnLabels.add(alias.group(1));
+            } else {
+                columnLabels.add(expression.substring(expression.lastIndexOf('.') + 1));
+            }
+        }
+        return columnLabels;
+    }
+
+    private List<String> readSelectList(final String ftlFileName) {
+        try (InputStream inputStream = new ClassPathResource(FTL_RESOURCE_LOCATION + ftlFileName).getInputStream()) {
+            List<String> columnLabels = parseSelectList(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            if (columnLabels.isEmpty()) {
+                throw new BusinessException(String.format("No SELECT list found in template %s", ftlFileName));
+            }
+            return columnLabels;
+        } catch (IOException e) {
+            throw new BusinessException(String.format("Failed to read template %s", ftlFileName), e);
+        }
+    }
+
+    private static MethodHandle setterHandle(final PropertyDescriptor descriptor) {
+        try {
+            return MethodHandles.publicLookup().unreflect(descriptor.getWriteMethod()).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new BusinessException(String.format("Setter %s is not accessible", descriptor.getWriteMethod()), e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ruchira.murex.repository;
+
+import com.ruchira.murex.config.PersistenceConfig;
+import com.ruchira.murex.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import static com.ruchira.murex.constant.Constants.MUREX_ID_SEQUENCES;
+
+/**
+ * Hands out application-assigned primary keys using the hi/lo scheme.
+ * <p>
+ * Each {@code NEXTVAL} on a sequence reserves a block of {@code idAllocationSize} ids, which are then
+ * handed out from memory. The sequence's {@code INCREMENT BY} must equal the allocation size so blocks
+ * taken by different application instances never overlap; this is verified at startup for the Murex
+ * id sequences. Ids are unique but not gap-free.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceIdAllocator {
+
+    private static final Pattern SEQUENCE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PersistenceConfig persistenceConfig;
+    private final Map<String, IdBlock> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Fails startup if the INCREMENT BY of a Murex id sequence differs from the allocation size: a smaller
+     * increment lets blocks of different instances overlap, a larger one wastes ids
+     */
+    @PostConstruct
+    public void verifySequenceIncrements() {
+        if (!persistenceConfig.isVerifyIdSequences()) {
+            return;
+        }
+        for (String sequenceName : MUREX_ID_SEQUENCES) {
+            final long increment = sequenceIncrement(sequenceName);
+            if (increment != persistenceConfig.getIdAllocationSize()) {
+                throw new BusinessException(String.format(
+                        "Sequence %s has INCREMENT BY %d but app.persistence.id-allocation-size is %d",
+                        sequenceName, increment, persistenceConfig.getIdAllocationSize()));
+            }
+        }
+        log.info("Id sequences {} match allocation size {}", MUREX_ID_SEQUENCES, persistenceConfig.getIdAllocationSize());
+    }
+
+    private long sequenceIncrement(final String sequenceName) {
+        validateSequenceName(sequenceName);
+        try {
+            // a MariaDB sequence is readable as a one-row table holding its definition
+            Long increment = jdbcTemplate.getJdbcOperations()
+                    .queryForObject("SELECT increment FROM " + sequenceName, Long.class);
+            if (increment == null) {
+                throw new BusinessException(String.format("Sequence %s returned no increment", sequenceName));
+            }
+            return increment;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException(String.format("Failed to read the definition of sequence %s", sequenceName), e);
+        }
+    }
+
+    /**
+     * Returns the next id for the given sequence, reserving a new block from the database when the
+     * current one is exhausted.
+     *
+     * @param sequenceName name of the database sequence backing the table's ids
+     * @return a unique id
+     */
+    public long nextId(final String sequenceName) {
+        IdBlock block = blocks.computeIfAbsent(sequenceName, name -> {
+            validateSequenceName(name);
+            return new IdBlock();
+        });
+
+        // a lock rather than synchronized so virtual threads are not pinned during the NEXTVAL round trip
+        block.lock.lock();
+        try {
+            if (block.next >= block.limit) {
+                long hi = reserveBlock(sequenceName);
+                block.next = hi;
+                block.limit = hi + persistenceConfig.getIdAllocationSize();
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    private static void validateSequenceName(final String sequenceName) {
+        if (!SEQUENCE_NAME.matcher(sequenceName).matches()) {
+            throw new BusinessException(String.format("Invalid sequence name %s", sequenceName));
+        }
+    }
+
+    private long reserveBlock(final String sequenceName) {
+        try {
+            Long hi = jdbcTemplate.getJdbcOperations()
+                    .queryForObject("SELECT NEXTVAL(" + sequenceName + ")", Long.class);
+            if (hi == null) {
+                throw new BusinessException(String.format("Sequence %s returned no value", sequenceName));
+            }
+            log.debug("Reserved id block [{}, {}) from sequence {}", hi, hi + persistenceConfig.getIdAllocationSize(), sequenceName);
+            return hi;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            final String message = String.format("Failed to reserve id block from sequence %s", sequenceName);
+            log.error(message, e);
+            throw new BusinessException(message, e);
+        }
+    }
+
+    private static final class IdBlock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long limit;
+    }
+}
@@ -1,22 +1,29 @@
 package com.ruchira.murex.service;
 
-import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.config.ConcurrencyConfig;
+import com.ruchira.murex.config.DataFetchConfig;
+import com.ruchira.murex.config.PipelineConfig;
 import com.ruchira.murex.model.Currency;
 import com.ruchira.murex.util.ConcurrencyUtil;
 import com.ruchira.murex.dto.InstructionRequestDto;
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
-import com.ruchira.murex.exception.BusinessException;
 import com.ruchira.murex.exception.InstructionProcessingException;
 import com.ruchira.murex.model.*;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
 import com.ruchira.murex.model.trade.MurexTrade;
-import com.ruchira.murex.parser.JsonParser;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.ruchira.murex.pipeline.AdaptiveParallelismController;
+import com.ruchira.murex.pipeline.InstructionPipeline;
+import com.ruchira.murex.pipeline.PipelineQueueMonitor;
+import com.ruchira.murex.pipeline.PipelineReport;
+import com.ruchira.murex.pipeline.PublishJob;
+import com.ruchira.murex.pipeline.PublishReport;
+import com.ruchira.murex.pipeline.PublishStage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -30,9 +37,14 @@ import static com.ruchira.murex.constant.Constants.*;
 public class InboundInstructionProcessingService {
 
     private final TradeDataHandlerService tradeDataHandlerService;
-    private final MurexDownStreamProcessAdapter murexDownStreamProcessAdapter;
-    private final JsonParser jsonParser;
     private final MurexDataTransformationService murexDataTransformationService;
+    private final DataFetchConfig dataFetchConfig;
+    private final PipelineConfig pipelineConfig;
+    private final PipelineQueueMonitor pipelineQueueMonitor;
+    private final ConcurrencyConfig concurrencyConfig;
+    private final AdaptiveParallelismController parallelismController;
+    private final PublishStage publishStage;
+    private final TransactionTemplate transactionTemplate;
 
 
     /**
@@ -44,7 +56,8 @@ public class InboundInstructionProcessingService {
      * 3. Fetch currency and rule maps
      * 4. Process each grouped record concurrently (all-or-none semantics)
      * 5. Insert transformed records into StgMrxExtDmc table
-     * 6. Publish generated trades to downstream systems
+     * 6. Hand generated trades to the publish stage, which stores and publishes them once the
+     * transaction commits, without this method waiting for them
      * <p>
      * Error Handling:
      * - Any exception at any stage will trigger a full rollback
@@ -54,61 +67,231 @@ public class InboundInstructionProcessingService {
      * - Failure notification sent via `notifyBookingFailed`
      *
      * @param instructionRequestDto The instruction request payload
+     * @return report of the publish job, still running; its progress is available from
+     * {@link PublishStage#report(String)}
      * @throws InstructionProcessingException if any step fails
      */
     @Transactional
-    public void processInstruction(final InstructionRequestDto instructionRequestDto) throws Exception {
+    public PublishReport processInstruction(final InstructionRequestDto instructionRequestDto) throws Exception {
+        return processInstruction(instructionRequestDto, new InstructionRunStats());
+    }
+
+    /**
+     * Same as {@link #processInstruction(InstructionRequestDto)}, recording step timings and counts
+     *
+     * @param stats receives the timings and counts while the instruction is processed
+     */
+    @Transactional
+    public PublishReport processInstruction(final InstructionRequestDto instructionRequestDto,
+                                            final InstructionRunStats stats) throws Exception {
         log.info("Processing instruction event: {}", instructionRequestDto.getInstructionEvent());
         long start = System.currentTimeMillis();
+        final PublishJob publishJob = publishStage.open(instructionRequestDto.getInstructionEvent());
         try {
-            // Step 1: fetch aggregated data
-            List<AggregatedDataResponse> results = fetchAggregatedData(instructionRequestDto);
-
-            // Step 2: group and validate records
-            List<GroupedRecord> groupedRecords = groupAndValidate(results);
-
-            // Step 3: fetch currency and rule map
-            List<Currency> currencies = fetchCurrencyData(instructionRequestDto);
-            List<String> currenciesInFamily = extractCurrencies(currencies);
-            Map<String, InstructionEventConfig> ruleMap = fetchBusinessEventRuleMap(instructionRequestDto, currencies);
-
-            // Step 4: process records
-            RecordProcessingResult processingResult = processGroupedRecords(groupedRecords, instructionRequestDto, ruleMap, currenciesInFamily);
+            if (pipelineConfig.isEnabled()) {
+                processInstructionPipelined(instructionRequestDto, publishJob, stats);
+                log.info("Time Taken: {}", System.currentTimeMillis() - start);
+                return publishJob.report();
+            }
 
+            // Steps 1-4: fetch, group, and process records
+            RecordProcessingResult processingResult = dataFetchConfig.isStreamingEnabled()
+                    ? fetchAndProcessStreaming(instructionRequestDto, stats)
+                    : fetchAndProcess(instructionRequestDto, stats);
+            stats.addTrades(processingResult.getAllMurexBookings().size());
 
             //Step 5: Insert StgMrxExtDmc Data to Database
-            insertStgMrxExtDmcRecordsToDatabase(processingResult.getAllStgMrxExtDmcs());
+            stats.time(InstructionStep.PERSIST, () -> {
+                insertStgMrxExtDmcRecordsToDatabase(processingResult.getAllStgMrxExtDmcs());
+                return null;
+            });
+            stats.addDmcRows(processingResult.getAllStgMrxExtDmcs().size());
 
-            // Step 5: publish trades to downstream systems and databases This is handled in its Onw Transaction Context
-            publishGeneratedMurexTrades(processingResult.getAllMurexTrades());
+            // Step 6: publish trades to downstream systems and databases. This is handled by the publish stage in its own transactions
+            publishGeneratedMurexTrades(publishJob, processingResult.getAllMurexBookings());
 
             long end = System.currentTimeMillis();
             log.info("Time Taken: {}", end - start);
+            return publishJob.report();
         } catch (Exception ex) {
             log.error("Instruction processing failed for {}: {}", instructionRequestDto.getInstructionEvent(), ex.getMessage(), ex);
             throw new InstructionProcessingException(String.format("Failed to process instruction: %s", instructionRequestDto.getInstructionEvent()), ex);
+        } finally {
+            publishJob.seal();
         }
     }
 
+    private RecordProcessingResult fetchAndProcess(final InstructionRequestDto instructionRequestDto,
+                                                   final InstructionRunStats stats) throws Exception {
+        // Step 1: fetch aggregated data
+        List<AggregatedDataResponse> results = stats.time(InstructionStep.FETCH, () -> fetchAggregatedData(instructionRequestDto));
+
+        // Step 2: fetch currency and rule map
+        ReferenceData referenceData = fetchReferenceData(instructionRequestDto, stats);
+
+        // Steps 3-4: group and process records
+        return transformRows(instructionRequestDto, results, referenceData, stats);
+    }
+
+    /**
+     * Groups, validates and transforms the aggregated rows of one instruction without persisting anything.
+     *
+     * @param dto           The instruction request payload
+     * @param rows          aggregated rows of the instruction
+     * @param referenceData reference data resolved for the instruction
+     * @param stats         receives the timings and counts
+     * @return combined processing result of all grouped records
+     */
+    public RecordProcessingResult transformRows(final InstructionRequestDto dto,
+                                                final List<AggregatedDataResponse> rows,
+                                                final ReferenceData referenceData,
+                                                final InstructionRunStats stats) throws Exception {
+        List<GroupedRecord> groupedRecords = stats.time(InstructionStep.GROUP, () -> groupAndValidate(rows));
+        stats.addGroups(groupedRecords.size());
+
+        return stats.time(InstructionStep.TRANSFORM, () -> processGroupedRecords(groupedRecords, dto, referenceData));
+    }
+
+    /**
+     * Streaming variant of {@link #fetchAndProcess(InstructionRequestDto, InstructionRunStats)}.
+     * <p>
+     * Reference data is resolved first, then aggregated rows are read from a cursor and every
+     * grouped record is forked for processing as soon as its rows are complete, overlapping the
+     * transformation stage with the fetch. NDF groups need the FX Spot groups of the whole
+     * instruction for cross-record lookups, so they are deferred until the stream is exhausted.
+     * All-or-none semantics are preserved because nothing is persisted before both passes succeed.
+     * Both passes are bounded by the adaptive parallelism limit, like the non-streaming path.
+     *
+     * @param dto   The instruction request payload
+     * @param stats receives the timings and counts
+     * @return combined processing result of all grouped records
+     */
+    private RecordProcessingResult fetchAndProcessStreaming(final InstructionRequestDto dto,
+                                                            final InstructionRunStats stats) throws Exception {
+        // Step 1: fetch currency and rule map
+        ReferenceData referenceData = fetchReferenceData(dto, stats);
+
+        // FX Spot groups an NDF record may reference, kept until the deferred NDF pass
+        List<GroupedRecord> fxSpotGroups = new ArrayList<>();
+        List<GroupedRecord> deferredNdfGroups = new ArrayList<>();
+
+        // Steps 2-3: stream, group, and process non-NDF records as they arrive
+        List<RecordProcessingResult> resultList = new ArrayList<>(stats.time(InstructionStep.FETCH, () -> processAllOrNone(
+                sink -> tradeDataHandlerService.streamGroupedRecords(
+                        dto.getBusinessDate(), dto.getExternalTradeIds(), dto.getHedgeInstrumentType(), dto.getCurrency(),
+                        groupedRecord -> {
+                            stats.addGroups(1);
+                            if (FX_NDF_TYPOLOGY.equals(groupedRecord.getTypology())) {
+                                deferredNdfGroups.add(groupedRecord);
+                                return;
+                            }
+                            if (FX_SPOT_TYPOLOGY.equals(groupedRecord.getTypology())) {
+                                fxSpotGroups.add(groupedRecord);
+                            }
+                            sink.accept(groupedRecord);
+                        }),
+                record -> processRecord(record, dto, referenceData, FxSpotGroupIndex.EMPTY)
+        )));
+
+        // Step 4: process deferred NDF records against the complete set of groups
+        if (!deferredNdfGroups.isEmpty()) {
+            FxSpotGroupIndex fxSpotGroupIndex = FxSpotGroupIndex.of(fxSpotGroups);
+            resultList.addAll(stats.time(InstructionStep.TRANSFORM, () -> processAllOrNone(
+                    deferredNdfGroups,
+                    record -> processRecord(record, dto, referenceData, fxSpotGroupIndex)
+            )));
+        }
+
+        return mergeResults(resultList);
+    }
+
+    /**
+     * Pipelined variant of the full instruction flow.
+     * <p>
+     * Fetch, grouping, transformation, DMC persistence and trade publishing run as concurrent stages
+     * connected by bounded queues (see {@link InstructionPipeline}). With
+     * {@link PipelineConfig.DmcCommitMode#ALL_OR_NONE} nothing is written or published unless every
+     * record transformed successfully; {@link PipelineConfig.DmcCommitMode#INCREMENTAL} commits and
+     * publishes batch by batch.
+     *
+     * @param dto        The instruction request payload
+     * @param publishJob job the trade batches are submitted to
+     * @param stats      receives the timings and counts
+     */
+    private void processInstructionPipelined(final InstructionRequestDto dto,
+                                             final PublishJob publishJob,
+                                             final InstructionRunStats stats) throws Exception {
+        ReferenceData referenceData = fetchReferenceData(dto, stats);
+
+        // the stages run on their own threads, outside the transaction of this method; the pipeline
+        // opens one transaction per DMC commit unit
+        InstructionPipeline pipeline = new InstructionPipeline(pipelineConfig, pipelineQueueMonitor, transactionTemplate,
+                new InstructionPipeline.StageHandlers(
+                        sink -> tradeDataHandlerService.streamData(
+                                dto.getBusinessDate(), dto.getExternalTradeIds(), dto.getHedgeInstrumentType(), dto.getCurrency(), sink),
+                        (record, fxSpotGroups) -> processRecord(record, dto, referenceData, fxSpotGroups),
+                        this::insertStgMrxExtDmcRecordsToDatabase,
+                        bookings -> publishGeneratedMurexTrades(publishJob, bookings)
+                ));
+
+        PipelineReport report = pipeline.run();
+        stats.record(InstructionStep.PIPELINE, report.elapsedMillis());
+        stats.addGroups(report.groupsEmitted());
+        stats.addTrades(report.tradesPublished());
+        stats.addDmcRows(report.dmcRowsPersisted());
+        log.info("Pipeline completed for {}: rows={} groups={} dmcRows={} trades={} elapsed={}ms",
+                dto.getInstructionEvent(), report.rowsFetched(), report.groupsEmitted(),
+                report.dmcRowsPersisted(), report.tradesPublished(), report.elapsedMillis());
+    }
+
     private RecordProcessingResult processGroupedRecords(List<GroupedRecord> groupedRecords,
                                                          InstructionRequestDto requestDto,
-                                                         Map<String, InstructionEventConfig> ruleMap,
-                                                         List<String> currenciesInFamily) throws Exception {
+                                                         ReferenceData referenceData) throws Exception {
 
-        List<RecordProcessingResult> resultList = ConcurrencyUtil.processAllOrNone(
+        // built once, so NDF records find their FX Spot group without scanning every group
+        FxSpotGroupIndex fxSpotGroups = FxSpotGroupIndex.of(groupedRecords);
+
+        List<RecordProcessingResult> resultList = processAllOrNone(
                 groupedRecords,
                 record -> processRecord(
                         record,
                         requestDto,
-                        ruleMap,
-                        groupedRecords,
-                        currenciesInFamily
+                        referenceData,
+                        fxSpotGroups
                 )
         );
 
-        List<MurexTrade> allMurexTrades = resultList.stream()
+        return mergeResults(resultList);
+    }
+
+    /**
+     * Runs the task for every record with all-or-none semantics, bounded by the adaptive parallelism
+     * limit unless bounded processing is disabled.
+     */
+    private List<RecordProcessingResult> processAllOrNone(List<GroupedRecord> records,
+                                                          ConcurrencyUtil.RecordTask<GroupedRecord, RecordProcessingResult> task) throws Exception {
+        if (!concurrencyConfig.isBounded()) {
+            return ConcurrencyUtil.processAllOrNone(records, task);
+        }
+        return ConcurrencyUtil.processAllOrNone(records, task, parallelismController::currentLimit, concurrencyConfig.getChunkSize());
+    }
+
+    /**
+     * Streaming counterpart of {@link #processAllOrNone(List, ConcurrencyUtil.RecordTask)}: records are
+     * forked as the source emits them, under the same limit
+     */
+    private List<RecordProcessingResult> processAllOrNone(ConcurrencyUtil.RecordSource<GroupedRecord> source,
+                                                          ConcurrencyUtil.RecordTask<GroupedRecord, RecordProcessingResult> task) throws Exception {
+        if (!concurrencyConfig.isBounded()) {
+            return ConcurrencyUtil.processAllOrNone(source, task);
+        }
+        return ConcurrencyUtil.processAllOrNone(source, task, parallelismController::currentLimit, concurrencyConfig.getChunkSize());
+    }
+
+    private RecordProcessingResult mergeResults(List<RecordProcessingResult> resultList) {
+        List<MurexBookingEntry> allMurexBookings = resultList.stream()
                 .filter(Objects::nonNull)
-                .flatMap(r -> Objects.nonNull(r.getAllMurexTrades()) ? r.getAllMurexTrades().stream() : Stream.empty())
+                .flatMap(r -> Objects.nonNull(r.getAllMurexBookings()) ? r.getAllMurexBookings().stream() : Stream.empty())
                 .toList();
 
         List<StgMrxExtDmcDto> allStgMrxExtDmcs = resultList.stream()
@@ -117,7 +300,36 @@ public class InboundInstructionProcessingService {
                 .toList();
 
 
-        return new RecordProcessingResult(allStgMrxExtDmcs, allMurexTrades);
+        return new RecordProcessingResult(allStgMrxExtDmcs, allMurexBookings);
+    }
+
+    /**
+     * Currency family and business event rules of an instruction, with the Murex booking configs of
+     * its rules, which are loaded on first use and may be shared by several instructions
+     *
+     * @param murexConfigsByRule ruleId -> Murex booking configs, filled lazily
+     */
+    public record ReferenceData(List<String> currenciesInFamily,
+                                Map<String, InstructionEventConfig> ruleMap,
+                                MurexBookingConfigMemo murexConfigsByRule) {
+    }
+
+    private ReferenceData fetchReferenceData(InstructionRequestDto dto, InstructionRunStats stats) throws Exception {
+        return fetchReferenceData(dto, stats, new MurexBookingConfigMemo());
+    }
+
+    /**
+     * Resolves the reference data of an instruction
+     *
+     * @param murexConfigsByRule Murex booking configs by ruleId to use and fill
+     */
+    public ReferenceData fetchReferenceData(InstructionRequestDto dto,
+                                            InstructionRunStats stats,
+                                            MurexBookingConfigMemo murexConfigsByRule) throws Exception {
+        return stats.time(InstructionStep.REFERENCE_DATA, () -> {
+            List<Currency> currencies = fetchCurrencyData(dto);
+            return new ReferenceData(extractCurrencies(currencies), fetchBusinessEventRuleMap(dto, currencies), murexConfigsByRule);
+        });
     }
 
     private List<String> extractCurrencies(List<Currency> currencies) {
@@ -199,15 +411,14 @@ public class InboundInstructionProcessingService {
      *
      * @param record              Grouped record being processed
      * @param dto                 Instruction request DTO providing context
-     * @param ruleMap             Precomputed map of navType -> InstructionEventConfig
-     * @param groupedRecords      Complete list of grouped records (for context in booking generation)
+     * @param referenceData       Precomputed navType -> InstructionEventConfig map, currency family and Murex configs
+     * @param fxSpotGroups        Index of the FX Spot groups of the instruction (for NDF cross-record lookups)
      */
     private RecordProcessingResult processRecord(GroupedRecord record,
                                                  InstructionRequestDto dto,
-                                                 Map<String, InstructionEventConfig> ruleMap,
-                                                 List<GroupedRecord> groupedRecords,
-                                                 List<String> currenciesInFamily) {
-        InstructionEventConfig ruleConfig = ruleMap.get(record.getNavType());
+                                                 ReferenceData referenceData,
+                                                 FxSpotGroupIndex fxSpotGroups) {
+        InstructionEventConfig ruleConfig = referenceData.ruleMap().get(record.getNavType());
 
         if (ruleConfig == null) {
             log.warn("No rule configuration found for navType={} in instructionEvent={}",
@@ -216,55 +427,29 @@ public class InboundInstructionProcessingService {
         }
 
         // Step 1: fetch murex booking configs linked to this rule
-        List<MurexBookingConfig> bookConfigs = tradeDataHandlerService.fetchMurexBookConfigs(ruleConfig.getRuleId());
+        MurexBookingConfigIndex bookConfigIndex = referenceData.murexConfigsByRule()
+                .get(ruleConfig.getRuleId(), tradeDataHandlerService::fetchMurexBookConfigs);
 
-        // Step 2: generate bookings using record configs
+        // Step 2: generate bookings using the configs matching the record typology
 
-        return generateMurexBookings(record, bookConfigs, dto.getCurrency(), ruleConfig.getRuleId(), groupedRecords, currenciesInFamily);
+        return generateMurexBookings(record, bookConfigIndex.getConfigs(record.getTypology()), dto.getCurrency(), ruleConfig.getRuleId(), fxSpotGroups, referenceData.currenciesInFamily());
 
     }
 
 
     /**
-     * Publishes Murex trades to the outbound messaging system.
+     * Hands Murex trades to the publish stage, which stores and publishes them off the request thread.
+     * The HAWK records were assembled together with the trades, so they are stored and published as is.
      *
-     * @param trades List of trades to publish
+     * @param publishJob job collecting the outcome of every trade
+     * @param bookings   List of trades, with their HAWK records, to publish
      */
-
-    @Async
-    private void publishGeneratedMurexTrades(List<MurexTrade> trades) {
-        if (CollectionUtils.isEmpty(trades)) {
+    private void publishGeneratedMurexTrades(PublishJob publishJob, List<MurexBookingEntry> bookings) {
+        if (CollectionUtils.isEmpty(bookings)) {
             log.warn("No trades to publish to Database or Downstream");
             return;
         }
-        for (MurexTrade trade : trades) {
-            final String tradeRef = trade.getTradeReference();
-            try {
-                log.debug("Starting processing for trade ID: {}", trade.getTradeReference());
-
-                final HAWKMurexBookingRecord murexBookingRecord = mapToHawkBookingRecord(trade);
-                publishMurexBookingToDatabase(trade, murexBookingRecord);
-                publishHawkBookingRecordToDownStream(murexBookingRecord, trade.getTradeReference());
-            } catch (Exception e) {
-                log.error("Failed to publish the GeneratedMurexTrade trade {}: {}", tradeRef, e.getMessage(), e);
-            }
-        }
-
-    }
-
-    public HAWKMurexBookingRecord mapToHawkBookingRecord(MurexTrade murexTrade) {
-        return murexDownStreamProcessAdapter.mapToHawkBookingRecordForDownStreamPublishing(murexTrade);
-    }
-
-    public void publishHawkBookingRecordToDownStream(HAWKMurexBookingRecord murexBookingRecord, final String tradeReference) {
-        murexDownStreamProcessAdapter.publishHawkMurexTradeToDownStream(murexBookingRecord, tradeReference);
-    }
-
-    private void publishMurexBookingToDatabase(
-            final MurexTrade murexTrade,
-            final HAWKMurexBookingRecord murexBookingRecord
-    ) {
-        tradeDataHandlerService.publishMurexBookingToDatabase(murexTrade, murexBookingRecord);
+        publishStage.submit(publishJob, bookings);
     }
 
     /**
@@ -274,14 +459,14 @@ public class InboundInstructionProcessingService {
      * <p>This method applies booking transformations on the provided grouped record,
      * leveraging Murex book configurations and input currency to compute
      * the final booking results. It also associates the results with an
-     * instruction event rule identifier and may consider multiple grouped records
-     * for cross-record processing.</p>
+     * instruction event rule identifier and may look up the FX Spot groups of the
+     * instruction for cross-record processing.</p>
      *
      * @param groupedRecord          The primary validated grouped record to transform
-     * @param murexConfigs           List of Murex book configurations used for filtering and processing
+     * @param filteredMurexConfigs   Murex book configurations matching the grouped record typology
      * @param inputCurrency          Input currency for transformation and calculation logic
      * @param instructionEventRuleId Identifier for the instruction event rule driving transformation logic
-     * @param groupedRecords         Additional grouped records that may influence transformation logic
+     * @param fxSpotGroups           Index of the FX Spot groups an NDF record may reference
      * @return A pair containing:
      * <ul>
      *   <li>List of transformed {@link StgMrxExtDmcDto} booking DTOs</li>
@@ -289,14 +474,12 @@ public class InboundInstructionProcessingService {
      * </ul>
      */
     public RecordProcessingResult generateMurexBookings(GroupedRecord groupedRecord,
-                                                        List<MurexBookingConfig> murexConfigs,
+                                                        List<MurexBookingConfig> filteredMurexConfigs,
                                                         String inputCurrency,
                                                         String instructionEventRuleId,
-                                                        List<GroupedRecord> groupedRecords,
+                                                        FxSpotGroupIndex fxSpotGroups,
                                                         List<String> currenciesInFamily) {
 
-        // Step 1: Filter MurexBookConfig records based on typology matching (reuse existing logic)
-        List<MurexBookingConfig> filteredMurexConfigs = filterMurexConfigsByTypology(murexConfigs, groupedRecord.getTypology());
         TransformationContext transformationContext = TransformationContext.builder()
                 .filteredMurexConfigs(filteredMurexConfigs)
                 .groupedRecord(groupedRecord)
@@ -305,128 +488,10 @@ public class InboundInstructionProcessingService {
                 .instructionEventRuleId(instructionEventRuleId)
                 .build();
         if (groupedRecord.getTypology().equals(FX_NDF_TYPOLOGY)) {
-            transformationContext.setAllGroupedRecords(groupedRecords);
+            transformationContext.setFxSpotGroups(fxSpotGroups);
         }
 
         // Step 2: Pass to advanced transformation service for booking generation
         return murexDataTransformationService.generateMurexBookings(transformationContext);
     }
-
-
-    /**
-     * Enhanced filter for MurexBookConfig records with strict typology separation
-     * <p>
-     * Filtering Strategy:
-     * - FX Spot/Swap: ONLY matches single-element arrays where the sole referenceTrade equals typology
-     * - NDF: Matches both single-element NDF arrays AND multi-element arrays containing NDF
-     * <p>
-     * This prevents NDF multi-element configs from being incorrectly matched for FX Spot/Swap processing
-     * <p>
-     * Transformation Array Examples:
-     * FX Spot Config:     [{"referenceTrade": "FX Spot", ...}] → Matches ONLY FX Spot typology
-     * FX Swap Config:     [{"referenceTrade": "FX Swap", ...}] → Matches ONLY FX Swap typology
-     * NDF Single Config:  [{"referenceTrade": "NDF", ...}] → Matches ONLY NDF typology
-     * NDF Multi Config:   [{"referenceTrade": "FX Spot", ...}, {"referenceTrade": "NDF", ...}] → Matches ONLY NDF typology
-     *
-     * @param murexConfigs List of Murex configurations to filter
-     * @param typology     The typology to match against (e.g., "FX Spot", "FX Swap", "NDF")
-     * @return Filtered list of MurexBookConfig records that match the typology
-     */
-    private List<MurexBookingConfig> filterMurexConfigsByTypology(List<MurexBookingConfig> murexConfigs, String typology) {
-
-        if (murexConfigs == null || murexConfigs.isEmpty() || typology == null) {
-            return Collections.emptyList();
-        }
-
-        List<MurexBookingConfig> filteredConfigs = new ArrayList<>();
-
-        for (MurexBookingConfig config : murexConfigs) {
-            try {
-                String transformationsJson = config.getTransformations();
-
-                // Apply conditional filtering logic based on typology
-                if (shouldIncludeConfig(transformationsJson, typology)) {
-                    filteredConfigs.add(config);
-                }
-
-            } catch (Exception e) {
-                log.error("Error parsing transformations for MurexBookConfig ID {} : ", config.getId(), e);
-                throw new BusinessException(e.getMessage());
-            }
-        }
-
-        return filteredConfigs;
-    }
-
-    /**
-     * Determine if a MurexBookConfig should be included for the given typology using strict filtering rules.
-     *
-     * @param transformationsJson JSON string containing transformations
-     * @param typology            The typology to match against
-     * @return true if config should be included, false otherwise
-     */
-    private boolean shouldIncludeConfig(String transformationsJson, String typology) {
-        try {
-            List<JsonNode> transformations = jsonParser.parseTransformations(transformationsJson);
-
-            if (transformations.isEmpty()) {
-                return false;
-            }
-
-            // Apply different filtering logic based on typology
-            if (FX_SPOT_TYPOLOGY.equals(typology) || FX_SWAP_TYPOLOGY.equals(typology)) {
-                // FX Spot/Swap: STRICT matching - only single-element arrays with exact match
-                return isSingleElementExactMatch(transformations, typology);
-
-            } else if (FX_NDF_TYPOLOGY.equals(typology)) {
-                // NDF: Flexible matching - single NDF OR multi-element containing NDF
-                return isNdfCompatibleConfig(transformations);
-
-            } else {
-                // Future typologies: default to single-element exact match
-                return isSingleElementExactMatch(transformations, typology);
-            }
-
-        } catch (Exception e) {
-            log.error("Error evaluating config inclusion for typology: {} : ", typology, e);
-            return false;
-        }
-    }
-
-    /**
-     * Check if transformations array is single-element with exact referenceTrade match.
-     * Used for FX Spot, FX Swap, and other single-element typologies.
-     */
-    private boolean isSingleElementExactMatch(List<JsonNode> transformations, String typology) {
-        // Must be exactly 1 transformation
-        if (transformations.size() != 1) {
-            return false;
-        }
-
-        JsonNode transformation = transformations.getFirst();
-        if (transformation.has(REFERENCE_TRADE_FIELD)) {
-            String referenceTrade = transformation.get(REFERENCE_TRADE_FIELD).asText();
-            return typology.equals(referenceTrade);
-        }
-
-        return false;
-    }
-
-    /**
-     * Check if transformations array is compatible with NDF processing.
-     * Accepts both single NDF elements and multi-element arrays containing NDF.
-     */
-    private boolean isNdfCompatibleConfig(List<JsonNode> transformations) {
-        // Check if any transformation contains "NDF" referenceTrade
-        for (JsonNode transformation : transformations) {
-            if (transformation.has(REFERENCE_TRADE_FIELD)) {
-                String referenceTrade = transformation.get(REFERENCE_TRADE_FIELD).asText();
-                if (FX_NDF_TYPOLOGY.contains(referenceTrade)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
 }
@@ -0,0 +1,262 @@
+package com.ruchira.murex.service;
+
+import com.ruchira.murex.dto.InstructionRequestDto;
+import com.ruchira.murex.dto.StgMrxExtDmcDto;
+import com.ruchira.murex.model.AggregatedDataResponse;
+import com.ruchira.murex.model.InstructionBatchResult;
+import com.ruchira.murex.model.InstructionFingerprint;
+import com.ruchira.murex.model.InstructionOutcome;
+import com.ruchira.murex.model.InstructionRunStats;
+import com.ruchira.murex.model.InstructionStep;
+import com.ruchira.murex.model.MurexBookingConfigMemo;
+import com.ruchira.murex.model.RecordProcessingResult;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.pipeline.PublishJob;
+import com.ruchira.murex.pipeline.PublishStage;
+import com.ruchira.murex.service.InboundInstructionProcessingService.ReferenceData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Processes many instructions together so that their fixed costs are paid once per batch.
+ * <p>
+ * Currency configs and business event rules are resolved once per distinct (currency, event, hedge
+ * method, instrument type) and Murex booking configs once per rule for the whole batch. Instructions
+ * sharing a business date, currency and instrument type are fetched with one aggregated query over the
+ * union of their contracts, whose rows are then handed back to the instructions naming each contract.
+ * The DMC rows of all instructions are inserted as one batch and their trades are submitted to one
+ * publish job.
+ * <p>
+ * Instructions stay isolated: an instruction whose lookup, fetch or transformation fails is reported
+ * as failed without affecting the others, and if the combined DMC insert fails the rows are inserted
+ * instruction by instruction, so only the instructions whose own rows cannot be written fail. Only
+ * instructions whose DMC rows were written have their trades published.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InstructionBatchService {
+
+    private final InboundInstructionProcessingService inboundInstructionProcessingService;
+    private final TradeDataHandlerService tradeDataHandlerService;
+    private final PublishStage publishStage;
+
+    /**
+     * Process the instructions and return once their trades are generated and their DMC rows written;
+     * the trades are stored and published in the background, tracked by the publish report of the result
+     *
+     * @param instructions instructions of the batch
+     * @return one outcome per instruction, in submission order
+     */
+    public InstructionBatchResult processBatch(final List<InstructionRequestDto> instructions) {
+        log.info("Processing batch of {} instructions", instructions.size());
+        final long start = System.currentTimeMillis();
+        final InstructionRunStats sharedStats = new InstructionRunStats();
+        final List<BatchEntry> entries = new ArrayList<>(instructions.size());
+        for (int i = 0; i < instructions.size(); i++) {
+            entries.add(new BatchEntry(i, instructions.get(i)));
+        }
+
+        resolveReferenceData(entries, sharedStats);
+        fetchRows(entries, sharedStats);
+        entries.stream().filter(BatchEntry::pending).forEach(this::transform);
+        persistDmcRows(entries, sharedStats);
+
+        final PublishJob publishJob = publishStage.open(String.format("batch of %d instructions", entries.size()));
+        try {
+            final List<MurexBookingEntry> bookings = entries.stream()
+                    .filter(BatchEntry::pending)
+                    .flatMap(entry -> entry.result.getAllMurexBookings().stream())
+                    .toList();
+            publishStage.submit(publishJob, bookings);
+        } finally {
+            publishJob.seal();
+        }
+
+        final List<InstructionOutcome> outcomes = entries.stream().map(BatchEntry::outcome).toList();
+        final long failed = outcomes.stream().filter(outcome -> outcome.status() == InstructionOutcome.Status.FAILED).count();
+        final long elapsed = System.currentTimeMillis() - start;
+        log.info("Batch of {} instructions processed: {} succeeded, {} failed in {}ms",
+                entries.size(), entries.size() - failed, failed, elapsed);
+        return new InstructionBatchResult(entries.size(), entries.size() - failed, failed,
+                sharedStats.getStepMillis(), outcomes, publishJob.report(), elapsed);
+    }
+
+    /**
+     * Resolve reference data once per distinct lookup key; Murex configs are shared by the whole batch
+     */
+    private void resolveReferenceData(List<BatchEntry> entries, InstructionRunStats sharedStats) {
+        final MurexBookingConfigMemo murexConfigsByRule = new MurexBookingConfigMemo();
+        final Map<ReferenceKey, ReferenceData> resolved = new HashMap<>();
+        final Map<ReferenceKey, Exception> failures = new HashMap<>();
+
+        for (BatchEntry entry : entries) {
+            final ReferenceKey key = ReferenceKey.of(entry.fingerprint);
+            if (!resolved.containsKey(key) && !failures.containsKey(key)) {
+                try {
+                    resolved.put(key, inboundInstructionProcessingService.fetchReferenceData(entry.request, sharedStats, murexConfigsByRule));
+                } catch (Exception e) {
+                    log.error("Reference data lookup failed for {}: {}", key, e.getMessage(), e);
+                    failures.put(key, e);
+                }
+            }
+            if (failures.containsKey(key)) {
+                entry.fail(failures.get(key));
+            } else {
+                entry.referenceData = resolved.get(key);
+            }
+        }
+    }
+
+    /**
+     * One aggregated fetch per (business date, currency, instrument type) over the union of the contracts
+     * of its instructions; every row is handed to each instruction naming its contract
+     */
+    private void fetchRows(List<BatchEntry> entries, InstructionRunStats sharedStats) {
+        final Map<FetchKey, List<BatchEntry>> entriesByFetch = new LinkedHashMap<>();
+        entries.stream()
+                .filter(BatchEntry::pending)
+                .forEach(entry -> entriesByFetch.computeIfAbsent(FetchKey.of(entry.request), key -> new ArrayList<>()).add(entry));
+
+        entriesByFetch.forEach((key, group) -> {
+            final Map<String, List<BatchEntry>> entriesByContract = new HashMap<>();
+            group.forEach(entry -> entry.fingerprint.externalTradeIds()
+                    .forEach(contract -> entriesByContract.computeIfAbsent(contract, c -> new ArrayList<>()).add(entry)));
+            final Set<String> contracts = new LinkedHashSet<>(entriesByContract.keySet());
+
+            final List<AggregatedDataResponse> rows;
+            try {
+                rows = sharedStats.time(InstructionStep.FETCH, () -> tradeDataHandlerService.fetchData(
+                        key.businessDate(), String.join(":", contracts), key.hedgeInstrumentType(), key.currency()));
+            } catch (Exception e) {
+                log.error("Aggregated fetch failed for {} ({} instructions): {}", key, group.size(), e.getMessage(), e);
+                group.forEach(entry -> entry.fail(e));
+                return;
+            }
+            log.info("Fetched {} rows for {} contracts of {} instructions ({})", rows.size(), contracts.size(), group.size(), key);
+
+            group.forEach(entry -> entry.rows = new ArrayList<>());
+            for (AggregatedDataResponse row : rows) {
+                entriesByContract.getOrDefault(row.getContract(), List.of()).forEach(entry -> entry.rows.add(row));
+            }
+        });
+    }
+
+    private void transform(BatchEntry entry) {
+        try {
+            entry.result = inboundInstructionProcessingService.transformRows(entry.request, entry.rows, entry.referenceData, entry.stats);
+            entry.stats.addTrades(entry.result.getAllMurexBookings().size());
+        } catch (Exception e) {
+            log.error("Instruction {} of batch ({}) failed: {}", entry.index, entry.request.getInstructionEvent(), e.getMessage(), e);
+            entry.fail(e);
+        }
+    }
+
+    /**
+     * Insert the DMC rows of every transformed instruction as one batch; if that fails, insert them
+     * instruction by instruction so that one instruction's bad rows do not fail the others
+     */
+    private void persistDmcRows(List<BatchEntry> entries, InstructionRunStats sharedStats) {
+        final List<BatchEntry> transformed = entries.stream().filter(BatchEntry::pending).toList();
+        final List<StgMrxExtDmcDto> dmcRows = transformed.stream()
+                .flatMap(entry -> entry.result.getAllStgMrxExtDmcs().stream())
+                .toList();
+        if (dmcRows.isEmpty()) {
+            return;
+        }
+        try {
+            sharedStats.time(InstructionStep.PERSIST, () -> {
+                tradeDataHandlerService.insertStgMrxExtDmcRecordsToDatabase(dmcRows);
+                return null;
+            });
+            transformed.forEach(entry -> entry.stats.addDmcRows(entry.result.getAllStgMrxExtDmcs().size()));
+            return;
+        } catch (Exception e) {
+            log.warn("Combined insert of {} DMC rows failed, falling back to per-instruction inserts: {}", dmcRows.size(), e.getMessage(), e);
+        }
+
+        for (BatchEntry entry : transformed) {
+            try {
+                entry.stats.time(InstructionStep.PERSIST, () -> {
+                    tradeDataHandlerService.insertStgMrxExtDmcRecordsToDatabase(entry.result.getAllStgMrxExtDmcs());
+                    return null;
+                });
+                entry.stats.addDmcRows(entry.result.getAllStgMrxExtDmcs().size());
+            } catch (Exception e) {
+                log.error("DMC insert failed for instruction {} of batch ({}): {}", entry.index, entry.request.getInstructionEvent(), e.getMessage(), e);
+                entry.fail(e);
+            }
+        }
+    }
+
+    /**
+     * Reference data lookup key: currency configs depend on the currency, business event rules on all four fields
+     */
+    private record ReferenceKey(String currency, String instructionEvent, String hedgeMethod, String hedgeInstrumentType) {
+
+        static ReferenceKey of(InstructionFingerprint fingerprint) {
+            return new ReferenceKey(fingerprint.currency(), fingerprint.instructionEvent(),
+                    fingerprint.hedgeMethod(), fingerprint.hedgeInstrumentType());
+        }
+    }
+
+    /**
+     * Aggregated fetch key: everything the query binds except the contract list, as the instruction sent
+     * it, so that the query sees the same values as for an instruction processed on its own
+     */
+    private record FetchKey(String businessDate, String currency, String hedgeInstrumentType) {
+
+        static FetchKey of(InstructionRequestDto request) {
+            return new FetchKey(request.getBusinessDate(), request.getCurrency(), request.getHedgeInstrumentType());
+        }
+    }
+
+    /**
+     * State of one instruction while the batch is processed
+     */
+    private static final class BatchEntry {
+
+        private final int index;
+        private final InstructionRequestDto request;
+        private final InstructionFingerprint fingerprint;
+        private final InstructionRunStats stats = new InstructionRunStats();
+        private ReferenceData referenceData;
+        private List<AggregatedDataResponse> rows;
+        private RecordProcessingResult result;
+        private String failure;
+
+        private BatchEntry(int index, InstructionRequestDto request) {
+            this.index = index;
+            this.request = request;
+            this.fingerprint = InstructionFingerprint.of(request);
+        }
+
+        /**
+         * Whether the instruction has not failed so far
+         */
+        private boolean pending() {
+            return Objects.isNull(failure);
+        }
+
+        private void fail(Exception e) {
+            failure = ExceptionUtils.getRootCauseMessage(e);
+        }
+
+        private InstructionOutcome outcome() {
+            return new InstructionOutcome(index, request.getInstructionEvent(),
+                    pending() ? InstructionOutcome.Status.SUCCEEDED : InstructionOutcome.Status.FAILED,
+                    stats.getStepMillis(), stats.getGroups(), pending() ? stats.getTrades() : 0L, stats.getDmcRows(), failure);
+        }
+    }
+}
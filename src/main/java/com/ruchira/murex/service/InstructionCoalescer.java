@@ -0,0 +1,156 @@
+package com.ruchira.murex.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ruchira.murex.config.CoalescingConfig;
+import com.ruchira.murex.dto.InstructionRequestDto;
+import com.ruchira.murex.model.InstructionFingerprint;
+import com.ruchira.murex.model.InstructionRunStats;
+import com.ruchira.murex.pipeline.PublishReport;
+import com.ruchira.murex.pipeline.PublishStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Single-flight execution of instructions keyed by {@link InstructionFingerprint}.
+ * <p>
+ * The first caller of a fingerprint runs the instruction; callers arriving while it runs wait for it
+ * and receive the same result or failure. A successful result is kept for
+ * {@code app.coalescing.completed-window}, so client retries within that window return it (with the
+ * current progress of its publish job) instead of fetching and booking the trades again. Failures
+ * are not kept: the next caller runs the instruction anew.
+ * <p>
+ * Every result carries the stats of the execution that produced it, so a request served by another
+ * execution can report what that execution did.
+ */
+@Component
+@Slf4j
+public class InstructionCoalescer {
+
+    private final CoalescingConfig config;
+    private final PublishStage publishStage;
+    private final ConcurrentMap<InstructionFingerprint, CompletableFuture<Execution>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<InstructionFingerprint, Execution> completed;
+    private final Counter attachedCounter;
+    private final Counter reusedCounter;
+
+    public InstructionCoalescer(CoalescingConfig config, PublishStage publishStage, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.publishStage = publishStage;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(config.getMaxCompleted())
+                .expireAfterWrite(config.getCompletedWindow())
+                .build();
+        this.attachedCounter = Counter.builder("instruction.coalesced")
+                .tag("outcome", "attached")
+                .description("Instruction requests served by an identical running instruction")
+                .register(meterRegistry);
+        this.reusedCounter = Counter.builder("instruction.coalesced")
+                .tag("outcome", "reused")
+                .description("Instruction requests served by an identical recently completed instruction")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the instruction unless an identical one is running or recently succeeded
+     *
+     * @param instructionRequestDto request identifying the instruction
+     * @param execution             processes the instruction
+     * @return report of the publish job of whichever execution served the request
+     * @throws Exception the failure of the execution served the request
+     */
+    public PublishReport execute(InstructionRequestDto instructionRequestDto, Callable<PublishReport> execution) throws Exception {
+        return execute(instructionRequestDto, new InstructionRunStats(), execution).publishReport();
+    }
+
+    /**
+     * Run the instruction unless an identical one is running or recently succeeded
+     *
+     * @param instructionRequestDto request identifying the instruction
+     * @param stats                 the stats {@code execution} records into
+     * @param execution             processes the instruction
+     * @return report and stats of whichever execution served the request
+     * @throws Exception the failure of the execution served the request
+     */
+    public Execution execute(InstructionRequestDto instructionRequestDto,
+                             InstructionRunStats stats,
+                             Callable<PublishReport> execution) throws Exception {
+        if (!config.isEnabled()) {
+            return new Execution(execution.call(), stats, false);
+        }
+        final InstructionFingerprint fingerprint = InstructionFingerprint.of(instructionRequestDto);
+
+        Execution recent = completed.getIfPresent(fingerprint);
+        if (Objects.nonNull(recent)) {
+            return reuse(fingerprint, recent);
+        }
+
+        final CompletableFuture<Execution> flight = new CompletableFuture<>();
+        final CompletableFuture<Execution> running = inFlight.putIfAbsent(fingerprint, flight);
+        if (Objects.nonNull(running)) {
+            log.info("Attaching to running instruction {}", fingerprint);
+            attachedCounter.increment();
+            return await(running).shared();
+        }
+
+        try {
+            // an identical execution may have completed between the lookup and becoming the leader
+            recent = completed.getIfPresent(fingerprint);
+            Execution result;
+            if (Objects.nonNull(recent)) {
+                result = reuse(fingerprint, recent);
+            } else {
+                result = new Execution(execution.call(), stats, false);
+                completed.put(fingerprint, result);
+            }
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // followers must never be left waiting, whatever the leader failed with
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(fingerprint, flight);
+        }
+    }
+
+    private Execution reuse(InstructionFingerprint fingerprint, Execution execution) {
+        log.info("Returning result of recently completed instruction {}", fingerprint);
+        reusedCounter.increment();
+        PublishReport current = publishStage.report(execution.publishReport().jobId()).orElse(execution.publishReport());
+        return new Execution(current, execution.stats(), true);
+    }
+
+    private static Execution await(CompletableFuture<Execution> running) throws Exception {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Outcome of the execution that served a request
+     *
+     * @param stats     timings and counts recorded by that execution
+     * @param coalesced whether the request was served by another, identical execution
+     */
+    public record Execution(PublishReport publishReport, InstructionRunStats stats, boolean coalesced) {
+
+        private Execution shared() {
+            return new Execution(publishReport, stats, true);
+        }
+    }
+}
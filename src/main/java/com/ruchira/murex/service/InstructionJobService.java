@@ -0,0 +1,168 @@
+package com.ruchira.murex.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ruchira.murex.config.CoalescingConfig;
+import com.ruchira.murex.config.InstructionJobConfig;
+import com.ruchira.murex.dto.InstructionRequestDto;
+import com.ruchira.murex.exception.InstructionJobRejectedException;
+import com.ruchira.murex.model.InstructionFingerprint;
+import com.ruchira.murex.model.InstructionJob;
+import com.ruchira.murex.model.InstructionJobStatus;
+import com.ruchira.murex.pipeline.PublishReport;
+import com.ruchira.murex.pipeline.PublishStage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs submitted instructions in the background so that the request returns with a job id at once.
+ * <p>
+ * Instructions run on {@code app.instruction-jobs.workers} virtual threads and wait in a queue of
+ * {@code app.instruction-jobs.queue-capacity}; a submission that finds the queue full is rejected.
+ * Each job records its step timings and counts while running and is retained for
+ * {@code app.instruction-jobs.retention} after submission.
+ * <p>
+ * Submitting an instruction identical to a queued or running job, or to one that succeeded within
+ * {@code app.coalescing.completed-window}, returns that job instead of queueing another; identical
+ * instructions arriving through other entry points are coalesced by {@link InstructionCoalescer}.
+ */
+@Service
+@Slf4j
+public class InstructionJobService {
+
+    private final InboundInstructionProcessingService inboundInstructionProcessingService;
+    private final PublishStage publishStage;
+    private final InstructionCoalescer instructionCoalescer;
+    private final CoalescingConfig coalescingConfig;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, InstructionJob> jobs;
+    private final Cache<InstructionFingerprint, InstructionJob> jobsByFingerprint;
+
+    public InstructionJobService(InboundInstructionProcessingService inboundInstructionProcessingService,
+                                 PublishStage publishStage,
+                                 InstructionCoalescer instructionCoalescer,
+                                 InstructionJobConfig config,
+                                 CoalescingConfig coalescingConfig,
+                                 MeterRegistry meterRegistry) {
+        this.inboundInstructionProcessingService = inboundInstructionProcessingService;
+        this.publishStage = publishStage;
+        this.instructionCoalescer = instructionCoalescer;
+        this.coalescingConfig = coalescingConfig;
+        int workers = Math.max(1, config.getWorkers());
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                Thread.ofVirtual().name("instruction-job-", 0).factory());
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(config.getMaxRetainedJobs())
+                .expireAfterWrite(config.getRetention())
+                .build();
+        this.jobsByFingerprint = Caffeine.newBuilder()
+                .maximumSize(config.getMaxRetainedJobs())
+                .expireAfterWrite(config.getRetention())
+                .build();
+
+        Gauge.builder("instruction.jobs.queued", executor, pool -> pool.getQueue().size())
+                .description("Submitted instructions waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("instruction.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Submitted instructions currently being processed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue the instruction for processing, unless an identical job can serve it
+     *
+     * @return status of the queued job, or of the identical job serving the request
+     * @throws InstructionJobRejectedException if the queue is full
+     */
+    public InstructionJobStatus submit(InstructionRequestDto instructionRequestDto) {
+        if (!coalescingConfig.isEnabled()) {
+            return enqueue(new InstructionJob(instructionRequestDto)).toStatus(null);
+        }
+        InstructionFingerprint fingerprint = InstructionFingerprint.of(instructionRequestDto);
+        InstructionJob[] queued = new InstructionJob[1];
+        InstructionJob job = jobsByFingerprint.asMap().compute(fingerprint, (key, existing) -> {
+            if (Objects.nonNull(existing) && canServe(existing)) {
+                return existing;
+            }
+            queued[0] = enqueue(new InstructionJob(instructionRequestDto));
+            return queued[0];
+        });
+        if (job != queued[0]) {
+            log.info("Instruction {} served by existing job {}", fingerprint, job.getId());
+        }
+        return job.toStatus(publishReportOf(job));
+    }
+
+    /**
+     * Current status of a job, if it is still retained
+     */
+    public Optional<InstructionJobStatus> status(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .map(job -> job.toStatus(publishReportOf(job)));
+    }
+
+    private InstructionJob enqueue(InstructionJob job) {
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            throw new InstructionJobRejectedException(
+                    String.format("Instruction queue is full; %s not accepted", job.getRequest().getInstructionEvent()), e);
+        }
+        log.info("Queued instruction job {} for event {}", job.getId(), job.getRequest().getInstructionEvent());
+        return job;
+    }
+
+    /**
+     * Whether an identical earlier job still stands for a new submission: it has not finished yet, or it
+     * succeeded within the completed-result window
+     */
+    private boolean canServe(InstructionJob job) {
+        return switch (job.getStatus()) {
+            case QUEUED, RUNNING -> true;
+            case SUCCEEDED -> Duration.between(job.getFinishedAt(), Instant.now()).compareTo(coalescingConfig.getCompletedWindow()) <= 0;
+            case FAILED -> false;
+        };
+    }
+
+    private void run(InstructionJob job) {
+        job.started();
+        try {
+            InstructionCoalescer.Execution execution = instructionCoalescer.execute(job.getRequest(), job.getStats(),
+                    () -> inboundInstructionProcessingService.processInstruction(job.getRequest(), job.getStats()));
+            if (execution.coalesced()) {
+                log.info("Instruction job {} served by publish job {} of an identical execution", job.getId(), execution.publishReport().jobId());
+                job.coalesced(execution.publishReport().jobId(), execution.stats());
+            } else {
+                job.succeeded(execution.publishReport().jobId());
+            }
+        } catch (Exception e) {
+            log.error("Instruction job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.failed(ExceptionUtils.getRootCauseMessage(e));
+        }
+    }
+
+    private PublishReport publishReportOf(InstructionJob job) {
+        return Objects.isNull(job.getPublishJobId()) ? null : publishStage.report(job.getPublishJobId()).orElse(null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
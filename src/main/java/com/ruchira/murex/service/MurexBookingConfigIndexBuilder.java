@@ -0,0 +1,143 @@
+package com.ruchira.murex.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ruchira.murex.model.MurexBookingConfig;
+import com.ruchira.murex.model.MurexBookingConfigIndex;
+import com.ruchira.murex.parser.JsonParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.ruchira.murex.constant.Constants.*;
+
+/**
+ * Builds the typology index of the Murex booking configs of a rule
+ * <p>
+ * Filtering Strategy:
+ * - FX Spot/Swap: ONLY matches single-element arrays where the sole referenceTrade equals typology
+ * - NDF: Matches both single-element NDF arrays AND multi-element arrays containing NDF
+ * <p>
+ * This prevents NDF multi-element configs from being incorrectly matched for FX Spot/Swap processing
+ * <p>
+ * Transformation Array Examples:
+ * FX Spot Config:     [{"referenceTrade": "FX Spot", ...}] → Matches ONLY FX Spot typology
+ * FX Swap Config:     [{"referenceTrade": "FX Swap", ...}] → Matches ONLY FX Swap typology
+ * NDF Single Config:  [{"referenceTrade": "NDF", ...}] → Matches ONLY NDF typology
+ * NDF Multi Config:   [{"referenceTrade": "FX Spot", ...}, {"referenceTrade": "NDF", ...}] → Matches ONLY NDF typology
+ * <p>
+ * Any other typology falls back to single-element exact matching, so every referenceTrade of a
+ * single-element config is indexed as well.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MurexBookingConfigIndexBuilder {
+
+    private final JsonParser jsonParser;
+
+    /**
+     * Index the given configs by every typology they can match
+     *
+     * @param ruleId       instruction event rule id the configs belong to
+     * @param murexConfigs configs linked to the rule
+     * @return typology index over the configs
+     */
+    public MurexBookingConfigIndex build(String ruleId, List<MurexBookingConfig> murexConfigs) {
+        Map<MurexBookingConfig, List<JsonNode>> parsedConfigs = new IdentityHashMap<>();
+        Set<String> typologies = new LinkedHashSet<>(List.of(FX_SPOT_TYPOLOGY, FX_SWAP_TYPOLOGY, FX_NDF_TYPOLOGY));
+
+        for (MurexBookingConfig config : murexConfigs) {
+            try {
+                List<JsonNode> transformations = jsonParser.parseTransformations(config.getTransformations());
+                parsedConfigs.put(config, transformations);
+                if (transformations.size() == 1 && transformations.getFirst().has(REFERENCE_TRADE_FIELD)) {
+                    typologies.add(transformations.getFirst().get(REFERENCE_TRADE_FIELD).asText());
+                }
+            } catch (Exception e) {
+                log.error("Error parsing transformations for MurexBookConfig ID {} : ", config.getId(), e);
+            }
+        }
+
+        Map<String, List<MurexBookingConfig>> configsByTypology = new HashMap<>();
+        for (String typology : typologies) {
+            List<MurexBookingConfig> filteredConfigs = new ArrayList<>();
+            for (MurexBookingConfig config : murexConfigs) {
+                List<JsonNode> transformations = parsedConfigs.get(config);
+                if (transformations != null && shouldIncludeConfig(transformations, typology)) {
+                    filteredConfigs.add(config);
+                }
+            }
+            configsByTypology.put(typology, List.copyOf(filteredConfigs));
+        }
+
+        log.info("Indexed {} Murex booking configs of rule {} across typologies {}", murexConfigs.size(), ruleId, typologies);
+        return new MurexBookingConfigIndex(ruleId, murexConfigs, configsByTypology);
+    }
+
+    /**
+     * Determine if a MurexBookConfig should be included for the given typology using strict filtering rules.
+     *
+     * @param transformations parsed transformations of the config
+     * @param typology        The typology to match against
+     * @return true if config should be included, false otherwise
+     */
+    private boolean shouldIncludeConfig(List<JsonNode> transformations, String typology) {
+        if (transformations.isEmpty()) {
+            return false;
+        }
+
+        // Apply different filtering logic based on typology
+        if (FX_NDF_TYPOLOGY.equals(typology)) {
+            // NDF: Flexible matching - single NDF OR multi-element containing NDF
+            return isNdfCompatibleConfig(transformations);
+        }
+
+        // FX Spot/Swap and future typologies: STRICT matching - only single-element arrays with exact match
+        return isSingleElementExactMatch(transformations, typology);
+    }
+
+    /**
+     * Check if transformations array is single-element with exact referenceTrade match.
+     * Used for FX Spot, FX Swap, and other single-element typologies.
+     */
+    private boolean isSingleElementExactMatch(List<JsonNode> transformations, String typology) {
+        // Must be exactly 1 transformation
+        if (transformations.size() != 1) {
+            return false;
+        }
+
+        JsonNode transformation = transformations.getFirst();
+        if (transformation.has(REFERENCE_TRADE_FIELD)) {
+            String referenceTrade = transformation.get(REFERENCE_TRADE_FIELD).asText();
+            return typology.equals(referenceTrade);
+        }
+
+        return false;
+    }
+
+    /**
+     * Check if transformations array is compatible with NDF processing.
+     * Accepts both single NDF elements and multi-element arrays containing NDF.
+     */
+    private boolean isNdfCompatibleConfig(List<JsonNode> transformations) {
+        // Check if any transformation contains "NDF" referenceTrade
+        for (JsonNode transformation : transformations) {
+            if (transformation.has(REFERENCE_TRADE_FIELD)) {
+                String referenceTrade = transformation.get(REFERENCE_TRADE_FIELD).asText();
+                if (FX_NDF_TYPOLOGY.contains(referenceTrade)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
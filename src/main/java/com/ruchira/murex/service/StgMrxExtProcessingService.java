@@ -3,6 +3,7 @@ package com.ruchira.murex.service;
 
 import com.ruchira.murex.mapper.DynamicMapper;
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
+import com.ruchira.murex.model.AggregatedDataResponse;
 import com.ruchira.murex.model.TransformedMurexTrade;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -39,23 +40,52 @@ public class StgMrxExtProcessingService {
 
     ) {
 
-        final List<StgMrxExtDmcDto> stgMrxExtDmcs = new ArrayList<>();
+        final List<StgMrxExtDmcDto> stgMrxExtDmcs = new ArrayList<>(transformedMurexTrades.size());
 
         for (TransformedMurexTrade tradeLeg : transformedMurexTrades) {
 
             // Create DMC record from original fetch result
             StgMrxExtDmcDto stgMrxExtDmcDto = dynamicMapper.mapToDmcDto(tradeLeg);
+            stgMrxExtDmcs.add(stampDmcRecord(stgMrxExtDmcDto, murexBookCode, instructionEventRuleId, traceId));
+        }
+        return stgMrxExtDmcs;
+    }
 
-            stgMrxExtDmcDto.setTraceId(traceId);
+    /**
+     * Generate DMC records directly from the fetched source records, for callers that have no
+     * transformed trade legs of their own and would otherwise map each record to one only to
+     * map it again to its DMC row
+     *
+     * @param sourceRecords          The fetched records to process
+     * @param murexBookCode          Murex book code from murex book configurations
+     * @param instructionEventRuleId Rule ID from Instruction Event configurations
+     * @return List of generated DMC records
+     */
+    @Transactional
+    public List<StgMrxExtDmcDto> generateDmcRecordsFromSource(final List<AggregatedDataResponse> sourceRecords,
+                                                              final String murexBookCode,
+                                                              final String instructionEventRuleId,
+                                                              final String traceId) {
+
+        final List<StgMrxExtDmcDto> stgMrxExtDmcs = new ArrayList<>(sourceRecords.size());
+        for (AggregatedDataResponse sourceRecord : sourceRecords) {
+            StgMrxExtDmcDto stgMrxExtDmcDto = dynamicMapper.mapToDmcDto(sourceRecord);
+            stgMrxExtDmcs.add(stampDmcRecord(stgMrxExtDmcDto, murexBookCode, instructionEventRuleId, traceId));
+        }
+        return stgMrxExtDmcs;
+    }
 
-            // Set rule ID from business event configuration
-            stgMrxExtDmcDto.setInstructionRuleId(instructionEventRuleId);
+    private StgMrxExtDmcDto stampDmcRecord(StgMrxExtDmcDto stgMrxExtDmcDto,
+                                           String murexBookCode,
+                                           String instructionEventRuleId,
+                                           String traceId) {
+        stgMrxExtDmcDto.setTraceId(traceId);
 
-            // Set booking code from Murex configuration
-            stgMrxExtDmcDto.setMurexBookCode(murexBookCode);
+        // Set rule ID from business event configuration
+        stgMrxExtDmcDto.setInstructionRuleId(instructionEventRuleId);
 
-            stgMrxExtDmcs.add(stgMrxExtDmcDto);
-        }
-        return stgMrxExtDmcs;
+        // Set booking code from Murex configuration
+        stgMrxExtDmcDto.setMurexBookCode(murexBookCode);
+        return stgMrxExtDmcDto;
     }
 }
\ No newline at end of file
@@ -1,21 +1,29 @@
 package com.ruchira.murex.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ruchira.murex.config.DataFetchConfig;
 import com.ruchira.murex.constant.Constants;
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
 import com.ruchira.murex.freemaker.FtlQueryBuilder;
+import com.ruchira.murex.freemaker.ParameterizedQuery;
 import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.SerializedPayload;
 import com.ruchira.murex.model.AggregatedDataResponse;
 import com.ruchira.murex.model.Currency;
 import com.ruchira.murex.model.GroupedRecord;
 import com.ruchira.murex.model.InstructionEventConfig;
 import com.ruchira.murex.model.MurexBookingConfig;
+import com.ruchira.murex.model.MurexBookingConfigIndex;
+import com.ruchira.murex.exception.BusinessException;
 import com.ruchira.murex.exception.ValidationException;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
 import com.ruchira.murex.model.trade.MurexTrade;
 import com.ruchira.murex.model.trade.MurexTradeLeg;
 import com.ruchira.murex.model.trade.MurexTradeLegComponent;
 import com.ruchira.murex.parser.JsonParser;
 import com.ruchira.murex.repository.GenericJdbcDataRepository;
+import com.ruchira.murex.repository.RowMapperRegistry;
+import com.ruchira.murex.repository.SequenceIdAllocator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -23,13 +31,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.ruchira.murex.constant.Constants.*;
@@ -42,6 +50,10 @@ public class TradeDataHandlerService {
     private final GenericJdbcDataRepository repository;
     private final FtlQueryBuilder ftlQueryBuilder;
     private final JsonParser jsonParser;
+    private final DataFetchConfig dataFetchConfig;
+    private final SequenceIdAllocator idAllocator;
+    private final RowMapperRegistry rowMapperRegistry;
+    private final MurexBookingConfigIndexBuilder murexBookingConfigIndexBuilder;
 
     /**
      * Fetches aggregated data by joining records across four tables,
@@ -62,6 +74,62 @@ public class TradeDataHandlerService {
             final String typology,
             final String currency
     ) {
+        ParameterizedQuery query = buildAggregatedDataQuery(businessDate, externalTradeIds, typology, currency);
+        return repository.fetchData(query, createRowMapper());
+    }
+
+    /**
+     * Streams aggregated data for the given filters and emits each validated {@link GroupedRecord}
+     * as soon as all of its rows have been read.
+     *
+     * <p>The query orders rows by the grouping key, so a group is complete once the key changes.
+     * Only the rows of the group currently being assembled are held in memory, which keeps peak
+     * memory proportional to the group size rather than the result size.</p>
+     *
+     * @param businessDate     The business date used as a filter criterion
+     * @param externalTradeIds Colon-separated string of external trade IDs to filter results
+     * @param typology         Hedge instrument typology
+     * @param currency         The ISO 4217 currency code to restrict results to a specific currency
+     * @param groupConsumer    Callback receiving every validated group in fetch order
+     */
+    public void streamGroupedRecords(
+            final String businessDate,
+            final String externalTradeIds,
+            final String typology,
+            final String currency,
+            final Consumer<GroupedRecord> groupConsumer
+    ) {
+        IncrementalGrouper grouper = new IncrementalGrouper(groupConsumer);
+        streamData(businessDate, externalTradeIds, typology, currency, grouper::accept);
+        grouper.complete();
+    }
+
+    /**
+     * Streams raw aggregated rows for the given filters, ordered by contract, comment_0 and nav_type.
+     *
+     * @param businessDate     The business date used as a filter criterion
+     * @param externalTradeIds Colon-separated string of external trade IDs to filter results
+     * @param typology         Hedge instrument typology
+     * @param currency         The ISO 4217 currency code to restrict results to a specific currency
+     * @param rowConsumer      Callback receiving every row in fetch order
+     */
+    public void streamData(
+            final String businessDate,
+            final String externalTradeIds,
+            final String typology,
+            final String currency,
+            final Consumer<AggregatedDataResponse> rowConsumer
+    ) {
+        ParameterizedQuery query = buildAggregatedDataQuery(businessDate, externalTradeIds, typology, currency);
+        repository.streamData(query, createRowMapper(), dataFetchConfig.getStreamFetchSize(), rowConsumer);
+    }
+
+    private ParameterizedQuery buildAggregatedDataQuery(
+            final String businessDate,
+            final String externalTradeIds,
+            final String typology,
+            final String currency
+    ) {
 
         // Parse the comma-separated external trade IDs
         List<String> tradeIdList = Arrays.stream(externalTradeIds.split(":"))
@@ -77,8 +145,7 @@ public class TradeDataHandlerService {
                 "USDCurrency", Constants.FUNCTIONAL_CURRENCY_USD,
                 "tradingPortf", TRADING_PORTFOLIO_SG_BANK_SFX
         );
-        String sql = ftlQueryBuilder.buildQuery(inputs, "aggregatedDataFetch.ftl");
-        return repository.fetchData(sql, createRowMapper());
+        return ftlQueryBuilder.buildParameterizedQuery(inputs, AGGREGATED_DATA_FETCH_FTL_FILE);
     }
 
     /**
@@ -92,6 +159,8 @@ public class TradeDataHandlerService {
      * @param currencyType          CurrencyType (Restricted/Non-Restricted)
      * @return List of {@link InstructionEventConfig} matching the criteria
      */
+    @Cacheable(value = BUSINESS_EVENT_RULE_CACHE,
+            key = "T(java.lang.String).join('|', #instructionEvent, #hedgeMethod, #hedgingInstrumentType, #currencyType)")
     public List<InstructionEventConfig> fetchBusinessEventRules(
             final String instructionEvent,
             final String hedgeMethod,
@@ -106,9 +175,9 @@ public class TradeDataHandlerService {
                 "status", 1
         );
 
-        String sql = ftlQueryBuilder.buildQuery(inputs, FETCH_BUSINESS_EVENT_RULE_FTL_FILE);
+        ParameterizedQuery query = ftlQueryBuilder.buildParameterizedQuery(inputs, FETCH_BUSINESS_EVENT_RULE_FTL_FILE);
 
-        List<InstructionEventConfig> rules = repository.fetchData(sql, createBusinessEventConfigRowMapper());
+        List<InstructionEventConfig> rules = repository.fetchData(query, createBusinessEventConfigRowMapper());
 
         // Validation: Should have exactly 2 rules (COI and RE)
         if (rules.size() != 2) {
@@ -121,22 +190,30 @@ public class TradeDataHandlerService {
     }
 
     /**
-     * Fetches murex book configurations based on comma-separated IDs
+     * Fetches murex book configurations of the given rule, indexed by typology.
+     * The index is cached with the configs, so invalidating the cache entry invalidates both.
      *
      * @param ruleId instruction event rule id
-     * @return List of {@link MurexBookingConfig} objects
+     * @return {@link MurexBookingConfigIndex} over the rule's {@link MurexBookingConfig} objects
      */
-    @Cacheable(value = "murexConfigs", key = "#ruleId")
-    public List<MurexBookingConfig> fetchMurexBookConfigs(String ruleId) {
-        String sql = ftlQueryBuilder.buildQuery(Map.of("ruleId", ruleId), FETCH_MUREX_BOOK_CODES_FTL_FILE);
-        return repository.fetchData(sql, createMurexBookConfigRowMapper());
+    @Cacheable(value = MUREX_CONFIG_CACHE, key = "#ruleId")
+    public MurexBookingConfigIndex fetchMurexBookConfigs(String ruleId) {
+        ParameterizedQuery query = ftlQueryBuilder.buildParameterizedQuery(Map.of("ruleId", ruleId), FETCH_MUREX_BOOK_CODES_FTL_FILE);
+        return murexBookingConfigIndexBuilder.build(ruleId, repository.fetchData(query, createMurexBookConfigRowMapper()));
     }
 
+    /**
+     * Fetches the active currency configurations belonging to the given functional currency family
+     *
+     * @param currency functional currency (e.g. HKD)
+     * @return List of {@link Currency} objects
+     */
+    @Cacheable(value = CURRENCY_CONFIG_CACHE, key = "#currency")
     public List<Currency> fetchCurrencyConfigs(final String currency) {
 
         final Map<String, Object> inputs = Map.of("currency", currency, "isActive", 1);
-        final String sql = ftlQueryBuilder.buildQuery(inputs, FETCH_CURRENCY_CONFIG_FTL_FILE);
-        return repository.fetchData(sql, createCurrencyRowMapper());
+        final ParameterizedQuery query = ftlQueryBuilder.buildParameterizedQuery(inputs, FETCH_CURRENCY_CONFIG_FTL_FILE);
+        return repository.fetchData(query, createCurrencyRowMapper());
     }
 
     @Transactional
@@ -149,7 +226,7 @@ public class TradeDataHandlerService {
      * Inserts a MurexTrade into the database including near/far legs and their components.
      *
      * <p>For each trade:
-     * - Inserts the main trade and retrieves tradeId.
+     * - Assigns the trade id and inserts the main trade.
      * - Inserts the NearLeg (if present) and its components.
      * - Inserts the FarLeg (if present) and its components.
      * </p>
@@ -165,65 +242,154 @@ public class TradeDataHandlerService {
             final MurexTrade murexTrade,
             final HAWKMurexBookingRecord murexBookingRecord
     ) {
+        publishMurexBookingToDatabase(new MurexBookingEntry(murexTrade, murexBookingRecord));
+    }
 
-        final String tradeRef = murexTrade.getTradeReference();
-        try {
-
-            // 1. Insert Main trade
-            Long tradeId = insertMainTrade(murexTrade, murexBookingRecord);
-            log.info("Inserted main trade {} with ID {}", tradeRef, tradeId);
-
-            insertTradeLegIfPresent(murexTrade.getNearLeg(), tradeId, NEAR_LEG_TYPE, tradeRef);
-            insertTradeLegIfPresent(murexTrade.getFarLeg(), tradeId, FAR_LEG_TYPE, tradeRef);
+    /**
+     * Same as {@link #publishMurexBookingToDatabase(MurexTrade, HAWKMurexBookingRecord)}, storing the
+     * booking's pre-serialized record payload when it has one
+     *
+     * @param booking trade paired with its HAWK booking record
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void publishMurexBookingToDatabase(final MurexBookingEntry booking) {
 
+        final String tradeRef = booking.murexTrade().getTradeReference();
+        try {
+            insertMurexBookings(List.of(booking));
+            log.info("Inserted main trade {}", tradeRef);
         } catch (Exception e) {
             log.error("Failed to insert trade {}: {}", tradeRef, e.getMessage(), e);
         }
     }
 
-    private Long insertMainTrade(
-            final MurexTrade trade,
-            final HAWKMurexBookingRecord murexBookingRecord
-    ) throws JsonProcessingException {
-        final Map<String, Object> tradeMap = jsonParser.convertValue(trade);
-        final String murexBookingJsonString = jsonParser.serializesToJsonString(murexBookingRecord);
-        tradeMap.put("murexBookingRecord", murexBookingJsonString);
+    /**
+     * Inserts many MurexTrades with their legs and components using one batch per table.
+     *
+     * <p>Primary keys are assigned by the application through {@link SequenceIdAllocator}, so parent ids
+     * are known before any row is written and no generated-key round trip is needed. All rows are written
+     * in a single transaction; any failure rolls back the whole batch and is rethrown.</p>
+     *
+     * @param bookings trades paired with their HAWK booking records
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void publishMurexBookingsToDatabase(final List<MurexBookingEntry> bookings) {
+        if (CollectionUtils.isEmpty(bookings)) {
+            return;
+        }
+        insertMurexBookings(bookings);
+        log.info("Inserted {} trades in bulk", bookings.size());
+    }
 
-        final String sql = ftlQueryBuilder.buildQuery(Map.of(), INSERT_DATA_TO_MUREX_BOOKING_FTL_FILE);
-        return repository.insertAndReturnId(sql, tradeMap, "id");
+    /**
+     * Sets the status of every booking with one of the given trade references using a single statement
+     *
+     * @param tradeReferences trade references of the bookings to update
+     * @param bookingStatus   new booking status
+     * @return number of updated booking rows
+     */
+    @Transactional
+    public int updateMurexBookingStatus(final Collection<String> tradeReferences, final String bookingStatus) {
+        return updateMurexBookingStatus(tradeReferences, bookingStatus, null);
     }
 
-    private void insertTradeLegIfPresent(MurexTradeLeg leg, Long tradeId, String legType, String tradeRef) {
-        if (leg == null) return;
+    /**
+     * Same as {@link #updateMurexBookingStatus(Collection, String)}, only updating bookings that are still in
+     * the given status, so that a later status set concurrently is not overwritten
+     *
+     * @param currentStatus status the bookings must have to be updated; null to update them whatever their status
+     */
+    @Transactional
+    public int updateMurexBookingStatus(final Collection<String> tradeReferences,
+                                        final String bookingStatus,
+                                        final String currentStatus) {
+        if (CollectionUtils.isEmpty(tradeReferences)) {
+            return 0;
+        }
+        final Map<String, Object> inputs = new HashMap<>();
+        inputs.put("bookingStatus", bookingStatus);
+        inputs.put("tradeReferences", List.copyOf(tradeReferences));
+        if (Objects.nonNull(currentStatus)) {
+            inputs.put("currentStatus", currentStatus);
+        }
+        final ParameterizedQuery query = ftlQueryBuilder.buildParameterizedQuery(inputs, UPDATE_MUREX_BOOKING_STATUS_FTL_FILE);
+        return repository.executeUpdate(query);
+    }
 
-        try {
-            // Convert leg and additional fields
-            final Map<String, Object> legMap = jsonParser.convertValue(leg);
+    private void insertMurexBookings(final List<MurexBookingEntry> bookings) {
+        final List<Map<String, Object>> tradeRows = new ArrayList<>(bookings.size());
+        final List<Map<String, Object>> legRows = new ArrayList<>();
+        final List<Map<String, Object>> componentRows = new ArrayList<>();
+
+        for (MurexBookingEntry booking : bookings) {
+            final MurexTrade trade = booking.murexTrade();
+            final Long tradeId = idAllocator.nextId(MUREX_BOOKING_SEQUENCE);
+            tradeRows.add(toTradeRow(booking, tradeId));
 
-            final Map<String, Object> additionalFieldsMap = jsonParser.convertValue(leg.getAdditionalFields());
-            legMap.putAll(additionalFieldsMap);
-            legMap.put("legType", legType);
-            legMap.put("tradeId", tradeId);
+            addTradeLegRows(trade.getNearLeg(), tradeId, NEAR_LEG_TYPE, legRows, componentRows);
+            addTradeLegRows(trade.getFarLeg(), tradeId, FAR_LEG_TYPE, legRows, componentRows);
+        }
 
-            // Insert leg and get generated leg ID
-            final String murexSql = ftlQueryBuilder.buildQuery(Map.of(), INSERT_DATA_TO_MUREX_BOOK_TRADE_LEG_FTL_FILE);
-            Long tradeLegId = repository.insertAndReturnId(murexSql, legMap, "id");
+        // parents first so foreign keys resolve
+        repository.executeBatch(ftlQueryBuilder.buildQuery(Map.of(), INSERT_DATA_TO_MUREX_BOOKING_FTL_FILE), tradeRows);
+        if (!legRows.isEmpty()) {
+            repository.executeBatch(ftlQueryBuilder.buildQuery(Map.of(), INSERT_DATA_TO_MUREX_BOOK_TRADE_LEG_FTL_FILE), legRows);
+        }
+        if (!componentRows.isEmpty()) {
+            repository.executeBatch(ftlQueryBuilder.buildQuery(Map.of(), INSERT_DATA_TO_MUREX_BOOK_TRADE_LEG_COMPONENTS_FTL_FILE), componentRows);
+        }
+    }
 
-            log.info("Inserted {} leg for trade {} with leg ID {}", legType, tradeRef, tradeLegId);
+    private Map<String, Object> toTradeRow(
+            final MurexBookingEntry booking,
+            final Long tradeId
+    ) {
+        final MurexTrade trade = booking.murexTrade();
+        try {
+            // store the same bytes that are published downstream; serialize only if nobody did yet
+            final SerializedPayload recordPayload = Objects.nonNull(booking.recordPayload())
+                    ? booking.recordPayload()
+                    : jsonParser.serializeToPayload(booking.murexBookingRecord());
+
+            final Map<String, Object> tradeMap = jsonParser.convertValue(trade);
+            tradeMap.put("murexBookingRecord", recordPayload.bytes());
+            // published only once the send succeeds
+            tradeMap.put("bookingStatus", BOOKING_STATUS_STORED);
+            tradeMap.put("id", tradeId);
+            return tradeMap;
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(String.format("Failed to serialize booking record for trade %s", trade.getTradeReference()), e);
+        }
+    }
 
-            // Insert leg components if any
-            List<MurexTradeLegComponent> components = leg.getComponents();
-            if (CollectionUtils.isNotEmpty(components)) {
-                List<Map<String, Object>> componentMaps = jsonParser.convertValue(components);
-                componentMaps.forEach(component -> component.put("tradeLegId", tradeLegId));
+    private void addTradeLegRows(
+            final MurexTradeLeg leg,
+            final Long tradeId,
+            final String legType,
+            final List<Map<String, Object>> legRows,
+            final List<Map<String, Object>> componentRows
+    ) {
+        if (leg == null) return;
 
-                final String componentSql = ftlQueryBuilder.buildQuery(Map.of(), INSERT_DATA_TO_MUREX_BOOK_TRADE_LEG_COMPONENTS_FTL_FILE);
-                repository.executeBatch(componentSql, componentMaps);
-                log.info("Inserted {} components for {} leg of trade {}", components.size(), legType, tradeRef);
-            }
-        } catch (Exception e) {
-            log.error("Failed to insert {} leg for trade {}: {}", legType, tradeRef, e.getMessage(), e);
-            throw e; // Rethrow if you want the main loop to handle or collect failed trades
+        // Convert leg and additional fields
+        final Map<String, Object> legMap = jsonParser.convertValue(leg);
+        final Map<String, Object> additionalFieldsMap = jsonParser.convertValue(leg.getAdditionalFields());
+        legMap.putAll(additionalFieldsMap);
+
+        final Long tradeLegId = idAllocator.nextId(MUREX_TRADE_LEG_SEQUENCE);
+        legMap.put("id", tradeLegId);
+        legMap.put("legType", legType);
+        legMap.put("tradeId", tradeId);
+        legRows.add(legMap);
+
+        List<MurexTradeLegComponent> components = leg.getComponents();
+        if (CollectionUtils.isNotEmpty(components)) {
+            List<Map<String, Object>> componentMaps = jsonParser.convertValue(components);
+            componentMaps.forEach(component -> {
+                component.put("id", idAllocator.nextId(MUREX_TRADE_LEG_COMPONENT_SEQUENCE));
+                component.put("tradeLegId", tradeLegId);
+            });
+            componentRows.addAll(componentMaps);
         }
     }
 
@@ -293,32 +459,78 @@ public class TradeDataHandlerService {
         return new GroupedRecord(externalDealId, comment0, navType, typology, records);
     }
 
+    /**
+     * Incremental counterpart of {@link #performGroupingAndValidation(List)} for rows that arrive
+     * ordered by contract, comment_0 and nav_type.
+     * Rows are buffered until the grouping key changes, at which point the buffered group is
+     * validated and emitted. A key that re-appears after its group was emitted means the rows
+     * were not contiguous and is rejected rather than producing a split group.
+     */
+    public static class IncrementalGrouper {
+        private final Consumer<GroupedRecord> groupConsumer;
+        private final Set<GroupingKey> emittedKeys = new HashSet<>();
+        private GroupingKey currentKey;
+        private List<AggregatedDataResponse> currentRecords = new ArrayList<>();
+
+        public IncrementalGrouper(Consumer<GroupedRecord> groupConsumer) {
+            this.groupConsumer = groupConsumer;
+        }
+
+        public void accept(AggregatedDataResponse record) {
+            GroupingKey key = new GroupingKey(record.getContract(), record.getComment0(), record.getNavType());
+            if (!key.equals(currentKey)) {
+                flush();
+                if (emittedKeys.contains(key)) {
+                    throw new ValidationException(
+                            "Aggregated rows are not ordered by grouping key; group was split across the stream",
+                            key.toString(), record.getTypologyMx3(), 1);
+                }
+                currentKey = key;
+            }
+            currentRecords.add(record);
+        }
+
+        public void complete() {
+            flush();
+        }
+
+        private void flush() {
+            if (currentKey == null || currentRecords.isEmpty()) {
+                return;
+            }
+            List<AggregatedDataResponse> records = currentRecords;
+            currentRecords = new ArrayList<>();
+            emittedKeys.add(currentKey);
+            groupConsumer.accept(getGroupedRecord(records, currentKey, records.getFirst().getTypologyMx3()));
+        }
+    }
+
     /**
      * Row mapper for AggregatedDataResponse objects
      */
     private RowMapper<AggregatedDataResponse> createRowMapper() {
-        return new BeanPropertyRowMapper<>(AggregatedDataResponse.class);
+        return rowMapperRegistry.getRowMapper(AggregatedDataResponse.class);
     }
 
     /**
      * Row mapper for InstructionEventConfig
      */
     private RowMapper<InstructionEventConfig> createBusinessEventConfigRowMapper() {
-        return new BeanPropertyRowMapper<>(InstructionEventConfig.class);
+        return rowMapperRegistry.getRowMapper(InstructionEventConfig.class);
     }
 
     /**
      * Row mapper for MurexBookConfig
      */
     private RowMapper<MurexBookingConfig> createMurexBookConfigRowMapper() {
-        return new BeanPropertyRowMapper<>(MurexBookingConfig.class);
+        return rowMapperRegistry.getRowMapper(MurexBookingConfig.class);
     }
 
     /**
      * Row mapper for Currency
      */
     private RowMapper<Currency> createCurrencyRowMapper() {
-        return new BeanPropertyRowMapper<>(Currency.class);
+        return rowMapperRegistry.getRowMapper(Currency.class);
     }
 
     @Data
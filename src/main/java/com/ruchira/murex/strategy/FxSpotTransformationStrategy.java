@@ -1,15 +1,13 @@
 package com.ruchira.murex.strategy;
 
+import com.ruchira.murex.config.AccessorConfig;
 import com.ruchira.murex.config.TransformationFieldConfig;
 import com.ruchira.murex.mapper.DynamicMapper;
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
 import com.ruchira.murex.exception.TransformationException;
-import com.ruchira.murex.mapper.MurexTradeRecordMapper;
+import com.ruchira.murex.mapper.MurexBookingAssembler;
 import com.ruchira.murex.model.*;
-import com.ruchira.murex.model.trade.MurexTrade;
-import com.ruchira.murex.model.trade.MurexTradeLeg;
-import com.ruchira.murex.model.trade.MurexTradeLegAdditionalFields;
-import com.ruchira.murex.model.trade.MurexTradeLegComponent;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
 import com.ruchira.murex.service.StgMrxExtProcessingService;
 import com.ruchira.murex.parser.DynamicFieldParser;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -31,15 +29,16 @@ public class FxSpotTransformationStrategy extends TransformationStrategy {
 
 
     public FxSpotTransformationStrategy(
-            final MurexTradeRecordMapper murexTradeRecordMapper,
+            final MurexBookingAssembler murexBookingAssembler,
             final DynamicMapper dynamicMapper,
             final DynamicFieldParser fieldMapper,
             final JsonParser jsonParser,
             final TransformationFieldConfig transformationFieldConfig,
-            final StgMrxExtProcessingService stgMrxExtProcessingService
+            final StgMrxExtProcessingService stgMrxExtProcessingService,
+            final AccessorConfig accessorConfig
 
     ) {
-        super(murexTradeRecordMapper, dynamicMapper, fieldMapper, jsonParser, transformationFieldConfig, stgMrxExtProcessingService);
+        super(murexBookingAssembler, dynamicMapper, fieldMapper, jsonParser, transformationFieldConfig, stgMrxExtProcessingService, accessorConfig);
     }
 
     @Override
@@ -53,7 +52,7 @@ public class FxSpotTransformationStrategy extends TransformationStrategy {
         final GroupedRecord groupedRecord = transformationContext.getGroupedRecord();
         validateRecordCount(groupedRecord);
 
-        List<MurexTrade> allMurexTrades = new ArrayList<>();
+        List<MurexBookingEntry> allMurexBookings = new ArrayList<>();
         List<StgMrxExtDmcDto> allStgMrxExtDmcs = new ArrayList<>();
 
         AggregatedDataResponse record = groupedRecord.getRecords().getFirst();
@@ -63,8 +62,8 @@ public class FxSpotTransformationStrategy extends TransformationStrategy {
             // Generate unique trace ID for tracking
             final String traceId = TraceIdGenerator.generateTimestampBasedTraceId();
             try {
-                final List<TransformedMurexTrade> tradeLegInputForDMC = mapAggregatedDataRecordsToTradeLegs(groupedRecord);
-                final List<StgMrxExtDmcDto> stgMrxExtDmcs = generaStgMurexExtDmcRecords(tradeLegInputForDMC, config.getMurexBookCode(), transformationContext.getInstructionEventRuleId(), traceId);
+                final List<StgMrxExtDmcDto> stgMrxExtDmcs = stgMrxExtProcessingService.generateDmcRecordsFromSource(
+                        groupedRecord.getRecords(), config.getMurexBookCode(), transformationContext.getInstructionEventRuleId(), traceId);
                 allStgMrxExtDmcs.addAll(stgMrxExtDmcs);
 
                 final TransformedMurexTrade tradeLeg = createBaseBooking(record, config, traceId);
@@ -73,8 +72,7 @@ public class FxSpotTransformationStrategy extends TransformationStrategy {
                 applyOutputCustomizations(tradeLeg, config);
 
                 TransformedMurexTrade outPutLeg = applyTPSFieldTransformations(tradeLeg, config);
-                final MurexTrade murexTrade = buildMurexTrade(outPutLeg);
-                allMurexTrades.add(murexTrade);
+                allMurexBookings.add(murexBookingAssembler.assemble(outPutLeg));
             } catch (Exception e) {
                 throw new TransformationException(
                         String.format("Failed to transform record for config %s : %s", config.getId(), e.getMessage()),
@@ -84,28 +82,7 @@ public class FxSpotTransformationStrategy extends TransformationStrategy {
             }
         }
 
-        return new RecordProcessingResult(allStgMrxExtDmcs, allMurexTrades);
-    }
-
-    private MurexTrade buildMurexTrade(TransformedMurexTrade trade) {
-        MurexTrade murexTrade = murexTradeRecordMapper.toMurexTrade(trade);
-
-        MurexTradeLeg leg = murexTradeRecordMapper.toMurexTradeLeg(trade);
-        MurexTradeLegComponent component = murexTradeRecordMapper.toMurexTradeLegComponent(trade);
-        MurexTradeLegAdditionalFields additionalFields = murexTradeRecordMapper.toMurexTradeLegAdditionalFields(trade);
-
-        leg.setComponents(List.of(component));
-        leg.setAdditionalFields(additionalFields);
-        murexTrade.setNearLeg(leg);
-
-        return murexTrade;
-    }
-
-    private List<TransformedMurexTrade> mapAggregatedDataRecordsToTradeLegs(GroupedRecord groupedRecord) {
-        return groupedRecord.getRecords()
-                .stream()
-                .map(dynamicMapper::mapToMurexTradeLeg)
-                .toList();
+        return new RecordProcessingResult(allStgMrxExtDmcs, allMurexBookings);
     }
 
     private void validateRecordCount(GroupedRecord groupedRecord) {
@@ -118,16 +95,6 @@ public class FxSpotTransformationStrategy extends TransformationStrategy {
         }
     }
 
-
-    private List<StgMrxExtDmcDto> generaStgMurexExtDmcRecords(
-            final List<TransformedMurexTrade> transformedMurexTrades,
-            final String murexBookCode,
-            final String instructionEventRuleId,
-            final String traceId
-    ) {
-        return stgMrxExtProcessingService.generateDmcRecords(transformedMurexTrades, murexBookCode, instructionEventRuleId, traceId);
-    }
-
     private void validateSpotTransformations(MurexBookingConfig config) {
 
         // Validate FX Swap has exactly one transformation
@@ -146,19 +113,13 @@ public class FxSpotTransformationStrategy extends TransformationStrategy {
     }
 
     private TransformedMurexTrade createBaseBooking(AggregatedDataResponse record, MurexBookingConfig config, final String traceId) {
-        return dynamicMapper.mapToMurexTradeLeg(record, Map.of(FIELD_MUREX_BOOK_CODE, config.getMurexBookCode(), FIELD_TRACE_ID, traceId));
+        return dynamicMapper.mapToMurexTradeLeg(record, BOOKING_LEG_OVERRIDES.bind(config.getMurexBookCode(), traceId));
     }
 
     private void applyTransformations(TransformedMurexTrade booking, MurexBookingConfig config, TransformationContext transformationContext) {
         try {
-            JsonNode transformationsNode = objectMapper.readTree(config.getTransformations());
-
-            if (transformationsNode.isArray()) {
-                for (JsonNode transformation : transformationsNode) {
-                    applyIndividualTransformation(booking, transformation, transformationContext);
-                }
-            } else {
-                applyIndividualTransformation(booking, transformationsNode, transformationContext);
+            for (JsonNode transformation : jsonParser.parseTransformations(config.getTransformations())) {
+                applyIndividualTransformation(booking, transformation, transformationContext);
             }
 
         } catch (Exception e) {
@@ -1,15 +1,13 @@
 package com.ruchira.murex.strategy;
 
+import com.ruchira.murex.config.AccessorConfig;
 import com.ruchira.murex.config.TransformationFieldConfig;
 import com.ruchira.murex.mapper.DynamicMapper;
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
 import com.ruchira.murex.exception.TransformationException;
-import com.ruchira.murex.mapper.MurexTradeRecordMapper;
+import com.ruchira.murex.mapper.MurexBookingAssembler;
 import com.ruchira.murex.model.*;
-import com.ruchira.murex.model.trade.MurexTrade;
-import com.ruchira.murex.model.trade.MurexTradeLeg;
-import com.ruchira.murex.model.trade.MurexTradeLegAdditionalFields;
-import com.ruchira.murex.model.trade.MurexTradeLegComponent;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
 import com.ruchira.murex.service.StgMrxExtProcessingService;
 import com.ruchira.murex.parser.DynamicFieldParser;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -40,14 +38,15 @@ import static com.ruchira.murex.constant.Constants.*;
 public class FxSwapTransformationStrategy extends TransformationStrategy {
 
     public FxSwapTransformationStrategy(
-            final MurexTradeRecordMapper murexTradeRecordMapper,
+            final MurexBookingAssembler murexBookingAssembler,
             final DynamicMapper dynamicMapper,
             final DynamicFieldParser fieldMapper,
             final JsonParser transformationParser,
             final TransformationFieldConfig transformationFieldConfig,
-            final StgMrxExtProcessingService stgMrxExtProcessingService
+            final StgMrxExtProcessingService stgMrxExtProcessingService,
+            final AccessorConfig accessorConfig
     ) {
-        super(murexTradeRecordMapper, dynamicMapper, fieldMapper, transformationParser, transformationFieldConfig, stgMrxExtProcessingService);
+        super(murexBookingAssembler, dynamicMapper, fieldMapper, transformationParser, transformationFieldConfig, stgMrxExtProcessingService, accessorConfig);
     }
 
     @Override
@@ -61,7 +60,7 @@ public class FxSwapTransformationStrategy extends TransformationStrategy {
         final GroupedRecord groupedRecord = transformationContext.getGroupedRecord();
         validateRecordCount(groupedRecord);
 
-        List<MurexTrade> allMurexTrades = new ArrayList<>();
+        List<MurexBookingEntry> allMurexBookings = new ArrayList<>();
         List<StgMrxExtDmcDto> allStgMrxExtDmcs = new ArrayList<>();
 
         // Create base booking from both records
@@ -77,9 +76,7 @@ public class FxSwapTransformationStrategy extends TransformationStrategy {
                 final TransformationResult transformationResult = processSwapTransformations(
                         legResult, config, transformationContext);
 
-                MurexTrade murexTrade = buildMurexTrade(transformationResult.getMurexTradeList());
-
-                allMurexTrades.add(murexTrade);
+                allMurexBookings.add(murexBookingAssembler.assemble(transformationResult.getMurexTradeList()));
                 allStgMrxExtDmcs.addAll(transformationResult.getStgMrxExtDmcs());
 
             } catch (Exception e) {
@@ -91,29 +88,9 @@ public class FxSwapTransformationStrategy extends TransformationStrategy {
             }
         }
 
-        return new RecordProcessingResult(allStgMrxExtDmcs, allMurexTrades);
+        return new RecordProcessingResult(allStgMrxExtDmcs, allMurexBookings);
     }
 
-    private MurexTrade buildMurexTrade(List<TransformedMurexTrade> trades) {
-
-        MurexTrade murexTrade = murexTradeRecordMapper.toMurexTrade(trades.getFirst());
-        trades.forEach(tradeLeg -> {
-
-            final MurexTradeLeg murexTradeLeg = murexTradeRecordMapper.toMurexTradeLeg(tradeLeg);
-            final MurexTradeLegComponent murexTradeLegComponent = murexTradeRecordMapper.toMurexTradeLegComponent(tradeLeg);
-            final MurexTradeLegAdditionalFields murexTradeLegAdditionalFields = murexTradeRecordMapper.toMurexTradeLegAdditionalFields(tradeLeg);
-
-            murexTradeLeg.setComponents(List.of(murexTradeLegComponent));
-            murexTradeLeg.setAdditionalFields(murexTradeLegAdditionalFields);
-
-            if (NEAR_LEG_TYPE.equals(tradeLeg.getLegIdentificationType())) {
-                murexTrade.setNearLeg(murexTradeLeg);
-            } else {
-                murexTrade.setFarLeg(murexTradeLeg);
-            }
-        });
-        return murexTrade;
-    }
 
     private void validateRecordCount(GroupedRecord groupedRecord) {
         if (groupedRecord.getRecords().size() != 2) {
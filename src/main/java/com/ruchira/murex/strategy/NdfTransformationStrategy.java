@@ -1,16 +1,14 @@
 package com.ruchira.murex.strategy;
 
+import com.ruchira.murex.config.AccessorConfig;
 import com.ruchira.murex.config.TransformationFieldConfig;
 import com.ruchira.murex.exception.BusinessException;
 import com.ruchira.murex.mapper.DynamicMapper;
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
 import com.ruchira.murex.exception.TransformationException;
-import com.ruchira.murex.mapper.MurexTradeRecordMapper;
+import com.ruchira.murex.mapper.MurexBookingAssembler;
 import com.ruchira.murex.model.*;
-import com.ruchira.murex.model.trade.MurexTrade;
-import com.ruchira.murex.model.trade.MurexTradeLeg;
-import com.ruchira.murex.model.trade.MurexTradeLegAdditionalFields;
-import com.ruchira.murex.model.trade.MurexTradeLegComponent;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
 import com.ruchira.murex.parser.JsonParser;
 import com.ruchira.murex.service.StgMrxExtProcessingService;
 import com.ruchira.murex.parser.DynamicFieldParser;
@@ -72,13 +70,14 @@ import static com.ruchira.murex.constant.Constants.*;
 public class NdfTransformationStrategy extends TransformationStrategy {
 
     public NdfTransformationStrategy(
-            final MurexTradeRecordMapper murexTradeRecordMapper,
+            final MurexBookingAssembler murexBookingAssembler,
             final DynamicMapper dynamicMapper,
             final DynamicFieldParser fieldMapper,
             final JsonParser transformationParser,
             final TransformationFieldConfig transformationFieldConfig,
-            final StgMrxExtProcessingService stgMrxExtProcessingService) {
-        super(murexTradeRecordMapper, dynamicMapper, fieldMapper, transformationParser, transformationFieldConfig, stgMrxExtProcessingService);
+            final StgMrxExtProcessingService stgMrxExtProcessingService,
+            final AccessorConfig accessorConfig) {
+        super(murexBookingAssembler, dynamicMapper, fieldMapper, transformationParser, transformationFieldConfig, stgMrxExtProcessingService, accessorConfig);
     }
 
     @Override
@@ -98,7 +97,7 @@ public class NdfTransformationStrategy extends TransformationStrategy {
     @Override
     public RecordProcessingResult process(TransformationContext transformationContext) {
 
-        List<MurexTrade> allMurexTrades = new ArrayList<>();
+        List<MurexBookingEntry> allMurexBookings = new ArrayList<>();
         List<StgMrxExtDmcDto> allStgMrxExtDmcs = new ArrayList<>();
 
         for (MurexBookingConfig config : transformationContext.getFilteredMurexConfigs()) {
@@ -107,9 +106,7 @@ public class NdfTransformationStrategy extends TransformationStrategy {
                         config,
                         transformationContext);
 
-                MurexTrade murexTrade = buildMurexTrade(transformationResult.getMurexTradeList());
-
-                allMurexTrades.add(murexTrade);
+                allMurexBookings.add(murexBookingAssembler.assemble(transformationResult.getMurexTradeList()));
                 allStgMrxExtDmcs.addAll(transformationResult.getStgMrxExtDmcs());
             } catch (Exception e) {
                 throw new TransformationException(
@@ -120,29 +117,9 @@ public class NdfTransformationStrategy extends TransformationStrategy {
             }
         }
 
-        return new RecordProcessingResult(allStgMrxExtDmcs, allMurexTrades);
+        return new RecordProcessingResult(allStgMrxExtDmcs, allMurexBookings);
     }
 
-    private MurexTrade buildMurexTrade(List<TransformedMurexTrade> trades) {
-
-        MurexTrade murexTrade = murexTradeRecordMapper.toMurexTrade(trades.getFirst());
-        trades.forEach(tradeLeg -> {
-
-            final MurexTradeLeg murexTradeLeg = murexTradeRecordMapper.toMurexTradeLeg(tradeLeg);
-            final MurexTradeLegComponent murexTradeLegComponent = murexTradeRecordMapper.toMurexTradeLegComponent(tradeLeg);
-            final MurexTradeLegAdditionalFields murexTradeLegAdditionalFields = murexTradeRecordMapper.toMurexTradeLegAdditionalFields(tradeLeg);
-
-            murexTradeLeg.setComponents(List.of(murexTradeLegComponent));
-            murexTradeLeg.setAdditionalFields(murexTradeLegAdditionalFields);
-
-            if (NEAR_LEG_TYPE.equals(tradeLeg.getLegIdentificationType())) {
-                murexTrade.setNearLeg(murexTradeLeg);
-            } else {
-                murexTrade.setFarLeg(murexTradeLeg);
-            }
-        });
-        return murexTrade;
-    }
 
     private List<StgMrxExtDmcDto> generaStgMurexExtDmcRecords(
             final List<TransformedMurexTrade> transformedMurexTrades,
@@ -211,7 +188,7 @@ public class NdfTransformationStrategy extends TransformationStrategy {
     private List<TransformedMurexTrade> createBaseBookings(List<AggregatedDataResponse> records, String murexBookCode, String traceId) {
         List<TransformedMurexTrade> bookings = new ArrayList<>();
         for (AggregatedDataResponse record : records) {
-            TransformedMurexTrade transformedMurexTrade = dynamicMapper.mapToMurexTradeLeg(record, Map.of(FIELD_MUREX_BOOK_CODE, murexBookCode, FIELD_TRACE_ID, traceId));
+            TransformedMurexTrade transformedMurexTrade = dynamicMapper.mapToMurexTradeLeg(record, BOOKING_LEG_OVERRIDES.bind(murexBookCode, traceId));
             bookings.add(transformedMurexTrade);
         }
         return bookings;
@@ -383,8 +360,8 @@ public class NdfTransformationStrategy extends TransformationStrategy {
                 .findFirst()
                 .orElseThrow(() -> new BusinessException("Unable to identify embedded spot leg"));
 
-        // Step 3: Locate matching FX Spot DTO using all available GroupedRecords
-        TransformedMurexTrade fxSpotDTO = locateFxSpotDTO(embeddedSpotLeg, config, transformationContext.getAllGroupedRecords());
+        // Step 3: Locate matching FX Spot DTO using the FX Spot groups of the instruction
+        TransformedMurexTrade fxSpotDTO = locateFxSpotDTO(embeddedSpotLeg, config, transformationContext.getFxSpotGroups());
 
         // Step 4: Apply inter-DTO field overrides
         TransformedMurexTrade modifiedEmbeddedSpotLeg = applyInterDtoFieldOverrides(
@@ -439,21 +416,17 @@ public class NdfTransformationStrategy extends TransformationStrategy {
      *
      * @param embeddedSpotLeg   The NDF embedded spot leg to find a match for
      * @param config            The current MurexBookConfig
-     * @param allGroupedRecords All available GroupedRecords to search through
+     * @param fxSpotGroups    Index of the FX Spot groups of the instruction
      * @return Matching FX Spot MurexBookingDTO or mock DTO if not found
      */
     private TransformedMurexTrade locateFxSpotDTO(TransformedMurexTrade embeddedSpotLeg,
                                                   MurexBookingConfig config,
-                                                  List<GroupedRecord> allGroupedRecords) {
+                                                  FxSpotGroupIndex fxSpotGroups) {
 
         log.info("Locating FX Spot DTO for embedded spot leg: {}", embeddedSpotLeg.getContract());
 
-        GroupedRecord groupedRecord = allGroupedRecords.stream().filter(record ->
-                        record.getTypology().equals(FX_SPOT_TYPOLOGY) &&
-                                record.getNavType().equals(embeddedSpotLeg.getNavType()) &&
-                                record.getComment0().equals(embeddedSpotLeg.getComment0()) &&
-                                !record.getContract().equals(embeddedSpotLeg.getContract())
-                ).findAny()
+        GroupedRecord groupedRecord = Optional.ofNullable(fxSpotGroups).orElse(FxSpotGroupIndex.EMPTY)
+                .find(embeddedSpotLeg.getNavType(), embeddedSpotLeg.getComment0(), embeddedSpotLeg.getContract())
                 .orElseThrow(() -> new BusinessException(
                         String.format("No Valid FX Spot Grouped Record Found for NDF Dual Transformation" +
                                         " Case with Nav Type: %s, Comment0: %s & Contract != %s", embeddedSpotLeg.getNavType(),
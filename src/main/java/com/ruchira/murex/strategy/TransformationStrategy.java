@@ -1,12 +1,13 @@
 package com.ruchira.murex.strategy;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruchira.murex.config.AccessorConfig;
 import com.ruchira.murex.config.TransformationFieldConfig;
 import com.ruchira.murex.mapper.DynamicMapper;
 import com.ruchira.murex.dto.StgMrxExtDmcDto;
 import com.ruchira.murex.exception.TransformationException;
-import com.ruchira.murex.mapper.MurexTradeRecordMapper;
+import com.ruchira.murex.mapper.MurexBookingAssembler;
+import com.ruchira.murex.mapper.OverridePlan;
 import com.ruchira.murex.model.MurexBookingConfig;
 import com.ruchira.murex.model.RecordProcessingResult;
 import com.ruchira.murex.model.trade.MurexTrade;
@@ -15,7 +16,9 @@ import com.ruchira.murex.model.TransformationContext;
 import com.ruchira.murex.parser.JsonParser;
 import com.ruchira.murex.service.StgMrxExtProcessingService;
 import com.ruchira.murex.parser.DynamicFieldParser;
-import com.ruchira.murex.util.CloneUtils;
+import com.ruchira.murex.util.CopyPlan;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -38,13 +41,24 @@ import static java.math.BigDecimal.ZERO;
 @RequiredArgsConstructor
 public abstract class TransformationStrategy {
 
-    protected final MurexTradeRecordMapper murexTradeRecordMapper;
+    private static final int TPS_COPY_PLAN_CACHE_SIZE = 1_000;
+
+    /**
+     * Overrides stamped on every booking leg mapped from a source record: murexBookCode, then traceId
+     */
+    protected static final OverridePlan<TransformedMurexTrade> BOOKING_LEG_OVERRIDES =
+            OverridePlan.compile(TransformedMurexTrade.class, FIELD_MUREX_BOOK_CODE, FIELD_TRACE_ID);
+
+    protected final MurexBookingAssembler murexBookingAssembler;
     protected final DynamicMapper dynamicMapper;
     protected final DynamicFieldParser fieldMapper;
     protected final JsonParser jsonParser;
     protected final TransformationFieldConfig transformationFieldConfig;
     protected final StgMrxExtProcessingService stgMrxExtProcessingService;
-    protected final ObjectMapper objectMapper = new ObjectMapper();
+    protected final AccessorConfig accessorConfig;
+    private final Cache<String, CopyPlan<TransformedMurexTrade, TransformedMurexTrade>> tpsCopyPlans = Caffeine.newBuilder()
+            .maximumSize(TPS_COPY_PLAN_CACHE_SIZE)
+            .build();
 
     /**
      * Check if this strategy can handle the given typology
@@ -192,7 +206,7 @@ public abstract class TransformationStrategy {
                 return;
             }
 
-            JsonNode tpsOutboundNode = objectMapper.readTree(tpsOutboundJson);
+            JsonNode tpsOutboundNode = jsonParser.readTree(tpsOutboundJson);
 
             // Special handling for comment fields
             applySpecialCommentHandling(booking, tpsOutboundNode, config);
@@ -287,20 +301,30 @@ public abstract class TransformationStrategy {
             if (ObjectUtils.isEmpty(transformations)) {
                 return booking;
             }
-            JsonNode transformationNode = jsonParser.getFirstTransformation(transformations);
-
-            Set<String> tpdFieldSet = new HashSet<>();
-
-            JsonNode tpsFields = transformationNode.get(TPS_FIELDS_KEYWORD);
-            tpdFieldSet.addAll(jsonArrayToStringSet(tpsFields));
-            tpdFieldSet.addAll(transformationFieldConfig.getIncludeFields());
-
-            return CloneUtils.cloneWithFields(booking, TransformedMurexTrade.class, tpdFieldSet);
+            return tpsCopyPlans.get(transformations, this::compileTpsCopyPlan).copy(booking);
         } catch (Exception e) {
             throw new TransformationException("Error applying output customizations", getTransformationType(), e);
         }
     }
 
+    /**
+     * Resolve the TPS projection of a config (its tpsFields plus the globally included fields) into a copy plan.
+     * Plans are cached by the config's transformations JSON, which is what the field set is derived from;
+     * that cache is the only one, so the plan is compiled here rather than looked up in {@code CloneUtils}.
+     */
+    private CopyPlan<TransformedMurexTrade, TransformedMurexTrade> compileTpsCopyPlan(String transformations) {
+        JsonNode transformationNode = jsonParser.getFirstTransformation(transformations);
+
+        Set<String> tpdFieldSet = new HashSet<>();
+
+        JsonNode tpsFields = transformationNode.get(TPS_FIELDS_KEYWORD);
+        tpdFieldSet.addAll(jsonArrayToStringSet(tpsFields));
+        tpdFieldSet.addAll(transformationFieldConfig.getIncludeFields());
+
+        return CopyPlan.compile(TransformedMurexTrade.class, TransformedMurexTrade.class, tpdFieldSet,
+                accessorConfig.getBackend());
+    }
+
     public Set<String> jsonArrayToStringSet(JsonNode node) {
         Object obj = fieldMapper.extractValueFromJsonNode(node);
         if (!(obj instanceof List<?> list)) return Set.of();
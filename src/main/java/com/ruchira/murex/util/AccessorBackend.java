@@ -0,0 +1,18 @@
+package com.ruchira.murex.util;
+
+/**
+ * Implementation behind the getters and setters of a {@link FieldTable}
+ */
+public enum AccessorBackend {
+
+    /**
+     * {@link java.lang.invoke.VarHandle} per field, the same handles {@link VarHandleMapper} uses
+     */
+    VAR_HANDLE,
+
+    /**
+     * Getter and setter functions spun with {@link java.lang.invoke.LambdaMetafactory} around the
+     * bean accessors, falling back to a VarHandle for fields without one
+     */
+    LAMBDA
+}
@@ -1,17 +1,30 @@
 package com.ruchira.murex.util;
 
-import com.ruchira.murex.exception.BusinessException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.experimental.UtilityClass;
-import org.springframework.beans.BeanWrapperImpl;
 
 import java.util.Set;
 
 @UtilityClass
 public class CloneUtils {
 
+    private static final int COPY_PLAN_CACHE_SIZE = 1_000;
+
+    /**
+     * Plans of ad-hoc clones; bounded, as the field sets come from callers. Callers with a field set of
+     * their own should compile and keep the plan instead of going through this cache.
+     */
+    private static final Cache<CopyPlanKey, CopyPlan<?, ?>> copyPlans = Caffeine.newBuilder()
+            .maximumSize(COPY_PLAN_CACHE_SIZE)
+            .build();
+
+    private record CopyPlanKey(Class<?> sourceClass, Class<?> targetClass, Set<String> fields, AccessorBackend backend) {
+    }
+
     /**
      * Clones an object including only the provided set of fields.
-     * Uses Apache Commons PropertyUtils (getter/setter access).
+     * Uses the cached {@link CopyPlan} for the source class, target class and field set.
      *
      * @param source         The source object
      * @param targetClass    The class of the target object
@@ -19,28 +32,31 @@ public class CloneUtils {
      * @param <T>            Type of the object
      * @return Cloned object with only selected fields populated
      */
+    @SuppressWarnings("unchecked")
     public static <T> T cloneWithFields(Object source, Class<T> targetClass, Set<String> includedFields) {
         if (source == null) return null;
 
-        try {
-            T target = targetClass.getDeclaredConstructor().newInstance();
-
-            BeanWrapperImpl sourceWrapper = new BeanWrapperImpl(source);
-            BeanWrapperImpl targetWrapper = new BeanWrapperImpl(target);
-
-            for (String field : includedFields) {
-                if (sourceWrapper.isReadableProperty(field) && targetWrapper.isWritableProperty(field)) {
-                    Object value = sourceWrapper.getPropertyValue(field);
-                    targetWrapper.setPropertyValue(field, value);
-                }
-            }
-
-            return target;
-
-        } catch (Exception e) {
-            throw new BusinessException("Failed to clone object with selected fields", e);
-        }
+        CopyPlan<Object, T> plan = (CopyPlan<Object, T>) copyPlan(source.getClass(), targetClass, includedFields);
+        return plan.copy(source);
     }
 
+    /**
+     * Get the compiled copy plan for the given classes and field set, compiling it on first use.
+     * Callers copying the same field set repeatedly should keep the returned plan instead of
+     * looking it up per copy.
+     */
+    public static <S, T> CopyPlan<S, T> copyPlan(Class<S> sourceClass, Class<T> targetClass, Set<String> includedFields) {
+        return copyPlan(sourceClass, targetClass, includedFields, AccessorBackend.VAR_HANDLE);
+    }
 
+    /**
+     * Get the compiled copy plan for the given classes and field set using the given accessor backend
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> CopyPlan<S, T> copyPlan(Class<S> sourceClass, Class<T> targetClass, Set<String> includedFields,
+                                                 AccessorBackend backend) {
+        CopyPlanKey key = new CopyPlanKey(sourceClass, targetClass, Set.copyOf(includedFields), backend);
+        return (CopyPlan<S, T>) copyPlans.get(key,
+                k -> CopyPlan.compile(sourceClass, targetClass, k.fields(), backend));
+    }
 }
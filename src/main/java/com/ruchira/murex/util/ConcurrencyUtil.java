@@ -6,7 +6,13 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 
 @UtilityClass
 @Slf4j
@@ -54,6 +60,266 @@ public class ConcurrencyUtil {
         }
     }
 
+    /**
+     * Processes items in parallel as they are produced by the given source, using structured concurrency.
+     * <p>
+     * Each item is forked as soon as the source emits it, so processing overlaps with production
+     * (e.g. rows still streaming from the database). All-or-none semantics are the same as
+     * {@link #processAllOrNone(List, RecordTask)}: the first failure cancels remaining tasks and
+     * stops the source from emitting further items.
+     *
+     * @param source producer that pushes items into the supplied sink
+     * @param task   the processing logic for each item
+     * @param <T>    Type of record
+     * @throws Exception If the source or any processing task fails
+     */
+    public static <T, R> List<R> processAllOrNone(RecordSource<T> source,
+                                                  RecordTask<T, R> task) throws Exception {
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            List<StructuredTaskScope.Subtask<R>> futures = new ArrayList<>();
+
+            Exception sourceFailure = null;
+            try {
+                source.emit(record -> {
+                    if (scope.isShutdown()) {
+                        throw new CancellationException("Task scope shut down after a processing failure");
+                    }
+                    futures.add(scope.fork(() -> {
+                        try {
+                            return task.process(record);
+                        } catch (Exception e) {
+                            log.error("Processing failed for item: {}", record, e);
+                            throw e;
+                        }
+                    }));
+                });
+            } catch (Exception e) {
+                sourceFailure = e;
+                scope.shutdown();
+            }
+            scope.join();
+
+            // a task failure is the root cause of a cancelled source, so report it first
+            scope.throwIfFailed();
+            if (sourceFailure != null) {
+                throw sourceFailure;
+            }
+
+            return futures.stream()
+                    .map(StructuredTaskScope.Subtask::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+        } catch (Exception ex) {
+            log.error("One or more tasks failed in processAllOrNone: {}", ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Bounded variant of {@link #processAllOrNone(List, RecordTask)}.
+     * <p>
+     * Records are split into chunks of {@code chunkSize}, each chunk processed sequentially by one subtask,
+     * and at most {@code maxInFlight.getAsInt()} subtasks run at a time. The limit is re-read before every
+     * fork, so an adaptive supplier can narrow or widen parallelism while the batch is running.
+     * All-or-none semantics are unchanged: the first failure shuts the scope down, cancels running
+     * chunks and stops further forks. Results are returned in record order.
+     *
+     * @param records     List of records (e.g. List<T>)
+     * @param task        the processing logic for each item
+     * @param maxInFlight supplier of the current maximum number of concurrently running subtasks
+     * @param chunkSize   number of records processed by a single subtask
+     * @param <T>         Type of record
+     * @throws Exception If any processing task fails
+     */
+    public static <T, R> List<R> processAllOrNone(List<T> records,
+                                                  RecordTask<T, R> task,
+                                                  IntSupplier maxInFlight,
+                                                  int chunkSize) throws Exception {
+        final int size = Math.max(1, chunkSize);
+        final InFlightLimiter limiter = new InFlightLimiter(maxInFlight);
+
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            List<StructuredTaskScope.Subtask<List<R>>> futures = new ArrayList<>();
+
+            for (int from = 0; from < records.size() && !scope.isShutdown(); from += size) {
+                final List<T> chunk = records.subList(from, Math.min(from + size, records.size()));
+                if (!limiter.acquire(scope)) {
+                    break;
+                }
+                futures.add(scope.fork(() -> processChunk(chunk, task, limiter)));
+            }
+            scope.join();
+            scope.throwIfFailed();
+
+            return futures.stream()
+                    .map(StructuredTaskScope.Subtask::get)
+                    .flatMap(List::stream)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+        } catch (Exception ex) {
+            log.error("One or more tasks failed in bounded processAllOrNone: {}", ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Bounded variant of {@link #processAllOrNone(RecordSource, RecordTask)}.
+     * <p>
+     * Emitted records are collected into chunks of {@code chunkSize}, each chunk processed sequentially by
+     * one subtask, and at most {@code maxInFlight.getAsInt()} subtasks run at a time. While the limit is
+     * reached the source is held in its {@code emit} call, so a streaming source is read no faster than
+     * records are processed. All-or-none semantics are the same as the unbounded variant. Results are
+     * returned in emission order.
+     *
+     * @param source      producer that pushes items into the supplied sink
+     * @param task        the processing logic for each item
+     * @param maxInFlight supplier of the current maximum number of concurrently running subtasks
+     * @param chunkSize   number of records processed by a single subtask
+     * @param <T>         Type of record
+     * @throws Exception If the source or any processing task fails
+     */
+    public static <T, R> List<R> processAllOrNone(RecordSource<T> source,
+                                                  RecordTask<T, R> task,
+                                                  IntSupplier maxInFlight,
+                                                  int chunkSize) throws Exception {
+        final int size = Math.max(1, chunkSize);
+        final InFlightLimiter limiter = new InFlightLimiter(maxInFlight);
+
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            List<StructuredTaskScope.Subtask<List<R>>> futures = new ArrayList<>();
+            List<T> pending = new ArrayList<>(size);
+
+            Exception sourceFailure = null;
+            try {
+                source.emit(record -> {
+                    pending.add(record);
+                    if (pending.size() >= size) {
+                        futures.add(forkChunk(scope, limiter, new ArrayList<>(pending), task));
+                        pending.clear();
+                    }
+                });
+                if (!pending.isEmpty()) {
+                    futures.add(forkChunk(scope, limiter, new ArrayList<>(pending), task));
+                }
+            } catch (Exception e) {
+                sourceFailure = e;
+                scope.shutdown();
+            }
+            scope.join();
+
+            // a task failure is the root cause of a cancelled source, so report it first
+            scope.throwIfFailed();
+            if (sourceFailure != null) {
+                throw sourceFailure;
+            }
+
+            return futures.stream()
+                    .map(StructuredTaskScope.Subtask::get)
+                    .flatMap(List::stream)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+        } catch (Exception ex) {
+            log.error("One or more tasks failed in bounded processAllOrNone: {}", ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Fork a chunk once a slot is free; called from a sink, so failures surface as unchecked exceptions
+     */
+    private static <T, R> StructuredTaskScope.Subtask<List<R>> forkChunk(StructuredTaskScope<Object> scope,
+                                                                         InFlightLimiter limiter,
+                                                                         List<T> chunk,
+                                                                         RecordTask<T, R> task) {
+        try {
+            if (scope.isShutdown() || !limiter.acquire(scope)) {
+                throw new CancellationException("Task scope shut down after a processing failure");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a free processing slot");
+        }
+        return scope.fork(() -> processChunk(chunk, task, limiter));
+    }
+
+    /**
+     * Process a chunk and free its slot; a failed chunk keeps its slot, so that no further chunk is forked
+     * in the window between the failure and the scope shutting down
+     */
+    private static <T, R> List<R> processChunk(List<T> chunk, RecordTask<T, R> task, InFlightLimiter limiter) throws Exception {
+        List<R> results = new ArrayList<>(chunk.size());
+        for (T record : chunk) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Task scope shut down after a processing failure");
+            }
+            try {
+                results.add(task.process(record));
+            } catch (Exception e) {
+                log.error("Processing failed for item: {}", record, e);
+                throw e;
+            }
+        }
+        limiter.release();
+        return results;
+    }
+
+    /**
+     * Counts running subtasks against a limit that may change over time.
+     */
+    private static final class InFlightLimiter {
+        private static final long RECHECK_MILLIS = 50;
+
+        private final IntSupplier maxInFlight;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+        private int inFlight;
+
+        private InFlightLimiter(IntSupplier maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        /**
+         * Wait for a free slot; returns false if the scope was shut down while waiting
+         */
+        private boolean acquire(StructuredTaskScope<?> scope) throws InterruptedException {
+            lock.lock();
+            try {
+                // wake up periodically to observe a changed limit or a shut-down scope
+                while (inFlight >= Math.max(1, maxInFlight.getAsInt())) {
+                    if (scope.isShutdown()) {
+                        return false;
+                    }
+                    released.await(RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release() {
+            lock.lock();
+            try {
+                inFlight--;
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Source of records that pushes each produced item into the given sink.
+     */
+    @FunctionalInterface
+    public interface RecordSource<T> {
+        void emit(Consumer<T> sink) throws Exception;
+    }
+
     /**
      * Functional interface for tasks that throw checked exceptions.
      */
@@ -0,0 +1,116 @@
+package com.ruchira.murex.util;
+
+import com.ruchira.murex.exception.BusinessException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A field-set copy resolved once into parallel arrays of source getters and target setters.
+ * <p>
+ * Field names are resolved to ordinals of the source and target {@link FieldTable}s of the chosen
+ * {@link AccessorBackend}; fields missing on either side, or not assignable from source to target,
+ * are dropped when the plan is compiled. Copying is then a loop over the accessor arrays with no
+ * name lookups.
+ *
+ * @param <S> source type
+ * @param <T> target type
+ */
+public final class CopyPlan<S, T> {
+
+    private final Class<T> targetClass;
+    private final MethodHandle constructor;
+    private final String[] fieldNames;
+    private final FieldTable.Getter[] getters;
+    private final FieldTable.Setter[] setters;
+
+    private CopyPlan(Class<T> targetClass, MethodHandle constructor, List<String> fieldNames,
+                     List<FieldTable.Getter> getters, List<FieldTable.Setter> setters) {
+        this.targetClass = targetClass;
+        this.constructor = constructor;
+        this.fieldNames = fieldNames.toArray(String[]::new);
+        this.getters = getters.toArray(FieldTable.Getter[]::new);
+        this.setters = setters.toArray(FieldTable.Setter[]::new);
+    }
+
+    /**
+     * Compile a plan copying the given fields with {@link AccessorBackend#VAR_HANDLE} accessors
+     *
+     * @see #compile(Class, Class, Set, AccessorBackend)
+     */
+    public static <S, T> CopyPlan<S, T> compile(Class<S> sourceClass, Class<T> targetClass, Set<String> includedFields) {
+        return compile(sourceClass, targetClass, includedFields, AccessorBackend.VAR_HANDLE);
+    }
+
+    /**
+     * Compile a plan copying the given fields from the source class to a new instance of the target class
+     *
+     * @param sourceClass    class of the objects to copy from
+     * @param targetClass    class of the objects to create; must have a no-arg constructor
+     * @param includedFields names of the fields to copy
+     * @param backend        accessor implementation to copy with
+     */
+    public static <S, T> CopyPlan<S, T> compile(Class<S> sourceClass, Class<T> targetClass, Set<String> includedFields,
+                                                AccessorBackend backend) {
+        FieldTable<S> sourceTable = FieldTable.forClass(sourceClass, backend);
+        FieldTable<T> targetTable = FieldTable.forClass(targetClass, backend);
+
+        List<String> names = new ArrayList<>();
+        List<FieldTable.Getter> getters = new ArrayList<>();
+        List<FieldTable.Setter> setters = new ArrayList<>();
+        for (String field : new TreeSet<>(includedFields)) {
+            int source = sourceTable.ordinal(field);
+            int target = targetTable.ordinal(field);
+            if (source >= 0 && target >= 0
+                    && targetTable.fieldType(target).isAssignableFrom(sourceTable.fieldType(source))) {
+                names.add(field);
+                getters.add(sourceTable.getter(source));
+                setters.add(targetTable.setter(target));
+            }
+        }
+
+        try {
+            MethodHandle constructor = MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup())
+                    .findConstructor(targetClass, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            return new CopyPlan<>(targetClass, constructor, names, getters, setters);
+        } catch (ReflectiveOperationException e) {
+            throw new BusinessException(String.format("No accessible no-arg constructor on %s", targetClass.getName()), e);
+        }
+    }
+
+    /**
+     * Create a new target instance holding the planned fields of the source
+     *
+     * @return the copy, or null for a null source
+     */
+    public T copy(S source) {
+        if (source == null) return null;
+
+        T target = newInstance();
+        for (int i = 0; i < getters.length; i++) {
+            setters[i].set(target, getters[i].get(source));
+        }
+        return target;
+    }
+
+    /**
+     * Names of the fields this plan copies, in copy order
+     */
+    public List<String> getFieldNames() {
+        return List.of(fieldNames);
+    }
+
+    private T newInstance() {
+        try {
+            return targetClass.cast((Object) constructor.invokeExact());
+        } catch (Throwable e) {
+            throw new BusinessException("Failed to clone object with selected fields", e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.ruchira.murex.util;
+
+import com.ruchira.murex.exception.BusinessException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The instance fields of a class, including inherited ones, addressed by integer ordinal instead of by name.
+ * <p>
+ * Ordinals follow the field names in sorted order, so they are stable for a given class; a field hidden
+ * by a subclass field of the same name is not addressable. Names are
+ * resolved to ordinals once, typically when a plan is compiled; reads and writes then index plain
+ * arrays of {@link Getter}s and {@link Setter}s built by the chosen {@link AccessorBackend}.
+ *
+ * @param <T> the class whose fields are addressed
+ */
+public final class FieldTable<T> {
+
+    private static final MethodType GETTER_SAM = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_SAM = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Map<TableKey, FieldTable<?>> tables = new ConcurrentHashMap<>();
+
+    private record TableKey(Class<?> type, AccessorBackend backend) {
+    }
+
+    /**
+     * Read access to one field
+     */
+    @FunctionalInterface
+    public interface Getter {
+        Object get(Object target);
+    }
+
+    /**
+     * Write access to one field
+     */
+    @FunctionalInterface
+    public interface Setter {
+        void set(Object target, Object value);
+    }
+
+    private final Class<T> type;
+    private final AccessorBackend backend;
+    private final String[] names;
+    private final Class<?>[] types;
+    private final Getter[] getters;
+    private final Setter[] setters;
+    private final Map<String, Integer> ordinals;
+
+    private FieldTable(Class<T> type, AccessorBackend backend, String[] names, Class<?>[] types,
+                       Getter[] getters, Setter[] setters) {
+        this.type = type;
+        this.backend = backend;
+        this.names = names;
+        this.types = types;
+        this.getters = getters;
+        this.setters = setters;
+        this.ordinals = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            ordinals.put(names[i], i);
+        }
+    }
+
+    /**
+     * Get the cached field table of the given class for the given backend, building it on first use
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FieldTable<T> forClass(Class<T> type, AccessorBackend backend) {
+        return (FieldTable<T>) tables.computeIfAbsent(new TableKey(type, backend), k -> build(type, backend));
+    }
+
+    /**
+     * Ordinal of the named field, or -1 if the class has no such instance field
+     */
+    public int ordinal(String fieldName) {
+        Integer ordinal = ordinals.get(fieldName);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int ordinal) {
+        return names[ordinal];
+    }
+
+    public Class<?> fieldType(int ordinal) {
+        return types[ordinal];
+    }
+
+    public AccessorBackend getBackend() {
+        return backend;
+    }
+
+    public Getter getter(int ordinal) {
+        return getters[ordinal];
+    }
+
+    public Setter setter(int ordinal) {
+        return setters[ordinal];
+    }
+
+    public Object get(T target, int ordinal) {
+        return getters[ordinal].get(target);
+    }
+
+    public void set(T target, int ordinal, Object value) {
+        setters[ordinal].set(target, value);
+    }
+
+    @Override
+    public String toString() {
+        return "FieldTable[" + type.getSimpleName() + ", " + backend + ", " + names.length + " fields]";
+    }
+
+    private static <T> FieldTable<T> build(Class<T> type, AccessorBackend backend) {
+        Field[] fields = instanceFields(type);
+
+        String[] names = new String[fields.length];
+        Class<?>[] types = new Class<?>[fields.length];
+        Getter[] getters = new Getter[fields.length];
+        Setter[] setters = new Setter[fields.length];
+
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                Field field = fields[i];
+                names[i] = field.getName();
+                types[i] = field.getType();
+
+                // private access to an inherited field needs a lookup in the class declaring it
+                Class<?> owner = field.getDeclaringClass();
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+
+                VarHandle handle = lookup.unreflectVarHandle(field);
+                PropertyDescriptor descriptor = backend == AccessorBackend.LAMBDA
+                        ? BeanUtils.getPropertyDescriptor(type, field.getName())
+                        : null;
+                Method readMethod = descriptor == null ? null : descriptor.getReadMethod();
+                Method writeMethod = descriptor == null ? null : descriptor.getWriteMethod();
+
+                getters[i] = isAccessor(readMethod, owner, field.getType())
+                        ? spinGetter(lookup, owner, readMethod)
+                        : target -> handle.get(target);
+                setters[i] = isAccessor(writeMethod, owner, field.getType())
+                        ? spinSetter(lookup, owner, writeMethod)
+                        : (target, value) -> handle.set(target, value);
+            }
+        } catch (Throwable e) {
+            throw new BusinessException(String.format("Cannot build %s field accessors for %s", backend, type.getName()), e);
+        }
+        return new FieldTable<>(type, backend, names, types, getters, setters);
+    }
+
+    /**
+     * Instance fields of the class and its superclasses in name order, the subclass field winning on a name clash
+     */
+    private static Field[] instanceFields(Class<?> type) {
+        Map<String, Field> fields = new TreeMap<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.putIfAbsent(field.getName(), field);
+                }
+            }
+        }
+        return fields.values().toArray(Field[]::new);
+    }
+
+    /**
+     * Only generate from accessors declared on the class declaring the field and matching the field type;
+     * anything else (overriding or converting accessors) keeps the field semantics of the VarHandle
+     */
+    private static boolean isAccessor(Method method, Class<?> owner, Class<?> fieldType) {
+        if (method == null || method.getDeclaringClass() != owner || !Modifier.isPublic(method.getModifiers())) {
+            return false;
+        }
+        return method.getParameterCount() == 0
+                ? method.getReturnType() == fieldType
+                : method.getParameterTypes()[0] == fieldType && method.getReturnType() == void.class;
+    }
+
+    private static Getter spinGetter(MethodHandles.Lookup lookup, Class<?> type, Method readMethod) throws Throwable {
+        MethodHandle implementation = lookup.unreflect(readMethod);
+        Class<?> valueType = ClassUtils.resolvePrimitiveIfNecessary(readMethod.getReturnType());
+        return (Getter) LambdaMetafactory.metafactory(
+                lookup, "get", MethodType.methodType(Getter.class), GETTER_SAM, implementation,
+                MethodType.methodType(valueType, type)
+        ).getTarget().invokeExact();
+    }
+
+    private static Setter spinSetter(MethodHandles.Lookup lookup, Class<?> type, Method writeMethod) throws Throwable {
+        MethodHandle implementation = lookup.unreflect(writeMethod);
+        Class<?> valueType = ClassUtils.resolvePrimitiveIfNecessary(writeMethod.getParameterTypes()[0]);
+        return (Setter) LambdaMetafactory.metafactory(
+                lookup, "set", MethodType.methodType(Setter.class), SETTER_SAM, implementation,
+                MethodType.methodType(void.class, type, valueType)
+        ).getTarget().invokeExact();
+    }
+}
@@ -181,6 +181,14 @@ CREATE TABLE h_stg_mrx_ext_dmc (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 )ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Application-assigned keys for h_murex_* tables (hi/lo: each NEXTVAL reserves a block of INCREMENT ids).
+-- INCREMENT BY must match app.persistence.id-allocation-size (checked at startup).
+-- Existing databases: run migration/murex_id_sequences.sql to start the sequences above the used ids.
+CREATE SEQUENCE h_murex_booking_seq START WITH 1 INCREMENT BY 100;
+CREATE SEQUENCE h_murex_trade_leg_seq START WITH 1 INCREMENT BY 100;
+CREATE SEQUENCE h_murex_trade_leg_component_seq START WITH 1 INCREMENT BY 100;
+
+-- Existing databases: run migration/murex_booking_status.sql to add booking_status and the trade_reference index.
 CREATE TABLE h_murex_booking (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     trade_reference VARCHAR(100) NOT NULL,
@@ -197,8 +205,10 @@ CREATE TABLE h_murex_booking (
     split_cross CHAR(1),
     split_spot_swap CHAR(1),
     family_grp_type VARCHAR(50),
+    booking_status VARCHAR(20) NOT NULL DEFAULT 'STORED',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_h_murex_booking_trade_reference (trade_reference)
 )ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 CREATE TABLE h_murex_trade_leg (
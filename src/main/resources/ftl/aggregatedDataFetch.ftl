@@ -111,20 +111,16 @@ JOIN h_entity he
 JOIN h_net_asset_value hn
     ON hn.entity_id = he.entity_id
    AND hn.nav_type  = ha.nav_type
-   AND hn.business_date = '${businessDate}'
+   AND hn.business_date = ${bind("businessDate")}
 JOIN stg_mrx_ext hstg
-    ON hstg.contract IN (
-        <#list contractList as c>
-            '${c}'<#if c_has_next>,</#if>
-        </#list>
-    )
-   AND hstg.dl_businessdate = '${businessDate}'
+    ON hstg.contract IN (${bind("contractList")})
+   AND hstg.dl_businessdate = ${bind("businessDate")}
    AND FIND_IN_SET(
         LOWER(REPLACE(hstg.comment0, ' ', '')) COLLATE utf8mb4_unicode_ci,
         LOWER(REPLACE(he.murex_comment, ' ', '')) COLLATE utf8mb4_unicode_ci
     ) > 0
-WHERE ha.exposure_currency = '${inputCurrency}'
-  AND ha.instruction_date = '${businessDate}'
+WHERE ha.exposure_currency = ${bind("inputCurrency")}
+  AND ha.instruction_date = ${bind("businessDate")}
   AND ha.trace_id = (
                 SELECT MAX(hap.trace_id)
                 FROM h_apportionment hap
@@ -132,13 +128,14 @@ WHERE ha.exposure_currency = '${inputCurrency}'
                     AND hap.instruction_date = ha.instruction_date
        )
   AND (
-        hstg.typology_mx3 <> '${typologyMx3}'
+        hstg.typology_mx3 <> ${bind("typologyMx3")}
         OR (
-            hstg.typology_mx3 = '${typologyMx3}'
-            AND hstg.trading_portf = '${tradingPortf}'
+            hstg.typology_mx3 = ${bind("typologyMx3")}
+            AND hstg.trading_portf = ${bind("tradingPortf")}
             AND (
-                   (hstg.curr_2 = '${inputCurrency}' AND hstg.curr_1 = '${USDCurrency}')
-                OR (hstg.curr_1 = '${inputCurrency}' AND hstg.curr_2 = '${USDCurrency}')
+                   (hstg.curr_2 = ${bind("inputCurrency")} AND hstg.curr_1 = ${bind("USDCurrency")})
+                OR (hstg.curr_1 = ${bind("inputCurrency")} AND hstg.curr_2 = ${bind("USDCurrency")})
             )
         )
-  );
\ No newline at end of file
+  )
+ORDER BY BINARY hstg.contract, BINARY hstg.comment0, BINARY ha.nav_type
@@ -8,5 +8,5 @@ SELECT
     functional_currency as functionalCurrency,
     currency_category as currencyCategory
 FROM currency
-WHERE functional_currency = '${currency}'
-AND is_active = '${isActive}'
\ No newline at end of file
+WHERE functional_currency = ${bind("currency")}
+AND is_active = ${bind("isActive")}
\ No newline at end of file
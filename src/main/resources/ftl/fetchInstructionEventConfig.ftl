@@ -19,18 +19,18 @@ SELECT
 FROM h_business_event_config
 WHERE 1=1
 <#if businessEvent??>
-  AND business_event = '${businessEvent}'
+  AND business_event = ${bind("businessEvent")}
 </#if>
 <#if hedgeMethod??>
-  AND hedge_method = '${hedgeMethod}'
+  AND hedge_method = ${bind("hedgeMethod")}
 </#if>
 <#if hedgingInstrument??>
-  AND hedging_instrument = '${hedgingInstrument}'
+  AND hedging_instrument = ${bind("hedgingInstrument")}
 </#if>
 <#if currencyType??>
-  AND currency_type = '${currencyType}'
+  AND currency_type = ${bind("currencyType")}
 </#if>
 <#if status??>
-  AND status = ${status}
+  AND status = ${bind("status")}
 </#if>
 ORDER BY nav_type
\ No newline at end of file
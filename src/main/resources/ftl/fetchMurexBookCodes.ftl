@@ -12,5 +12,5 @@ FROM murex_book_config mcfg
 WHERE mcfg.murex_book_code IN (
     SELECT rbm.mx_booking_code
     FROM rule_mx_book_map rbm
-    WHERE rbm.rule_id = '${ruleId}'
+    WHERE rbm.rule_id = ${bind("ruleId")}
 )
\ No newline at end of file
@@ -1,4 +1,5 @@
 INSERT INTO h_murex_booking (
+    id,
     trade_reference,
     trade_execution_date,
     trade_execution_time,
@@ -13,8 +14,10 @@ INSERT INTO h_murex_booking (
     split_cross,
     split_spot_swap,
     family_grp_type,
-    murex_booking_record
+    murex_booking_record,
+    booking_status
 ) VALUES (
+    :id,
     :tradeReference,
     :tradeExecutionDate,
     :tradeExecutionTime,
@@ -29,5 +32,6 @@ INSERT INTO h_murex_booking (
     :splitCross,
     :splitSpotSwap,
     :familyGrpType,
-    :murexBookingRecord
-);
\ No newline at end of file
+    :murexBookingRecord,
+    :bookingStatus
+)
\ No newline at end of file
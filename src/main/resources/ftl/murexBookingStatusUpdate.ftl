@@ -0,0 +1,13 @@
+<#--
+Input parameters expected in the model:
+    bookingStatus   : string (e.g. 'PROCESSED')
+    tradeReferences : list of strings (e.g. ['TRD-1','TRD-2'])
+    currentStatus   : (optional) string; only bookings still in this status are updated (e.g. 'STORED')
+-->
+
+UPDATE h_murex_booking
+SET booking_status = ${bind("bookingStatus")}
+WHERE trade_reference IN (${bind("tradeReferences")})
+<#if currentStatus??>
+  AND booking_status = ${bind("currentStatus")}
+</#if>
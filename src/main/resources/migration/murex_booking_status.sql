@@ -0,0 +1,10 @@
+-- Migration for databases created before h_murex_booking tracked the booking status.
+-- Bookings already in the table were sent downstream when they were stored, so they are marked PUBLISHED;
+-- new bookings are inserted as STORED. Run once, with the application stopped.
+
+-- the column default fills the existing rows, and is then switched to the insert status
+ALTER TABLE h_murex_booking ADD COLUMN IF NOT EXISTS booking_status VARCHAR(20) NOT NULL DEFAULT 'PUBLISHED' AFTER family_grp_type;
+ALTER TABLE h_murex_booking ALTER COLUMN booking_status SET DEFAULT 'STORED';
+
+-- status updates of the booking consumer look bookings up by trade reference
+CREATE INDEX IF NOT EXISTS idx_h_murex_booking_trade_reference ON h_murex_booking (trade_reference);
@@ -0,0 +1,27 @@
+-- Migration for databases created before h_murex_* ids were assigned from sequences.
+-- The tables keep their AUTO_INCREMENT ids, so each sequence must restart above the highest id already
+-- used, or the hi/lo allocator would hand out existing ids. Run once, with the application stopped.
+-- INCREMENT BY must match app.persistence.id-allocation-size; the application checks it at startup.
+
+CREATE SEQUENCE IF NOT EXISTS h_murex_booking_seq START WITH 1 INCREMENT BY 100;
+CREATE SEQUENCE IF NOT EXISTS h_murex_trade_leg_seq START WITH 1 INCREMENT BY 100;
+CREATE SEQUENCE IF NOT EXISTS h_murex_trade_leg_component_seq START WITH 1 INCREMENT BY 100;
+
+-- ALTER SEQUENCE takes literals only, hence the prepared statements
+SET @restart = (SELECT COALESCE(MAX(id), 0) + 1 FROM h_murex_booking);
+SET @stmt = CONCAT('ALTER SEQUENCE h_murex_booking_seq INCREMENT BY 100 RESTART WITH ', @restart);
+PREPARE restart_sequence FROM @stmt;
+EXECUTE restart_sequence;
+DEALLOCATE PREPARE restart_sequence;
+
+SET @restart = (SELECT COALESCE(MAX(id), 0) + 1 FROM h_murex_trade_leg);
+SET @stmt = CONCAT('ALTER SEQUENCE h_murex_trade_leg_seq INCREMENT BY 100 RESTART WITH ', @restart);
+PREPARE restart_sequence FROM @stmt;
+EXECUTE restart_sequence;
+DEALLOCATE PREPARE restart_sequence;
+
+SET @restart = (SELECT COALESCE(MAX(id), 0) + 1 FROM h_murex_trade_leg_component);
+SET @stmt = CONCAT('ALTER SEQUENCE h_murex_trade_leg_component_seq INCREMENT BY 100 RESTART WITH ', @restart);
+PREPARE restart_sequence FROM @stmt;
+EXECUTE restart_sequence;
+DEALLOCATE PREPARE restart_sequence;
@@ -0,0 +1,140 @@
+package com.ruchira.murex.kafka.config;
+
+import com.ruchira.murex.config.KafkaListenerConfig;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaConsumerConfigTest {
+
+    private final KafkaConsumerConfig config = new KafkaConsumerConfig();
+    private final KafkaListenerConfig.Retry retry = new KafkaListenerConfig.Retry();
+
+    @SuppressWarnings("unchecked")
+    private final ProducerFactory<String, Object> producerFactory = mock(ProducerFactory.class);
+    @SuppressWarnings("unchecked")
+    private final DefaultKafkaProducerFactory<String, Object> bytesProducerFactory = mock(DefaultKafkaProducerFactory.class);
+
+    private final MockProducer<String, Object> producer = new MockProducer<>(true, new StringSerializer(), (topic, value) -> new byte[0]);
+
+    @BeforeEach
+    void setUp() {
+        when(producerFactory.copyWithConfigurationOverride(anyMap())).thenReturn(bytesProducerFactory);
+        when(producerFactory.createProducer()).thenReturn(producer);
+    }
+
+    /**
+     * Topic the record failing with the given exception is forwarded to
+     */
+    private String forwardedTo(Exception failure) {
+        DefaultErrorHandler errorHandler = config.errorHandler(new KafkaTemplate<>(producerFactory), retry);
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties("murex-topic"));
+        ConsumerRecord<String, HAWKMurexBookingRecord> record =
+                new ConsumerRecord<>("murex-topic", 0, 7L, "T1", new HAWKMurexBookingRecord());
+
+        // no in-place retries: the first failure recovers the record
+        assertTrue(errorHandler.handleOne(new ListenerExecutionFailedException("listener failed", failure),
+                record, mock(Consumer.class), container));
+
+        List<ProducerRecord<String, Object>> forwarded = producer.history();
+        assertEquals(1, forwarded.size());
+        assertEquals("T1", forwarded.get(0).key());
+        return forwarded.get(0).topic();
+    }
+
+    @Test
+    void transientFailureGoesToRetryTopic() {
+        assertEquals(retry.getTopic(), forwardedTo(new IllegalStateException("connection lost")));
+    }
+
+    @Test
+    void validationFailureGoesToDlt() {
+        assertEquals(retry.getTopic() + retry.getDltSuffix(), forwardedTo(new IllegalArgumentException("no trade reference")));
+    }
+
+    @Test
+    void nestedDeserializationFailureGoesToDlt() {
+        DeserializationException cause = new DeserializationException("failed to deserialize", new byte[0], false, new IllegalStateException());
+        assertEquals(retry.getTopic() + retry.getDltSuffix(), forwardedTo(new IllegalStateException("wrapped", cause)));
+    }
+
+    @Test
+    void retryTopicIsConfigurable() {
+        retry.setTopic("custom-retry");
+        retry.setDltSuffix(".dead");
+
+        assertEquals("custom-retry.dead", forwardedTo(new IllegalArgumentException("no trade reference")));
+    }
+
+    @Test
+    void deadLetterTemplateIsClosedOnShutdown() {
+        config.errorHandler(new KafkaTemplate<>(producerFactory), retry);
+        verify(bytesProducerFactory, never()).destroy();
+
+        config.closeDeadLetterTemplates();
+
+        verify(bytesProducerFactory).destroy();
+    }
+
+    /**
+     * Listener container murex-topic would get with the given consumer settings
+     */
+    @SuppressWarnings("unchecked")
+    private ConcurrentMessageListenerContainer<String, HAWKMurexBookingRecord> murexContainer(KafkaListenerConfig listenerConfig) {
+        ConcurrentKafkaListenerContainerFactory<String, HAWKMurexBookingRecord> factory = config.concurrentKafkaListenerContainerFactory(
+                mock(ConsumerFactory.class), new KafkaTemplate<>(producerFactory), listenerConfig);
+        return factory.createContainer("murex-topic");
+    }
+
+    @Test
+    void oneConsumerPerConfiguredThread() {
+        KafkaListenerConfig listenerConfig = new KafkaListenerConfig();
+        listenerConfig.setConcurrency(4);
+
+        ConcurrentMessageListenerContainer<String, HAWKMurexBookingRecord> container = murexContainer(listenerConfig);
+
+        assertEquals(4, container.getConcurrency());
+        assertInstanceOf(ConsumerAwareRebalanceListener.class, container.getContainerProperties().getConsumerRebalanceListener());
+    }
+
+    @Test
+    void concurrencyIsCappedAtThePartitionCount() {
+        KafkaListenerConfig listenerConfig = new KafkaListenerConfig();
+        listenerConfig.setConcurrency(8);
+        listenerConfig.setPartitions(3);
+
+        assertEquals(3, murexContainer(listenerConfig).getConcurrency());
+
+        listenerConfig.setConcurrency(0);
+        assertEquals(1, murexContainer(listenerConfig).getConcurrency());
+    }
+}
@@ -0,0 +1,167 @@
+package com.ruchira.murex.kafka.consumer;
+
+import com.ruchira.murex.config.KafkaListenerConfig;
+import com.ruchira.murex.kafka.config.KafkaConsumerConfig;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.service.TradeDataHandlerService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_PROCESSED;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class KafkaEventListenerTest {
+
+    private static final String TOPIC = "murex-topic";
+
+    private final TradeDataHandlerService tradeDataHandlerService = mock(TradeDataHandlerService.class);
+    private final Acknowledgment acknowledgment = mock(Acknowledgment.class);
+    private final KafkaEventListener listener = new KafkaEventListener(tradeDataHandlerService);
+
+    private static ConsumerRecord<String, HAWKMurexBookingRecord> record(long offset, String tradeReference) {
+        HAWKMurexBookingRecord booking = new HAWKMurexBookingRecord();
+        booking.setExternalReference(tradeReference);
+        return new ConsumerRecord<>(TOPIC, 0, offset, tradeReference, booking);
+    }
+
+    /**
+     * Record as ErrorHandlingDeserializer delivers it when the JSON deserializer fails
+     */
+    private static ConsumerRecord<String, HAWKMurexBookingRecord> undeserializable(long offset, byte[] data) {
+        ConsumerRecord<String, HAWKMurexBookingRecord> record = new ConsumerRecord<>(TOPIC, 0, offset, "key-" + offset, null);
+        SerializationUtils.deserializationException(record.headers(), data,
+                new DeserializationException("failed to deserialize", data, false, new IllegalStateException("bad json")), false);
+        return record;
+    }
+
+    private static ConsumerRecord<String, HAWKMurexBookingRecord> withoutTradeReference(long offset) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, "key-" + offset, new HAWKMurexBookingRecord());
+    }
+
+    @Test
+    void batchIsMarkedProcessedWithOneUpdate() {
+        listener.onTradeResponses(List.of(record(0, "T0"), withoutTradeReference(1), record(2, "T2")), acknowledgment);
+
+        verify(tradeDataHandlerService).updateMurexBookingStatus(Set.of("T0", "T2"), BOOKING_STATUS_PROCESSED);
+        verifyNoMoreInteractions(tradeDataHandlerService);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void failedBulkUpdateIsAppliedRecordByRecord() {
+        when(tradeDataHandlerService.updateMurexBookingStatus(Set.of("T0", "T2"), BOOKING_STATUS_PROCESSED))
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+
+        listener.onTradeResponses(List.of(record(0, "T0"), withoutTradeReference(1), record(2, "T2")), acknowledgment);
+
+        verify(tradeDataHandlerService).updateMurexBookingStatus(List.of("T0"), BOOKING_STATUS_PROCESSED);
+        verify(tradeDataHandlerService).updateMurexBookingStatus(List.of("T2"), BOOKING_STATUS_PROCESSED);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void recordFailingOnItsOwnIsLeftToTheErrorHandler() {
+        IllegalStateException failure = new IllegalStateException("deadlock");
+        when(tradeDataHandlerService.updateMurexBookingStatus(Set.of("T0", "T1", "T2"), BOOKING_STATUS_PROCESSED))
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+        when(tradeDataHandlerService.updateMurexBookingStatus(List.of("T1"), BOOKING_STATUS_PROCESSED)).thenThrow(failure);
+
+        BatchListenerFailedException thrown = assertThrows(BatchListenerFailedException.class,
+                () -> listener.onTradeResponses(List.of(record(0, "T0"), record(1, "T1"), record(2, "T2")), acknowledgment));
+
+        // the record before it is applied, the one after it is redelivered
+        assertEquals(1, thrown.getIndex());
+        assertSame(failure, thrown.getCause());
+        verify(tradeDataHandlerService).updateMurexBookingStatus(List.of("T0"), BOOKING_STATUS_PROCESSED);
+        verify(tradeDataHandlerService, never()).updateMurexBookingStatus(List.of("T2"), BOOKING_STATUS_PROCESSED);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void retriedRecordWithoutTradeReferenceIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> listener.onTradeResponseRetry(withoutTradeReference(3)));
+
+        listener.onTradeResponseRetry(record(4, "T4"));
+        verify(tradeDataHandlerService).updateMurexBookingStatus(List.of("T4"), BOOKING_STATUS_PROCESSED);
+    }
+
+    @Test
+    void undeserializableRecordLandsOnDlt() {
+        byte[] data = "{not json".getBytes(StandardCharsets.UTF_8);
+        List<ConsumerRecord<String, HAWKMurexBookingRecord>> records = List.of(
+                record(0, "T0"), undeserializable(1, data), record(2, "T2"));
+
+        BatchListenerFailedException thrown = assertThrows(BatchListenerFailedException.class,
+                () -> listener.onTradeResponses(records, acknowledgment));
+
+        // the record before it is applied, the batch is left to the error handler
+        assertEquals(1, thrown.getIndex());
+        verify(tradeDataHandlerService).updateMurexBookingStatus(Set.of("T0"), BOOKING_STATUS_PROCESSED);
+        verify(acknowledgment, never()).acknowledge();
+
+        // the original bytes are forwarded through the byte[] template of the recoverer
+        MockProducer<String, Object> bytesProducer = new MockProducer<>(true, new StringSerializer(), (topic, value) -> (byte[]) value);
+        @SuppressWarnings("unchecked")
+        ProducerFactory<String, Object> producerFactory = mock(ProducerFactory.class);
+        when(producerFactory.copyWithConfigurationOverride(anyMap())).thenReturn(new MockProducerFactory<>(() -> bytesProducer));
+        KafkaListenerConfig.Retry retry = new KafkaListenerConfig.Retry();
+        DefaultErrorHandler errorHandler = new KafkaConsumerConfig().errorHandler(new KafkaTemplate<>(producerFactory), retry);
+
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        // the record after it is left for redelivery, which the handler signals by throwing
+        assertThrows(KafkaException.class, () -> errorHandler.handleBatch(thrown,
+                new ConsumerRecords<>(Map.of(new TopicPartition(TOPIC, 0), records)), mock(Consumer.class), container, () -> {
+                }));
+
+        List<ProducerRecord<String, Object>> forwarded = bytesProducer.history();
+        assertEquals(1, forwarded.size());
+        assertEquals(retry.getTopic() + retry.getDltSuffix(), forwarded.get(0).topic());
+        assertArrayEquals(data, (byte[]) forwarded.get(0).value());
+    }
+
+    @Test
+    void nullValueWithoutDeserializerHeaderIsNotSkipped() {
+        List<ConsumerRecord<String, HAWKMurexBookingRecord>> records = List.of(
+                new ConsumerRecord<>(TOPIC, 0, 0, "key-0", null), record(1, "T1"));
+
+        BatchListenerFailedException thrown = assertThrows(BatchListenerFailedException.class,
+                () -> listener.onTradeResponses(records, acknowledgment));
+
+        assertEquals(0, thrown.getIndex());
+        // nothing before it to apply
+        verify(tradeDataHandlerService).updateMurexBookingStatus(Set.of(), BOOKING_STATUS_PROCESSED);
+        verify(acknowledgment, never()).acknowledge();
+    }
+}
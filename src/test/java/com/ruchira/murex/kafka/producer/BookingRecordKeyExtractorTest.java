@@ -0,0 +1,62 @@
+package com.ruchira.murex.kafka.producer;
+
+import com.ruchira.murex.config.KafkaPublishConfig;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingTradeLeg;
+import com.ruchira.murex.kafka.model.HawkMurexBookingTradeLegAdditionalFields;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookingRecordKeyExtractorTest {
+
+    private final KafkaPublishConfig publishConfig = new KafkaPublishConfig();
+    private final BookingRecordKeyExtractor keyExtractor = new BookingRecordKeyExtractor(publishConfig);
+
+    private static HAWKMurexBookingTradeLeg leg(String origContractRef) {
+        HawkMurexBookingTradeLegAdditionalFields additionalFields = new HawkMurexBookingTradeLegAdditionalFields();
+        additionalFields.setOrigContractRef(origContractRef);
+        HAWKMurexBookingTradeLeg leg = new HAWKMurexBookingTradeLeg();
+        leg.setAdditionalFields(additionalFields);
+        return leg;
+    }
+
+    private static HAWKMurexBookingRecord booking(HAWKMurexBookingTradeLeg nearLeg, HAWKMurexBookingTradeLeg farLeg) {
+        HAWKMurexBookingRecord booking = new HAWKMurexBookingRecord();
+        booking.setExternalReference("TR-1");
+        booking.setTradingPortf("SG_BANK_SFX");
+        booking.setNearLeg(nearLeg);
+        booking.setFarLeg(farLeg);
+        return booking;
+    }
+
+    @Test
+    void contractIsTheDefault() {
+        assertEquals("C-NEAR", keyExtractor.keyOf(booking(leg("C-NEAR"), leg("C-FAR"))));
+    }
+
+    @Test
+    void contractFallsBackToTheFarLeg() {
+        assertEquals("C-FAR", keyExtractor.keyOf(booking(null, leg("C-FAR"))));
+        assertEquals("C-FAR", keyExtractor.keyOf(booking(new HAWKMurexBookingTradeLeg(), leg("C-FAR"))));
+        assertEquals("C-FAR", keyExtractor.keyOf(booking(leg(null), leg("C-FAR"))));
+    }
+
+    @Test
+    void noContractGivesNoKey() {
+        assertNull(keyExtractor.keyOf(booking(null, null)));
+    }
+
+    @Test
+    void keyFollowsTheStrategy() {
+        HAWKMurexBookingRecord booking = booking(leg("C-NEAR"), null);
+
+        publishConfig.setKeyStrategy(KafkaPublishConfig.RecordKeyStrategy.TRADE_REFERENCE);
+        assertEquals("TR-1", keyExtractor.keyOf(booking));
+        publishConfig.setKeyStrategy(KafkaPublishConfig.RecordKeyStrategy.ENTITY);
+        assertEquals("SG_BANK_SFX", keyExtractor.keyOf(booking));
+        publishConfig.setKeyStrategy(KafkaPublishConfig.RecordKeyStrategy.NONE);
+        assertNull(keyExtractor.keyOf(booking));
+    }
+}
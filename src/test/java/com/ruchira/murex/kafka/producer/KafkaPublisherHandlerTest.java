@@ -0,0 +1,199 @@
+package com.ruchira.murex.kafka.producer;
+
+import com.ruchira.murex.config.KafkaPublishConfig;
+import com.ruchira.murex.kafka.model.BatchPublishResult;
+import com.ruchira.murex.kafka.model.PublishResult;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.clients.producer.internals.DefaultPartitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaPublisherHandlerTest {
+
+    private static final String TOPIC = "murex-trades";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final KafkaPublishConfig publishConfig = new KafkaPublishConfig();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Sends handed to the template, completed by the test
+     */
+    private final List<CompletableFuture<SendResult<String, Object>>> sends = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaTemplate.send(anyString(), any(), any())).thenAnswer(invocation -> {
+            CompletableFuture<SendResult<String, Object>> send = new CompletableFuture<>();
+            sends.add(send);
+            return send;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static SendResult<String, Object> sent(String topic, long offset) {
+        return new SendResult<>(new ProducerRecord<>(topic, "payload"),
+                new RecordMetadata(new TopicPartition(topic, 0), offset, 0, 0L, 0, 0));
+    }
+
+    /**
+     * Producer that stays open across sends, as the template closes its producer after each one
+     */
+    private static MockProducer<String, Object> openProducer() {
+        return new MockProducer<>(true, new StringSerializer(), (topic, value) -> String.valueOf(value).getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close(Duration timeout) {
+            }
+        };
+    }
+
+    private void awaitSends(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (sends.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "only " + sends.size() + " of " + count + " sends started");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void inFlightLimitIsSharedAcrossBatches() throws Exception {
+        publishConfig.setMaxInFlight(3);
+        KafkaPublisherHandler handler = new KafkaPublisherHandler(kafkaTemplate, publishConfig);
+
+        CompletableFuture<BatchPublishResult> first = handler.publishAll(TOPIC, List.of("a1", "a2", "a3"));
+        Future<CompletableFuture<BatchPublishResult>> second = executor.submit(() -> handler.publishAll(TOPIC, List.of("b1", "b2")));
+
+        // the first batch holds every permit, so the second one waits
+        Thread.sleep(100);
+        assertEquals(3, sends.size());
+        assertFalse(second.isDone());
+
+        sends.get(0).complete(sent(TOPIC, 0));
+        awaitSends(4);
+        assertEquals(4, sends.size());
+
+        for (int i = 1; i < 4; i++) {
+            sends.get(i).complete(sent(TOPIC, i));
+        }
+        awaitSends(5);
+        sends.get(4).complete(sent(TOPIC, 4));
+
+        assertEquals(3, first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).successCount());
+        assertEquals(2, second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).get(TIMEOUT_SECONDS, TimeUnit.SECONDS).successCount());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void recordsWithTheSameKeyShareAPartition() throws Exception {
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> partitions = IntStream.range(0, 6)
+                .mapToObj(partition -> new PartitionInfo(TOPIC, partition, node, new Node[]{node}, new Node[]{node}))
+                .toList();
+        // the default partitioner hashes the key, as the real producer does for keyed records; the template
+        // closes its producer after each send, which a shared producer factory would not pass on
+        MockProducer<String, Object> producer = new MockProducer<>(new Cluster("test", List.of(node), partitions, Set.of(), Set.of()),
+                true, new DefaultPartitioner(), new StringSerializer(), (topic, value) -> String.valueOf(value).getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close(Duration timeout) {
+            }
+        };
+        KafkaPublisherHandler handler = new KafkaPublisherHandler(new KafkaTemplate<>(new MockProducerFactory<>(() -> producer)), publishConfig);
+
+        List<String> keys = List.of("C1", "C2", "C1", "C3", "C1", "C2");
+        BatchPublishResult result = handler.publishAll(TOPIC, List.of("p0", "p1", "p2", "p3", "p4", "p5"), keys)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(keys, producer.history().stream().map(ProducerRecord::key).toList());
+        int[] partitionOf = result.results().stream().mapToInt(PublishResult::partition).toArray();
+        assertEquals(partitionOf[0], partitionOf[2]);
+        assertEquals(partitionOf[0], partitionOf[4]);
+        assertEquals(partitionOf[1], partitionOf[5]);
+        // the keys were hashed rather than all sent to one partition
+        assertNotEquals(1, Arrays.stream(partitionOf).distinct().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void topicWithOwnSettingsUsesItsOwnTemplate() throws Exception {
+        KafkaPublishConfig.TopicSpec spec = new KafkaPublishConfig.TopicSpec();
+        spec.setLinger(Duration.ofMillis(20));
+        spec.setBatchSize(65_536);
+        spec.setCompressionType("lz4");
+        publishConfig.getTopics().put("murex-topic-bulk", spec);
+
+        ProducerFactory<String, Object> producerFactory = mock(ProducerFactory.class);
+        DefaultKafkaProducerFactory<String, Object> tunedFactory = mock(DefaultKafkaProducerFactory.class);
+        MockProducer<String, Object> tunedProducer = openProducer();
+        when(kafkaTemplate.getProducerFactory()).thenReturn(producerFactory);
+        when(producerFactory.copyWithConfigurationOverride(anyMap())).thenReturn(tunedFactory);
+        when(tunedFactory.createProducer()).thenReturn(tunedProducer);
+        KafkaPublisherHandler handler = new KafkaPublisherHandler(kafkaTemplate, publishConfig);
+
+        handler.publishAll("murex-topic-bulk", List.of("a1", "a2")).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        handler.publish("murex-topic-bulk", "a3");
+
+        // one template for the topic, built from the producer factory with the topic's settings
+        verify(producerFactory, times(1)).copyWithConfigurationOverride(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, 20L,
+                ProducerConfig.BATCH_SIZE_CONFIG, 65_536,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"));
+        assertEquals(List.of("a1", "a2", "a3"), tunedProducer.history().stream().map(ProducerRecord::value).toList());
+        verify(kafkaTemplate, never()).send(eq("murex-topic-bulk"), any(), any());
+
+        // a topic without settings keeps the shared template
+        handler.publish(TOPIC, "b1");
+        assertEquals(1, sends.size());
+
+        verify(tunedFactory, never()).destroy();
+        handler.closeTopicTemplates();
+        verify(tunedFactory).destroy();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ruchira.murex.kafka.producer;
+
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.SerializedPayload;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayloadAwareJsonSerializerTest {
+
+    private static final String TOPIC = "murex-topic";
+
+    private static HAWKMurexBookingRecord bookingRecord() {
+        return HAWKMurexBookingRecord.builder()
+                .externalReference("TR-1")
+                .transDate(LocalDate.of(2025, 8, 20))
+                .dealTime(LocalDateTime.of(2025, 8, 20, 10, 15, 30))
+                .dealType("FX Spot")
+                .internal("Y")
+                .build();
+    }
+
+    @Test
+    void encodedPayloadMatchesDefaultJsonSerializer() throws Exception {
+        HAWKMurexBookingRecord record = bookingRecord();
+        try (JsonSerializer<Object> defaultSerializer = new JsonSerializer<>()) {
+            assertArrayEquals(defaultSerializer.serialize(TOPIC, record), PayloadAwareJsonSerializer.encode(record).bytes());
+        }
+    }
+
+    @Test
+    void javaTimeValuesKeepTheirArrayForm() throws Exception {
+        String json = PayloadAwareJsonSerializer.encode(bookingRecord()).asString();
+
+        assertTrue(json.contains("\"transDate\":[2025,8,20]"), json);
+        assertTrue(json.contains("\"dealTime\":[2025,8,20,10,15,30]"), json);
+    }
+
+    @Test
+    void payloadIsPublishedAsIsWithTheTypeOfTheEncodedValue() throws Exception {
+        SerializedPayload payload = PayloadAwareJsonSerializer.encode(bookingRecord());
+        RecordHeaders headers = new RecordHeaders();
+
+        try (PayloadAwareJsonSerializer serializer = new PayloadAwareJsonSerializer()) {
+            assertArrayEquals(payload.bytes(), serializer.serialize(TOPIC, headers, payload));
+        }
+
+        Header typeHeader = headers.lastHeader("__TypeId__");
+        assertNotNull(typeHeader);
+        assertEquals(HAWKMurexBookingRecord.class.getName(), new String(typeHeader.value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void otherValuesAreSerializedLikeTheDefaultSerializer() {
+        HAWKMurexBookingRecord record = bookingRecord();
+        try (JsonSerializer<Object> defaultSerializer = new JsonSerializer<>();
+             PayloadAwareJsonSerializer serializer = new PayloadAwareJsonSerializer()) {
+            assertArrayEquals(defaultSerializer.serialize(TOPIC, record), serializer.serialize(TOPIC, record));
+        }
+    }
+}
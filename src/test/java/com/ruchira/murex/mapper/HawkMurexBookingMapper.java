@@ -14,7 +14,11 @@ import org.mapstruct.NullValueMappingStrategy;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring", nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
+/**
+ * The MapStruct mapping of a {@link MurexTrade} to its HAWK record used before {@link MurexBookingAssembler};
+ * kept as the reference the assembler is compared against
+ */
+@Mapper(nullValueMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
 public interface HawkMurexBookingMapper {
 
     @Mapping(source = "tradeReference", target = "externalReference")
@@ -0,0 +1,140 @@
+package com.ruchira.murex.mapper;
+
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingTradeLeg;
+import com.ruchira.murex.model.TransformedMurexTrade;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.model.trade.MurexTrade;
+import com.ruchira.murex.model.trade.MurexTradeLeg;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.ruchira.murex.constant.Constants.BLENDED_HISTORICAL_EXCHANGE_RATE;
+import static com.ruchira.murex.constant.Constants.FAR_LEG_TYPE;
+import static com.ruchira.murex.constant.Constants.NEAR_LEG_TYPE;
+import static com.ruchira.murex.constant.Constants.SELL_INDICATOR;
+import static com.ruchira.murex.constant.Constants.SPOT_OUTBOUND_GROUP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The assembler must produce exactly what the chained MapStruct mappers produced for the same legs
+ */
+class MurexBookingAssemblerTest {
+
+    private final MurexTradeRecordMapper tradeMapper = Mappers.getMapper(MurexTradeRecordMapper.class);
+    private final HawkMurexBookingMapper hawkMapper = Mappers.getMapper(HawkMurexBookingMapper.class);
+    private final MurexBookingAssembler assembler = new MurexBookingAssembler();
+
+    @Test
+    void singleLegMatchesChainedMappers() throws Exception {
+        TransformedMurexTrade trade = populated(1);
+        trade.setOutboundProduct(SPOT_OUTBOUND_GROUP);
+
+        MurexBookingEntry booking = assembler.assemble(trade);
+
+        MurexTrade expectedTrade = chainedTrade(List.of(trade));
+        assertNotNull(expectedTrade.getNearLeg());
+        assertEquals(expectedTrade, booking.murexTrade());
+        assertEquals(chainedRecord(expectedTrade), booking.murexBookingRecord());
+    }
+
+    @Test
+    void nearFarMatchesChainedMappers() throws Exception {
+        TransformedMurexTrade near = populated(1);
+        near.setLegIdentificationType(NEAR_LEG_TYPE);
+        near.setExchangeRateType(BLENDED_HISTORICAL_EXCHANGE_RATE);
+        TransformedMurexTrade far = populated(2);
+        far.setLegIdentificationType(FAR_LEG_TYPE);
+        far.setBsIndicator(SELL_INDICATOR);
+
+        MurexBookingEntry booking = assembler.assemble(List.of(near, far));
+
+        MurexTrade expectedTrade = chainedTrade(List.of(near, far));
+        assertNotNull(expectedTrade.getNearLeg());
+        assertNotNull(expectedTrade.getFarLeg());
+        assertEquals(expectedTrade, booking.murexTrade());
+        assertEquals(chainedRecord(expectedTrade), booking.murexBookingRecord());
+    }
+
+    @Test
+    void singleLegHasNoFarLeg() throws Exception {
+        MurexBookingEntry booking = assembler.assemble(populated(1));
+
+        assertNull(booking.murexTrade().getFarLeg());
+        assertNull(booking.murexBookingRecord().getFarLeg());
+    }
+
+    /**
+     * The trade graph as the strategies built it with {@link MurexTradeRecordMapper}
+     */
+    private MurexTrade chainedTrade(List<TransformedMurexTrade> legs) {
+        MurexTrade murexTrade = tradeMapper.toMurexTrade(legs.getFirst());
+        for (TransformedMurexTrade source : legs) {
+            MurexTradeLeg leg = tradeMapper.toMurexTradeLeg(source);
+            leg.setComponents(List.of(tradeMapper.toMurexTradeLegComponent(source)));
+            leg.setAdditionalFields(tradeMapper.toMurexTradeLegAdditionalFields(source));
+            if (FAR_LEG_TYPE.equals(source.getLegIdentificationType())) {
+                murexTrade.setFarLeg(leg);
+            } else {
+                murexTrade.setNearLeg(leg);
+            }
+        }
+        return murexTrade;
+    }
+
+    /**
+     * The HAWK record as the downstream adapter mapped it from the trade graph with {@link HawkMurexBookingMapper}
+     */
+    private HAWKMurexBookingRecord chainedRecord(MurexTrade murexTrade) {
+        HAWKMurexBookingRecord record = hawkMapper.toHawkMurexBooking(murexTrade);
+        if (murexTrade.getNearLeg() != null) {
+            record.setNearLeg(chainedLeg(murexTrade.getNearLeg()));
+        }
+        if (murexTrade.getFarLeg() != null) {
+            record.setFarLeg(chainedLeg(murexTrade.getFarLeg()));
+        }
+        return record;
+    }
+
+    private HAWKMurexBookingTradeLeg chainedLeg(MurexTradeLeg leg) {
+        HAWKMurexBookingTradeLeg hawkLeg = hawkMapper.toHawkMurexTradeLeg(leg);
+        hawkLeg.setComponents(hawkMapper.toHawkMurexTradeLegComponents(leg.getComponents()));
+        hawkLeg.setAdditionalFields(hawkMapper.toHawkMurexTradeLegAdditionalFields(leg.getAdditionalFields()));
+        return hawkLeg;
+    }
+
+    /**
+     * A leg with every field set to a value distinct per field and per {@code seed}
+     */
+    private static TransformedMurexTrade populated(int seed) throws IllegalAccessException {
+        TransformedMurexTrade trade = new TransformedMurexTrade();
+        int ordinal = 0;
+        for (Field field : TransformedMurexTrade.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            ordinal++;
+            field.setAccessible(true);
+            Class<?> type = field.getType();
+            if (type == String.class) {
+                field.set(trade, field.getName() + "-" + seed);
+            } else if (type == BigDecimal.class) {
+                field.set(trade, new BigDecimal(seed * 1000 + ordinal + ".25"));
+            } else if (type == LocalDate.class) {
+                field.set(trade, LocalDate.of(2025, 1, 1).plusDays(seed * 100L + ordinal));
+            } else if (type == LocalDateTime.class) {
+                field.set(trade, LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(seed * 100L + ordinal));
+            }
+        }
+        return trade;
+    }
+}
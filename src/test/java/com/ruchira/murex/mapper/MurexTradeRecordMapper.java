@@ -9,7 +9,11 @@ import com.ruchira.murex.model.*;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring", imports = MurexTradingHelper.class)
+/**
+ * The per-part MapStruct mapping the generated trades were built with before {@link MurexBookingAssembler};
+ * kept as the reference the assembler is compared against
+ */
+@Mapper(imports = MurexTradingHelper.class)
 public interface MurexTradeRecordMapper {
 
     @Mapping(source = "traceId", target = "tradeReference")
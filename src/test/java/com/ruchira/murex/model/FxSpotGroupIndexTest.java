@@ -0,0 +1,82 @@
+package com.ruchira.murex.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.ruchira.murex.constant.Constants.FX_NDF_TYPOLOGY;
+import static com.ruchira.murex.constant.Constants.FX_SPOT_TYPOLOGY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FxSpotGroupIndexTest {
+
+    private static GroupedRecord group(String contract, String comment0, String navType, String typology) {
+        return new GroupedRecord(contract, comment0, navType, typology, List.of());
+    }
+
+    /**
+     * The lookup the index replaced: a scan over every grouped record of the instruction
+     */
+    private static Optional<GroupedRecord> scan(List<GroupedRecord> groups, String navType, String comment0, String excludeContract) {
+        return groups.stream().filter(record ->
+                record.getTypology().equals(FX_SPOT_TYPOLOGY)
+                        && record.getNavType().equals(navType)
+                        && record.getComment0().equals(comment0)
+                        && !record.getContract().equals(excludeContract)
+        ).findAny();
+    }
+
+    @Test
+    void findsTheFxSpotGroupOfAnotherContract() {
+        GroupedRecord spot = group("C2", "HEDGE-1", "NAV", FX_SPOT_TYPOLOGY);
+        FxSpotGroupIndex index = FxSpotGroupIndex.of(List.of(group("C1", "HEDGE-1", "NAV", FX_NDF_TYPOLOGY), spot));
+
+        assertSame(spot, index.find("NAV", "HEDGE-1", "C1").orElseThrow());
+        // the referencing record's own contract is never its match
+        assertTrue(index.find("NAV", "HEDGE-1", "C2").isEmpty());
+    }
+
+    @Test
+    void onlyFxSpotGroupsAreIndexed() {
+        FxSpotGroupIndex index = FxSpotGroupIndex.of(List.of(
+                group("C1", "HEDGE-1", "NAV", FX_NDF_TYPOLOGY), group("C2", "HEDGE-1", "NAV", "FX Swap")));
+
+        assertSame(FxSpotGroupIndex.EMPTY, index);
+        assertEquals(0, index.size());
+        assertTrue(index.find("NAV", "HEDGE-1", "C0").isEmpty());
+    }
+
+    @Test
+    void matchesTheScanItReplaced() {
+        List<GroupedRecord> groups = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String typology = i % 3 == 0 ? FX_NDF_TYPOLOGY : FX_SPOT_TYPOLOGY;
+            groups.add(group("C" + (i % 7), "HEDGE-" + (i % 4), i % 2 == 0 ? "NAV" : "RESERVE", typology));
+        }
+        FxSpotGroupIndex index = FxSpotGroupIndex.of(groups);
+
+        assertEquals(groups.stream().filter(group -> FX_SPOT_TYPOLOGY.equals(group.getTypology())).count(), index.size());
+        for (String navType : List.of("NAV", "RESERVE", "OTHER")) {
+            for (int comment = 0; comment < 5; comment++) {
+                for (int contract = 0; contract < 8; contract++) {
+                    String comment0 = "HEDGE-" + comment;
+                    String excluded = "C" + contract;
+                    Optional<GroupedRecord> found = index.find(navType, comment0, excluded);
+                    assertEquals(scan(groups, navType, comment0, excluded).isPresent(), found.isPresent(),
+                            () -> navType + "/" + comment0 + "/" + excluded);
+                    found.ifPresent(record -> {
+                        assertEquals(FX_SPOT_TYPOLOGY, record.getTypology());
+                        assertEquals(navType, record.getNavType());
+                        assertEquals(comment0, record.getComment0());
+                        assertNotEquals(excluded, record.getContract());
+                    });
+                }
+            }
+        }
+    }
+}
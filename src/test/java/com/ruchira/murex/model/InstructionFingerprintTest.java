@@ -0,0 +1,75 @@
+package com.ruchira.murex.model;
+
+import com.ruchira.murex.dto.InstructionRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InstructionFingerprintTest {
+
+    private static InstructionRequestDto request(String currency, String externalTradeIds) {
+        InstructionRequestDto dto = new InstructionRequestDto();
+        dto.setBusinessDate("2025-08-20");
+        dto.setInstructionEvent("INCEPTION");
+        dto.setHedgeMethod("COH");
+        dto.setHedgeInstrumentType("FX_SPOT");
+        dto.setCurrency(currency);
+        dto.setExternalTradeIds(externalTradeIds);
+        return dto;
+    }
+
+    @Test
+    void textFieldsAreKeptAsSent() {
+        InstructionRequestDto padded = request("USD", "T1:T2");
+        padded.setBusinessDate(" 2025-08-20 ");
+
+        assertNotEquals(InstructionFingerprint.of(request("USD", "T1:T2")), InstructionFingerprint.of(padded));
+        assertEquals(" 2025-08-20 ", InstructionFingerprint.of(padded).businessDate());
+    }
+
+    @Test
+    void currencyKeepsItsCase() {
+        InstructionFingerprint fingerprint = InstructionFingerprint.of(request("usd", "T1"));
+
+        assertEquals("usd", fingerprint.currency());
+        assertNotEquals(InstructionFingerprint.of(request("USD", "T1")), fingerprint);
+    }
+
+    @Test
+    void externalTradeIdsAreTrimmed() {
+        assertEquals(InstructionFingerprint.of(request("USD", "T1:T2")), InstructionFingerprint.of(request("USD", " T1 : T2 ")));
+    }
+
+    @Test
+    void otherFieldsKeepTheirCase() {
+        InstructionRequestDto lowerCaseEvent = request("USD", "T1");
+        lowerCaseEvent.setInstructionEvent("inception");
+
+        assertNotEquals(InstructionFingerprint.of(request("USD", "T1")), InstructionFingerprint.of(lowerCaseEvent));
+    }
+
+    @Test
+    void externalTradeIdsIgnoreOrderAndDuplicates() {
+        InstructionFingerprint fingerprint = InstructionFingerprint.of(request("USD", "T3:T1:T2:T1::T3"));
+
+        assertEquals(List.of("T1", "T2", "T3"), fingerprint.externalTradeIds());
+        assertEquals(InstructionFingerprint.of(request("USD", "T1:T2:T3")), fingerprint);
+    }
+
+    @Test
+    void differentExternalTradeIdsDiffer() {
+        assertNotEquals(InstructionFingerprint.of(request("USD", "T1:T2")), InstructionFingerprint.of(request("USD", "T1:T2:T3")));
+    }
+
+    @Test
+    void missingValuesAreKept() {
+        InstructionFingerprint fingerprint = InstructionFingerprint.of(request(null, null));
+
+        assertNull(fingerprint.currency());
+        assertEquals(List.of(), fingerprint.externalTradeIds());
+    }
+}
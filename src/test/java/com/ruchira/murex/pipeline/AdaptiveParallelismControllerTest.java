@@ -0,0 +1,82 @@
+package com.ruchira.murex.pipeline;
+
+import com.ruchira.murex.config.ConcurrencyConfig;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveParallelismControllerTest {
+
+    private final ConcurrencyConfig config = new ConcurrencyConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Timer acquireTimer;
+
+    @BeforeEach
+    void setUp() {
+        config.setMinInFlight(2);
+        config.setMaxInFlight(16);
+        config.setTargetPoolWait(Duration.ofMillis(10));
+        config.setAdjustInterval(Duration.ZERO);
+        acquireTimer = meterRegistry.timer(AdaptiveParallelismController.POOL_ACQUIRE_METRIC);
+    }
+
+    private void acquisitions(int count, Duration wait) {
+        for (int i = 0; i < count; i++) {
+            acquireTimer.record(wait);
+        }
+    }
+
+    @Test
+    void waitsBeforeTheFirstSampleOnlySeedTheBaseline() {
+        // a slow warm-up before the controller first looks at the pool
+        acquisitions(10, Duration.ofMillis(500));
+        AdaptiveParallelismController controller = new AdaptiveParallelismController(config, meterRegistry);
+
+        assertEquals(16, controller.currentLimit());
+
+        acquisitions(10, Duration.ofMillis(1));
+        assertEquals(16, controller.currentLimit());
+    }
+
+    @Test
+    void slowAcquisitionsHalveTheLimitAndFastOnesGrowIt() {
+        AdaptiveParallelismController controller = new AdaptiveParallelismController(config, meterRegistry);
+        assertEquals(16, controller.currentLimit());
+
+        acquisitions(10, Duration.ofMillis(50));
+        assertEquals(8, controller.currentLimit());
+        acquisitions(10, Duration.ofMillis(50));
+        assertEquals(4, controller.currentLimit());
+
+        acquisitions(10, Duration.ofMillis(1));
+        assertEquals(5, controller.currentLimit());
+        // nothing acquired since: the limit holds
+        assertEquals(5, controller.currentLimit());
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        AdaptiveParallelismController controller = new AdaptiveParallelismController(config, meterRegistry);
+        controller.currentLimit();
+
+        for (int i = 0; i < 5; i++) {
+            acquisitions(10, Duration.ofMillis(50));
+            controller.currentLimit();
+        }
+        assertEquals(2, controller.currentLimit());
+    }
+
+    @Test
+    void configuredMaximumWhenNotAdaptive() {
+        config.setAdaptive(false);
+        AdaptiveParallelismController controller = new AdaptiveParallelismController(config, meterRegistry);
+
+        acquisitions(10, Duration.ofMillis(50));
+        assertEquals(16, controller.currentLimit());
+    }
+}
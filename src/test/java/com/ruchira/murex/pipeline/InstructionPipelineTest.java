@@ -0,0 +1,180 @@
+package com.ruchira.murex.pipeline;
+
+import com.ruchira.murex.config.PipelineConfig;
+import com.ruchira.murex.dto.StgMrxExtDmcDto;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.model.AggregatedDataResponse;
+import com.ruchira.murex.model.GroupedRecord;
+import com.ruchira.murex.model.RecordProcessingResult;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.model.trade.MurexTrade;
+import com.ruchira.murex.util.ConcurrencyUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static com.ruchira.murex.constant.Constants.FX_SPOT_TYPOLOGY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstructionPipelineTest {
+
+    private static final List<String> CONTRACTS = IntStream.rangeClosed(1, 5).mapToObj(i -> "C" + i).toList();
+
+    private final PipelineConfig config = new PipelineConfig();
+    private final PipelineQueueMonitor monitor = new PipelineQueueMonitor(new SimpleMeterRegistry());
+
+    /**
+     * DMC rows written in the open transaction, and those that were committed
+     */
+    private final List<StgMrxExtDmcDto> pending = new ArrayList<>();
+    private final List<StgMrxExtDmcDto> committed = new ArrayList<>();
+    private int commits;
+    private int rollbacks;
+
+    /**
+     * Trades handed over, and whether a transaction was active at the time
+     */
+    private final List<MurexBookingEntry> handedOver = new ArrayList<>();
+    private final List<Boolean> handedOverInTransaction = new ArrayList<>();
+
+    /**
+     * Makes written rows visible only once their transaction commits, as the database does
+     */
+    private final class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            committed.addAll(pending);
+            pending.clear();
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            pending.clear();
+            rollbacks++;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        config.setTransformWorkers(2);
+    }
+
+    private static AggregatedDataResponse row(String contract) {
+        AggregatedDataResponse row = new AggregatedDataResponse();
+        row.setContract(contract);
+        row.setTypologyMx3(FX_SPOT_TYPOLOGY);
+        return row;
+    }
+
+    /**
+     * One DMC row and one trade per group, both named after its contract
+     */
+    private static RecordProcessingResult transform(GroupedRecord record) {
+        StgMrxExtDmcDto dmc = new StgMrxExtDmcDto();
+        dmc.setTxnId(record.getContract());
+        MurexTrade trade = new MurexTrade();
+        trade.setTradeReference(record.getContract());
+        return new RecordProcessingResult(List.of(dmc), List.of(new MurexBookingEntry(trade, new HAWKMurexBookingRecord())));
+    }
+
+    private void handOver(List<MurexBookingEntry> trades) {
+        handedOverInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive() && committed.isEmpty());
+        handedOver.addAll(trades);
+    }
+
+    private InstructionPipeline pipeline(Consumer<List<MurexBookingEntry>> tradePublisher) {
+        ConcurrencyUtil.RecordSource<AggregatedDataResponse> rows = sink -> CONTRACTS.forEach(contract -> sink.accept(row(contract)));
+        return new InstructionPipeline(config, monitor, new TransactionTemplate(new RecordingTransactionManager()),
+                new InstructionPipeline.StageHandlers(rows, (record, fxSpotGroups) -> transform(record), pending::addAll, tradePublisher));
+    }
+
+    @Test
+    void allOrNoneHandsTradesOverBeforeTheSingleCommit() throws Exception {
+        PipelineReport report = pipeline(this::handOver).run();
+
+        assertEquals(1, commits);
+        assertEquals(CONTRACTS.size(), committed.size());
+        assertEquals(CONTRACTS.size(), handedOver.size());
+        // inside the transaction, before its rows were committed
+        assertEquals(List.of(true), handedOverInTransaction);
+        assertEquals(CONTRACTS.size(), report.dmcRowsPersisted());
+        assertEquals(CONTRACTS.size(), report.tradesPublished());
+    }
+
+    @Test
+    void failedHandOverLeavesNoDmcRowsBehind() {
+        IllegalStateException failure = new IllegalStateException("publish stage unavailable");
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> pipeline(trades -> {
+            throw failure;
+        }).run());
+
+        assertSame(failure, thrown.getCause());
+        assertEquals(List.of(), committed);
+        assertEquals(List.of(), pending);
+        assertEquals(0, commits);
+        assertEquals(1, rollbacks);
+    }
+
+    @Test
+    void failedTransformWritesNothing() {
+        IllegalStateException failure = new IllegalStateException("no rule configuration");
+        ConcurrencyUtil.RecordSource<AggregatedDataResponse> rows = sink -> CONTRACTS.forEach(contract -> sink.accept(row(contract)));
+        InstructionPipeline pipeline = new InstructionPipeline(config, monitor, new TransactionTemplate(new RecordingTransactionManager()),
+                new InstructionPipeline.StageHandlers(rows, (record, fxSpotGroups) -> {
+                    if ("C3".equals(record.getContract())) {
+                        throw failure;
+                    }
+                    return transform(record);
+                }, pending::addAll, this::handOver));
+
+        assertThrows(ExecutionException.class, pipeline::run);
+
+        assertEquals(List.of(), committed);
+        assertEquals(0, commits);
+        assertEquals(List.of(), handedOver);
+    }
+
+    @Test
+    void incrementalCommitsEveryBatchWithItsTrades() throws Exception {
+        config.setDmcCommitMode(PipelineConfig.DmcCommitMode.INCREMENTAL);
+        config.setDmcBatchSize(2);
+        List<Integer> committedAtHandOver = new ArrayList<>();
+
+        pipeline(trades -> {
+            assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            committedAtHandOver.add(committed.size());
+            handedOver.addAll(trades);
+        }).run();
+
+        // two full batches and the remainder, each handed over before its own commit
+        assertEquals(3, commits);
+        assertEquals(List.of(0, 2, 4), committedAtHandOver);
+        assertEquals(CONTRACTS.size(), committed.size());
+        assertEquals(CONTRACTS.size(), handedOver.size());
+    }
+}
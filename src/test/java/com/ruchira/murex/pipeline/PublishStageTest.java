@@ -0,0 +1,182 @@
+package com.ruchira.murex.pipeline;
+
+import com.ruchira.murex.config.PersistenceConfig;
+import com.ruchira.murex.config.PublishStageConfig;
+import com.ruchira.murex.kafka.model.BatchPublishResult;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.kafka.model.PublishResult;
+import com.ruchira.murex.kafka.model.SerializedPayload;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.model.trade.MurexTrade;
+import com.ruchira.murex.parser.JsonParser;
+import com.ruchira.murex.service.MurexDownStreamProcessAdapter;
+import com.ruchira.murex.service.TradeDataHandlerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_PUBLISHED;
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_STORED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Trade accounting of the publish report: every submitted trade ends up either published or failed
+ */
+class PublishStageTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final TradeDataHandlerService tradeDataHandlerService = mock(TradeDataHandlerService.class);
+    private final MurexDownStreamProcessAdapter downStreamAdapter = mock(MurexDownStreamProcessAdapter.class);
+    private final JsonParser jsonParser = mock(JsonParser.class);
+    private final PersistenceConfig persistenceConfig = new PersistenceConfig();
+    private PublishStage publishStage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // every record serializes and every send succeeds unless the trade reference says otherwise
+        when(jsonParser.serializeToPayload(any())).thenAnswer(invocation -> {
+            HAWKMurexBookingRecord bookingRecord = invocation.getArgument(0);
+            if ("UNREADABLE".equals(bookingRecord.getExternalReference())) {
+                throw new IllegalStateException("cannot serialize");
+            }
+            return new SerializedPayload(HAWKMurexBookingRecord.class, bookingRecord.getExternalReference().getBytes(StandardCharsets.UTF_8));
+        });
+        when(downStreamAdapter.publishHawkMurexTradesToDownStream(anyList())).thenAnswer(invocation -> {
+            List<MurexBookingEntry> bookings = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(new BatchPublishResult("murex-topic", IntStream.range(0, bookings.size())
+                    .mapToObj(i -> tradeReferenceOf(bookings.get(i)).startsWith("UNSENT")
+                            ? PublishResult.failed(i, "murex-topic", new IllegalStateException("broker unavailable"))
+                            : PublishResult.success(i, "murex-topic", 0, i))
+                    .toList()));
+        });
+        publishStage = new PublishStage(tradeDataHandlerService, downStreamAdapter, jsonParser, persistenceConfig, new PublishStageConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        publishStage.shutdown();
+    }
+
+    private static MurexBookingEntry booking(String tradeReference) {
+        MurexTrade trade = new MurexTrade();
+        trade.setTradeReference(tradeReference);
+        HAWKMurexBookingRecord bookingRecord = new HAWKMurexBookingRecord();
+        bookingRecord.setExternalReference(tradeReference);
+        return new MurexBookingEntry(trade, bookingRecord);
+    }
+
+    private static String tradeReferenceOf(MurexBookingEntry booking) {
+        return booking.murexTrade().getTradeReference();
+    }
+
+    private static Set<String> failedTrades(PublishReport report) {
+        return report.failures().stream().map(PublishReport.TradeFailure::tradeReference).collect(Collectors.toSet());
+    }
+
+    private PublishReport publish(List<MurexBookingEntry> bookings) throws Exception {
+        PublishJob job = publishStage.open("test");
+        publishStage.submit(job, bookings);
+        job.seal();
+        return job.completion().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void everyTradeIsPublishedOrFailed() throws Exception {
+        PublishReport report = publish(List.of(booking("T1"), booking("UNREADABLE"), booking("UNSENT-1"), booking("T2")));
+
+        assertEquals(PublishReport.Status.COMPLETED, report.status());
+        assertEquals(4L, report.tradesSubmitted());
+        assertEquals(2L, report.tradesPublished());
+        assertEquals(2L, report.tradesFailed());
+        assertEquals(Set.of("UNREADABLE", "UNSENT-1"), failedTrades(report));
+        // only the sent bookings move on from STORED
+        verify(tradeDataHandlerService).updateMurexBookingStatus(List.of("T1", "T2"), BOOKING_STATUS_PUBLISHED, BOOKING_STATUS_STORED);
+    }
+
+    @Test
+    void tradeThatCannotBeStoredIsNotSent() throws Exception {
+        doAnswer(invocation -> {
+            List<MurexBookingEntry> bookings = invocation.getArgument(0);
+            if (bookings.stream().anyMatch(booking -> "UNSTORABLE".equals(tradeReferenceOf(booking)))) {
+                throw new IllegalStateException("duplicate trade reference");
+            }
+            return null;
+        }).when(tradeDataHandlerService).publishMurexBookingsToDatabase(anyList());
+
+        PublishReport report = publish(List.of(booking("T1"), booking("UNSTORABLE"), booking("T2")));
+
+        assertEquals(3L, report.tradesSubmitted());
+        assertEquals(2L, report.tradesPublished());
+        assertEquals(1L, report.tradesFailed());
+        assertEquals(Set.of("UNSTORABLE"), failedTrades(report));
+        verify(downStreamAdapter).publishHawkMurexTradesToDownStream(
+                argThat(bookings -> bookings.stream().map(PublishStageTest::tradeReferenceOf).toList().equals(List.of("T1", "T2"))));
+    }
+
+    @Test
+    void perTradeTasksAreCountedLikeOneBatch() throws Exception {
+        persistenceConfig.setBulkBookingInsert(false);
+
+        PublishReport report = publish(List.of(booking("T1"), booking("UNSENT-1"), booking("T2")));
+
+        assertEquals(3L, report.tradesSubmitted());
+        assertEquals(2L, report.tradesPublished());
+        assertEquals(1L, report.tradesFailed());
+    }
+
+    @Test
+    void jobCompletesOnlyOnceSealed() throws Exception {
+        PublishJob job = publishStage.open("test");
+        publishStage.submit(job, List.of(booking("T1")));
+        publishStage.submit(job, List.of(booking("T2")));
+
+        Thread.sleep(100);
+        assertFalse(job.completion().isDone());
+        assertEquals(2L, job.report().tradesSubmitted());
+
+        job.seal();
+        assertEquals(2L, job.completion().get(TIMEOUT_SECONDS, TimeUnit.SECONDS).tradesPublished());
+        assertEquals(job.completion().join(), publishStage.report(job.id()).orElseThrow());
+    }
+
+    @Test
+    void tradesOfARolledBackTransactionAreFailedAndNotSent() throws Exception {
+        PublishJob job = publishStage.open("test");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            publishStage.submit(job, List.of(booking("T1"), booking("T2")));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        job.seal();
+
+        PublishReport report = job.completion().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(2L, report.tradesSubmitted());
+        assertEquals(0L, report.tradesPublished());
+        assertEquals(2L, report.tradesFailed());
+        verify(tradeDataHandlerService, never()).publishMurexBookingsToDatabase(anyList());
+        verify(downStreamAdapter, never()).publishHawkMurexTradesToDownStream(anyList());
+    }
+}
@@ -0,0 +1,156 @@
+package com.ruchira.murex.repository;
+
+import com.ruchira.murex.config.PersistenceConfig;
+import com.ruchira.murex.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.ruchira.murex.constant.Constants.MUREX_ID_SEQUENCES;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SequenceIdAllocatorTest {
+
+    private static final String SEQUENCE = "seq_h_murex_booking";
+    private static final String NEXTVAL = "SELECT NEXTVAL(" + SEQUENCE + ")";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+    private final PersistenceConfig persistenceConfig = new PersistenceConfig();
+    private SequenceIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+        allocator = new SequenceIdAllocator(jdbcTemplate, persistenceConfig);
+    }
+
+    /**
+     * Back the sequence with a counter advancing by the allocation size, as INCREMENT BY does
+     */
+    private void sequenceStartingAt(long start) {
+        AtomicLong sequence = new AtomicLong(start);
+        when(jdbcOperations.queryForObject(NEXTVAL, Long.class))
+                .thenAnswer(invocation -> sequence.getAndAdd(persistenceConfig.getIdAllocationSize()));
+    }
+
+    @Test
+    void blocksAreHandedOutOnceAcrossThreads() throws Exception {
+        persistenceConfig.setIdAllocationSize(10);
+        sequenceStartingAt(1);
+        int threads = 32;
+        int idsPerThread = 500;
+
+        List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids.add(allocator.nextId(SEQUENCE));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        int total = threads * idsPerThread;
+        Set<Long> distinct = new HashSet<>(ids);
+        assertEquals(total, distinct.size());
+        // every reserved block is used up before the next one is reserved, so the ids are contiguous
+        assertEquals(LongStream.rangeClosed(1, total).boxed().collect(Collectors.toSet()), distinct);
+        verify(jdbcOperations, times(total / 10)).queryForObject(NEXTVAL, Long.class);
+    }
+
+    @Test
+    void nextBlockIsReservedAtTheBoundary() {
+        persistenceConfig.setIdAllocationSize(3);
+        // another instance reserved the blocks in between
+        when(jdbcOperations.queryForObject(NEXTVAL, Long.class)).thenReturn(1L, 101L);
+
+        assertEquals(List.of(1L, 2L, 3L), List.of(allocator.nextId(SEQUENCE), allocator.nextId(SEQUENCE), allocator.nextId(SEQUENCE)));
+        verify(jdbcOperations, times(1)).queryForObject(NEXTVAL, Long.class);
+
+        assertEquals(101L, allocator.nextId(SEQUENCE));
+        verify(jdbcOperations, times(2)).queryForObject(NEXTVAL, Long.class);
+        assertEquals(102L, allocator.nextId(SEQUENCE));
+        assertEquals(103L, allocator.nextId(SEQUENCE));
+        verify(jdbcOperations, times(2)).queryForObject(NEXTVAL, Long.class);
+    }
+
+    @Test
+    void sequencesKeepSeparateBlocks() {
+        persistenceConfig.setIdAllocationSize(5);
+        sequenceStartingAt(1);
+        when(jdbcOperations.queryForObject("SELECT NEXTVAL(seq_other)", Long.class)).thenReturn(500L);
+
+        assertEquals(1L, allocator.nextId(SEQUENCE));
+        assertEquals(500L, allocator.nextId("seq_other"));
+        assertEquals(2L, allocator.nextId(SEQUENCE));
+        assertEquals(501L, allocator.nextId("seq_other"));
+    }
+
+    @Test
+    void invalidSequenceNameIsRejected() {
+        assertThrows(BusinessException.class, () -> allocator.nextId("seq; DROP TABLE h_murex_booking"));
+        verify(jdbcOperations, never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void failedReservationIsReported() {
+        when(jdbcOperations.queryForObject(NEXTVAL, Long.class)).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(BusinessException.class, () -> allocator.nextId(SEQUENCE));
+    }
+
+    @Test
+    void matchingIncrementsPassVerification() {
+        persistenceConfig.setIdAllocationSize(100);
+        MUREX_ID_SEQUENCES.forEach(sequence ->
+                when(jdbcOperations.queryForObject("SELECT increment FROM " + sequence, Long.class)).thenReturn(100L));
+
+        assertDoesNotThrow(allocator::verifySequenceIncrements);
+    }
+
+    @Test
+    void mismatchedIncrementFailsVerification() {
+        persistenceConfig.setIdAllocationSize(100);
+        MUREX_ID_SEQUENCES.forEach(sequence ->
+                when(jdbcOperations.queryForObject("SELECT increment FROM " + sequence, Long.class)).thenReturn(1L));
+
+        assertThrows(BusinessException.class, allocator::verifySequenceIncrements);
+    }
+
+    @Test
+    void verificationCanBeDisabled() {
+        persistenceConfig.setVerifyIdSequences(false);
+
+        assertDoesNotThrow(allocator::verifySequenceIncrements);
+        verify(jdbcOperations, never()).queryForObject(anyString(), eq(Long.class));
+    }
+}
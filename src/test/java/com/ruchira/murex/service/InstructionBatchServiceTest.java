@@ -0,0 +1,184 @@
+package com.ruchira.murex.service;
+
+import com.ruchira.murex.dto.InstructionRequestDto;
+import com.ruchira.murex.dto.StgMrxExtDmcDto;
+import com.ruchira.murex.kafka.model.HAWKMurexBookingRecord;
+import com.ruchira.murex.model.AggregatedDataResponse;
+import com.ruchira.murex.model.InstructionBatchResult;
+import com.ruchira.murex.model.InstructionOutcome;
+import com.ruchira.murex.model.MurexBookingConfigMemo;
+import com.ruchira.murex.model.RecordProcessingResult;
+import com.ruchira.murex.model.trade.MurexBookingEntry;
+import com.ruchira.murex.model.trade.MurexTrade;
+import com.ruchira.murex.pipeline.PublishJob;
+import com.ruchira.murex.pipeline.PublishReport;
+import com.ruchira.murex.pipeline.PublishStage;
+import com.ruchira.murex.service.InboundInstructionProcessingService.ReferenceData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InstructionBatchServiceTest {
+
+    private static final String BUSINESS_DATE = "2025-08-20";
+    private static final String INSTRUMENT_TYPE = "FX_SPOT";
+
+    private final InboundInstructionProcessingService processingService = mock(InboundInstructionProcessingService.class);
+    private final TradeDataHandlerService tradeDataHandlerService = mock(TradeDataHandlerService.class);
+    private final PublishStage publishStage = mock(PublishStage.class);
+    private final PublishJob publishJob = mock(PublishJob.class);
+    private final InstructionBatchService batchService = new InstructionBatchService(processingService, tradeDataHandlerService, publishStage);
+
+    /**
+     * Rows handed to the transformation, by the external trade ids of the instruction
+     */
+    private final Map<String, List<String>> transformedContracts = new HashMap<>();
+    /**
+     * Result returned by the transformation, by the external trade ids of the instruction
+     */
+    private final Map<String, RecordProcessingResult> results = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(processingService.fetchReferenceData(any(), any(), any()))
+                .thenReturn(new ReferenceData(List.of(), Map.of(), new MurexBookingConfigMemo()));
+        when(processingService.transformRows(any(), anyList(), any(), any())).thenAnswer(invocation -> {
+            InstructionRequestDto request = invocation.getArgument(0);
+            List<AggregatedDataResponse> rows = invocation.getArgument(1);
+            transformedContracts.put(request.getExternalTradeIds(), rows.stream().map(AggregatedDataResponse::getContract).toList());
+            return results.computeIfAbsent(request.getExternalTradeIds(), InstructionBatchServiceTest::result);
+        });
+        when(publishStage.open(anyString())).thenReturn(publishJob);
+        when(publishJob.report()).thenReturn(new PublishReport("job-1", "batch", PublishReport.Status.RUNNING, 0L, 0L, 0L, List.of(), 0L));
+    }
+
+    private static InstructionRequestDto request(String currency, String externalTradeIds) {
+        InstructionRequestDto dto = new InstructionRequestDto();
+        dto.setBusinessDate(BUSINESS_DATE);
+        dto.setInstructionEvent("INCEPTION");
+        dto.setHedgeMethod("COH");
+        dto.setHedgeInstrumentType(INSTRUMENT_TYPE);
+        dto.setCurrency(currency);
+        dto.setExternalTradeIds(externalTradeIds);
+        return dto;
+    }
+
+    private static AggregatedDataResponse row(String contract) {
+        AggregatedDataResponse row = new AggregatedDataResponse();
+        row.setContract(contract);
+        return row;
+    }
+
+    /**
+     * One DMC row and one booking, both named after the instruction
+     */
+    private static RecordProcessingResult result(String externalTradeIds) {
+        StgMrxExtDmcDto dmc = new StgMrxExtDmcDto();
+        dmc.setTxnId(externalTradeIds);
+        MurexTrade trade = new MurexTrade();
+        trade.setTradeReference(externalTradeIds);
+        return new RecordProcessingResult(List.of(dmc), List.of(new MurexBookingEntry(trade, new HAWKMurexBookingRecord())));
+    }
+
+    private static Set<String> contractsOf(String externalTradeIds) {
+        return Set.of(externalTradeIds.split(":"));
+    }
+
+    @Test
+    void rowsOfContractUnionGoBackToTheirInstructions() throws Exception {
+        when(tradeDataHandlerService.fetchData(eq(BUSINESS_DATE), anyString(), eq(INSTRUMENT_TYPE), eq("USD")))
+                .thenReturn(List.of(row("C1"), row("C2"), row("C3"), row("C2")));
+        when(tradeDataHandlerService.fetchData(eq(BUSINESS_DATE), anyString(), eq(INSTRUMENT_TYPE), eq("EUR")))
+                .thenReturn(List.of(row("C4")));
+
+        InstructionBatchResult result = batchService.processBatch(List.of(
+                request("USD", "C1:C2"), request("USD", "C2:C3"), request("EUR", "C4")));
+
+        // one fetch per currency, over the union of the contracts of its instructions
+        ArgumentCaptor<String> usdContracts = ArgumentCaptor.forClass(String.class);
+        verify(tradeDataHandlerService).fetchData(eq(BUSINESS_DATE), usdContracts.capture(), eq(INSTRUMENT_TYPE), eq("USD"));
+        assertEquals(Set.of("C1", "C2", "C3"), contractsOf(usdContracts.getValue()));
+        verify(tradeDataHandlerService).fetchData(BUSINESS_DATE, "C4", INSTRUMENT_TYPE, "EUR");
+
+        assertEquals(List.of("C1", "C2", "C2"), transformedContracts.get("C1:C2"));
+        assertEquals(List.of("C2", "C3", "C2"), transformedContracts.get("C2:C3"));
+        assertEquals(List.of("C4"), transformedContracts.get("C4"));
+        assertEquals(3, result.succeeded());
+    }
+
+    @Test
+    void fetchBindsTheValuesAsSent() throws Exception {
+        when(tradeDataHandlerService.fetchData(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of(row("C1"), row("C2")));
+
+        batchService.processBatch(List.of(request("usd", "C1"), request("USD", "C2")));
+
+        // a lower-case currency is not fetched as if it were upper-case, nor grouped with it
+        verify(tradeDataHandlerService).fetchData(BUSINESS_DATE, "C1", INSTRUMENT_TYPE, "usd");
+        verify(tradeDataHandlerService).fetchData(BUSINESS_DATE, "C2", INSTRUMENT_TYPE, "USD");
+    }
+
+    @Test
+    void failedCombinedDmcInsertFallsBackPerInstruction() throws Exception {
+        when(tradeDataHandlerService.fetchData(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of(row("C1"), row("C2"), row("C3")));
+        // the combined insert fails because of the rows of the second instruction alone
+        doAnswer(invocation -> {
+            List<StgMrxExtDmcDto> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(dmc -> "C2".equals(dmc.getTxnId()))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return null;
+        }).when(tradeDataHandlerService).insertStgMrxExtDmcRecordsToDatabase(anyList());
+
+        InstructionBatchResult result = batchService.processBatch(List.of(
+                request("USD", "C1"), request("USD", "C2"), request("USD", "C3")));
+
+        // one combined attempt, then one insert per instruction
+        verify(tradeDataHandlerService, times(4)).insertStgMrxExtDmcRecordsToDatabase(anyList());
+        List<InstructionOutcome> outcomes = result.outcomes();
+        assertEquals(InstructionOutcome.Status.SUCCEEDED, outcomes.get(0).status());
+        assertEquals(InstructionOutcome.Status.FAILED, outcomes.get(1).status());
+        assertEquals(InstructionOutcome.Status.SUCCEEDED, outcomes.get(2).status());
+        assertNull(outcomes.get(0).failure());
+        assertNotNull(outcomes.get(1).failure());
+        assertEquals(1L, outcomes.get(0).dmcRows());
+        assertEquals(0L, outcomes.get(1).trades());
+
+        // only the instructions whose DMC rows were written are published
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MurexBookingEntry>> published = ArgumentCaptor.forClass(List.class);
+        verify(publishStage).submit(eq(publishJob), published.capture());
+        assertEquals(List.of("C1", "C3"), published.getValue().stream().map(booking -> booking.murexTrade().getTradeReference()).toList());
+        verify(publishJob).seal();
+    }
+
+    @Test
+    void combinedDmcInsertCoversAllInstructions() throws Exception {
+        when(tradeDataHandlerService.fetchData(anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(List.of(row("C1"), row("C2")));
+
+        InstructionBatchResult result = batchService.processBatch(List.of(request("USD", "C1"), request("USD", "C2")));
+
+        verify(tradeDataHandlerService, times(1)).insertStgMrxExtDmcRecordsToDatabase(anyList());
+        assertEquals(2, result.succeeded());
+    }
+}
@@ -0,0 +1,223 @@
+package com.ruchira.murex.service;
+
+import com.ruchira.murex.config.CoalescingConfig;
+import com.ruchira.murex.dto.InstructionRequestDto;
+import com.ruchira.murex.model.InstructionRunStats;
+import com.ruchira.murex.pipeline.PublishReport;
+import com.ruchira.murex.pipeline.PublishStage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InstructionCoalescerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final PublishStage publishStage = mock(PublishStage.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private InstructionCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        CoalescingConfig config = new CoalescingConfig();
+        config.setCompletedWindow(Duration.ofMinutes(5));
+        when(publishStage.report(anyString())).thenReturn(Optional.empty());
+        coalescer = new InstructionCoalescer(config, publishStage, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static InstructionRequestDto request() {
+        InstructionRequestDto dto = new InstructionRequestDto();
+        dto.setBusinessDate("2025-08-20");
+        dto.setInstructionEvent("INCEPTION");
+        dto.setHedgeMethod("COH");
+        dto.setHedgeInstrumentType("FX_SPOT");
+        dto.setCurrency("USD");
+        dto.setExternalTradeIds("T1:T2");
+        return dto;
+    }
+
+    private static PublishReport report(String jobId) {
+        return new PublishReport(jobId, "test", PublishReport.Status.RUNNING, 2L, 0L, 0L, List.of(), 0L);
+    }
+
+    private double coalesced(String outcome) {
+        return meterRegistry.get("instruction.coalesced").tag("outcome", outcome).counter().count();
+    }
+
+    /**
+     * Wait until a follower has attached to the running leader
+     */
+    private void awaitAttached(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (coalesced("attached") < followers) {
+            assertTrue(System.nanoTime() < deadline, "follower did not attach");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void followerAttachesToRunningLeader() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        PublishReport leaderReport = report("job-1");
+
+        Future<PublishReport> leader = executor.submit(() -> coalescer.execute(request(), () -> {
+            executions.incrementAndGet();
+            release.await();
+            return leaderReport;
+        }));
+        // wait for the leader to be running before the follower arrives
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (executions.get() == 0) {
+            assertTrue(System.nanoTime() < deadline, "leader did not start");
+            Thread.sleep(5);
+        }
+        Future<PublishReport> follower = executor.submit(() -> coalescer.execute(request(), () -> {
+            executions.incrementAndGet();
+            return report("job-2");
+        }));
+        awaitAttached(1);
+        release.countDown();
+
+        assertSame(leaderReport, leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertSame(leaderReport, follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void followerReceivesStatsOfServingExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InstructionRunStats leaderStats = new InstructionRunStats();
+        InstructionRunStats followerStats = new InstructionRunStats();
+
+        Future<InstructionCoalescer.Execution> leader = executor.submit(() -> coalescer.execute(request(), leaderStats, () -> {
+            started.countDown();
+            release.await();
+            leaderStats.addTrades(3);
+            return report("job-1");
+        }));
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Future<InstructionCoalescer.Execution> follower = executor.submit(() -> coalescer.execute(request(), followerStats, () -> report("job-2")));
+        awaitAttached(1);
+        release.countDown();
+
+        InstructionCoalescer.Execution led = leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        InstructionCoalescer.Execution served = follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertFalse(led.coalesced());
+        assertTrue(served.coalesced());
+        assertSame(leaderStats, served.stats());
+        assertEquals("job-1", served.publishReport().jobId());
+        assertEquals(0L, followerStats.getTrades());
+
+        // a retry within the window is served by the same execution
+        InstructionCoalescer.Execution reused = coalescer.execute(request(), new InstructionRunStats(), () -> report("job-3"));
+        assertTrue(reused.coalesced());
+        assertSame(leaderStats, reused.stats());
+    }
+
+    @Test
+    void leaderFailureReachesFollowers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("fetch failed");
+
+        Future<PublishReport> leader = executor.submit(() -> coalescer.execute(request(), () -> {
+            started.countDown();
+            release.await();
+            throw failure;
+        }));
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Future<PublishReport> follower = executor.submit(() -> coalescer.execute(request(), () -> report("job-2")));
+        awaitAttached(1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertSame(failure, leaderFailure.getCause());
+        assertSame(failure, followerFailure.getCause());
+    }
+
+    @Test
+    void completedResultIsReusedWithinWindow() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        PublishReport first = report("job-1");
+        PublishReport progressed = new PublishReport("job-1", "test", PublishReport.Status.COMPLETED, 2L, 2L, 0L, List.of(), 12L);
+
+        assertSame(first, coalescer.execute(request(), () -> {
+            executions.incrementAndGet();
+            return first;
+        }));
+        when(publishStage.report("job-1")).thenReturn(Optional.of(progressed));
+        PublishReport reused = coalescer.execute(request(), () -> {
+            executions.incrementAndGet();
+            return report("job-2");
+        });
+
+        assertEquals(1, executions.get());
+        assertSame(progressed, reused);
+        assertEquals(1.0, coalesced("reused"));
+    }
+
+    @Test
+    void completedResultExpiresAfterWindow() throws Exception {
+        CoalescingConfig config = new CoalescingConfig();
+        config.setCompletedWindow(Duration.ofMillis(20));
+        InstructionCoalescer shortWindow = new InstructionCoalescer(config, publishStage, meterRegistry);
+
+        shortWindow.execute(request(), () -> report("job-1"));
+        Thread.sleep(100);
+
+        assertEquals("job-2", shortWindow.execute(request(), () -> report("job-2")).jobId());
+    }
+
+    @Test
+    void failuresAreNotCached() throws Exception {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(request(), () -> {
+            throw new IllegalStateException("fetch failed");
+        }));
+
+        PublishReport retried = coalescer.execute(request(), () -> report("job-2"));
+
+        assertEquals("job-2", retried.jobId());
+        assertEquals(0.0, coalesced("reused"));
+    }
+
+    @Test
+    void disabledCoalescingAlwaysRuns() throws Exception {
+        CoalescingConfig config = new CoalescingConfig();
+        config.setEnabled(false);
+        InstructionCoalescer disabled = new InstructionCoalescer(config, publishStage, meterRegistry);
+
+        disabled.execute(request(), () -> report("job-1"));
+
+        assertEquals("job-2", disabled.execute(request(), () -> report("job-2")).jobId());
+    }
+}
@@ -0,0 +1,80 @@
+package com.ruchira.murex.service;
+
+import com.ruchira.murex.config.DataFetchConfig;
+import com.ruchira.murex.freemaker.FtlSqlQueryBuilder;
+import com.ruchira.murex.freemaker.ParameterizedQuery;
+import com.ruchira.murex.parser.JsonParser;
+import com.ruchira.murex.repository.GenericJdbcDataRepository;
+import com.ruchira.murex.repository.RowMapperRegistry;
+import com.ruchira.murex.repository.SequenceIdAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_PROCESSED;
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_PUBLISHED;
+import static com.ruchira.murex.constant.Constants.BOOKING_STATUS_STORED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Booking status updates, rendered through the real template
+ */
+class TradeDataHandlerServiceTest {
+
+    private final GenericJdbcDataRepository repository = mock(GenericJdbcDataRepository.class);
+    private final FtlSqlQueryBuilder ftlQueryBuilder = new FtlSqlQueryBuilder();
+    private final TradeDataHandlerService tradeDataHandlerService = new TradeDataHandlerService(repository, ftlQueryBuilder,
+            mock(JsonParser.class), new DataFetchConfig(), mock(SequenceIdAllocator.class), mock(RowMapperRegistry.class),
+            mock(MurexBookingConfigIndexBuilder.class));
+
+    @BeforeEach
+    void setUp() {
+        ftlQueryBuilder.init();
+        when(repository.executeUpdate(any(ParameterizedQuery.class))).thenReturn(3);
+    }
+
+    private ParameterizedQuery executed() {
+        ArgumentCaptor<ParameterizedQuery> query = ArgumentCaptor.forClass(ParameterizedQuery.class);
+        verify(repository).executeUpdate(query.capture());
+        return query.getValue();
+    }
+
+    @Test
+    void manyBookingsAreUpdatedWithOneStatement() {
+        Set<String> tradeReferences = new LinkedHashSet<>(List.of("T1", "T2", "T3"));
+
+        assertEquals(3, tradeDataHandlerService.updateMurexBookingStatus(tradeReferences, BOOKING_STATUS_PROCESSED));
+
+        ParameterizedQuery query = executed();
+        assertTrue(query.parameters().containsValue(List.of("T1", "T2", "T3")), query::toString);
+        assertTrue(query.parameters().containsValue(BOOKING_STATUS_PROCESSED), query::toString);
+        assertFalse(query.sql().contains("AND booking_status"), query::sql);
+    }
+
+    @Test
+    void updateCanBeGuardedByTheCurrentStatus() {
+        tradeDataHandlerService.updateMurexBookingStatus(List.of("T1"), BOOKING_STATUS_PUBLISHED, BOOKING_STATUS_STORED);
+
+        ParameterizedQuery query = executed();
+        assertTrue(query.sql().contains("AND booking_status"), query::sql);
+        assertTrue(query.parameters().containsValue(BOOKING_STATUS_STORED), query::toString);
+    }
+
+    @Test
+    void noTradeReferencesRunNoStatement() {
+        assertEquals(0, tradeDataHandlerService.updateMurexBookingStatus(Set.of(), BOOKING_STATUS_PROCESSED));
+
+        verify(repository, never()).executeUpdate(any(ParameterizedQuery.class));
+    }
+}
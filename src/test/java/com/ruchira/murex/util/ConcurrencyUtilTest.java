@@ -0,0 +1,140 @@
+package com.ruchira.murex.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bounded {@code processAllOrNone}: limit, ordering and all-or-none behaviour of the list and source variants
+ */
+class ConcurrencyUtilTest {
+
+    private static final int LIMIT = 4;
+
+    private static final List<Integer> RECORDS = IntStream.range(0, 200).boxed().toList();
+
+    private static ConcurrencyUtil.RecordSource<Integer> sourceOf(List<Integer> records) {
+        return sink -> records.forEach(sink);
+    }
+
+    /**
+     * Task recording the highest number of concurrently running invocations
+     */
+    private static final class TrackingTask implements ConcurrencyUtil.RecordTask<Integer, Integer> {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private final AtomicInteger started = new AtomicInteger();
+        private final int failAt;
+        private final RuntimeException failure = new IllegalStateException("record failed");
+
+        private TrackingTask(int failAt) {
+            this.failAt = failAt;
+        }
+
+        @Override
+        public Integer process(Integer record) throws Exception {
+            started.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(1, 4));
+                if (record == failAt) {
+                    throw failure;
+                }
+                return record * 10;
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    private static List<Integer> expected(List<Integer> records) {
+        return records.stream().map(record -> record * 10).toList();
+    }
+
+    @Test
+    void listVariantHonoursLimit() throws Exception {
+        TrackingTask task = new TrackingTask(-1);
+
+        ConcurrencyUtil.processAllOrNone(RECORDS, task, () -> LIMIT, 1);
+
+        assertTrue(task.maxRunning.get() <= LIMIT, "ran " + task.maxRunning.get() + " tasks at once");
+        assertEquals(RECORDS.size(), task.started.get());
+    }
+
+    @Test
+    void sourceVariantHonoursLimit() throws Exception {
+        TrackingTask task = new TrackingTask(-1);
+
+        ConcurrencyUtil.processAllOrNone(sourceOf(RECORDS), task, () -> LIMIT, 1);
+
+        assertTrue(task.maxRunning.get() <= LIMIT, "ran " + task.maxRunning.get() + " tasks at once");
+        assertEquals(RECORDS.size(), task.started.get());
+    }
+
+    @Test
+    void listVariantKeepsRecordOrderAcrossChunks() throws Exception {
+        List<Integer> results = ConcurrencyUtil.processAllOrNone(RECORDS, new TrackingTask(-1), () -> LIMIT, 7);
+
+        assertEquals(expected(RECORDS), results);
+    }
+
+    @Test
+    void sourceVariantKeepsEmissionOrderAcrossChunks() throws Exception {
+        // 200 records in chunks of 7 leaves a partial last chunk
+        List<Integer> results = ConcurrencyUtil.processAllOrNone(sourceOf(RECORDS), new TrackingTask(-1), () -> LIMIT, 7);
+
+        assertEquals(expected(RECORDS), results);
+    }
+
+    @Test
+    void listVariantStopsForkingAfterFirstFailure() {
+        TrackingTask task = new TrackingTask(3);
+
+        Exception thrown = assertThrows(Exception.class, () -> ConcurrencyUtil.processAllOrNone(RECORDS, task, () -> 1, 1));
+
+        assertSame(task.failure, thrown.getCause());
+        // one slot: the failed record keeps it, so no later record starts
+        assertEquals(4, task.started.get());
+    }
+
+    @Test
+    void sourceVariantStopsEmittingAfterFirstFailure() {
+        TrackingTask task = new TrackingTask(3);
+        AtomicInteger emitted = new AtomicInteger();
+        ConcurrencyUtil.RecordSource<Integer> source = sink -> {
+            for (Integer record : RECORDS) {
+                emitted.incrementAndGet();
+                sink.accept(record);
+            }
+        };
+
+        Exception thrown = assertThrows(Exception.class, () -> ConcurrencyUtil.processAllOrNone(source, task, () -> 1, 1));
+
+        assertSame(task.failure, thrown.getCause());
+        assertEquals(4, task.started.get());
+        // the record emitted while the failed one held the slot is the last one
+        assertEquals(5, emitted.get());
+    }
+
+    @Test
+    void sourceFailureIsRethrown() {
+        IllegalStateException failure = new IllegalStateException("stream broken");
+        ConcurrencyUtil.RecordSource<Integer> source = sink -> {
+            sink.accept(1);
+            throw failure;
+        };
+
+        Exception thrown = assertThrows(Exception.class,
+                () -> ConcurrencyUtil.processAllOrNone(source, new TrackingTask(-1), () -> LIMIT, 1));
+
+        assertSame(failure, thrown);
+    }
+}
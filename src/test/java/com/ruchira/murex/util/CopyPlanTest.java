@@ -0,0 +1,159 @@
+package com.ruchira.murex.util;
+
+import com.ruchira.murex.dto.StgMrxExtDmcDto;
+import com.ruchira.murex.model.AggregatedDataResponse;
+import com.ruchira.murex.model.TransformedMurexTrade;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link FieldTable} and {@link CopyPlan} copy the same values as the BeanWrapper-based clone they replaced
+ */
+class CopyPlanTest {
+
+    /**
+     * Subclass of a real DTO, to check that inherited fields are addressable
+     */
+    public static class AuditedTrade extends TransformedMurexTrade {
+        private String auditUser;
+
+        public String getAuditUser() {
+            return auditUser;
+        }
+
+        public void setAuditUser(String auditUser) {
+            this.auditUser = auditUser;
+        }
+    }
+
+    /**
+     * The clone as CloneUtils did it before copy plans: property by property through BeanWrapper
+     */
+    private static <T> T beanWrapperClone(Object source, Class<T> targetClass, Set<String> includedFields) throws Exception {
+        T target = targetClass.getDeclaredConstructor().newInstance();
+        BeanWrapperImpl sourceWrapper = new BeanWrapperImpl(source);
+        BeanWrapperImpl targetWrapper = new BeanWrapperImpl(target);
+        for (String field : includedFields) {
+            if (sourceWrapper.isReadableProperty(field) && targetWrapper.isWritableProperty(field)) {
+                targetWrapper.setPropertyValue(field, sourceWrapper.getPropertyValue(field));
+            }
+        }
+        return target;
+    }
+
+    /**
+     * An instance with every field, inherited ones included, set to a value distinct per field and per {@code seed}
+     */
+    private static <T> T populated(Class<T> type, int seed) throws Exception {
+        T instance = type.getDeclaredConstructor().newInstance();
+        int ordinal = 0;
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                ordinal++;
+                field.setAccessible(true);
+                Class<?> fieldType = field.getType();
+                if (fieldType == String.class) {
+                    field.set(instance, field.getName() + "-" + seed);
+                } else if (fieldType == BigDecimal.class) {
+                    field.set(instance, new BigDecimal(seed * 1000 + ordinal + ".25"));
+                } else if (fieldType == LocalDate.class) {
+                    field.set(instance, LocalDate.of(2025, 1, 1).plusDays(seed * 100L + ordinal));
+                } else if (fieldType == LocalDateTime.class) {
+                    field.set(instance, LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(seed * 100L + ordinal));
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static Set<String> propertiesOf(Class<?> type) {
+        return Arrays.stream(new BeanWrapperImpl(type).getPropertyDescriptors())
+                .map(PropertyDescriptor::getName)
+                .filter(name -> !"class".equals(name))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static <S, T> void assertCopiesLikeBeanWrapper(Class<S> sourceClass, Class<T> targetClass, Set<String> fields,
+                                                           AccessorBackend backend) throws Exception {
+        S source = populated(sourceClass, 1);
+        CopyPlan<S, T> plan = CopyPlan.compile(sourceClass, targetClass, fields, backend);
+
+        T expected = beanWrapperClone(source, targetClass, fields);
+        T copied = plan.copy(source);
+
+        assertEquals(expected, copied, () -> sourceClass.getSimpleName() + " -> " + targetClass.getSimpleName());
+        // the copy is populated, not merely equal to an empty target
+        assertNotEquals(beanWrapperClone(source, targetClass, Set.of()), copied);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccessorBackend.class)
+    void sameTypeCopyMatchesBeanWrapper(AccessorBackend backend) throws Exception {
+        for (Class<?> type : List.of(TransformedMurexTrade.class, StgMrxExtDmcDto.class, AggregatedDataResponse.class)) {
+            Set<String> fields = new TreeSet<>(propertiesOf(type));
+            fields.add("noSuchField");
+            assertCopiesLikeBeanWrapper(type, type, fields, backend);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccessorBackend.class)
+    void crossTypeCopyMatchesBeanWrapper(AccessorBackend backend) throws Exception {
+        assertCopiesLikeBeanWrapper(AggregatedDataResponse.class, TransformedMurexTrade.class,
+                propertiesOf(TransformedMurexTrade.class), backend);
+        assertCopiesLikeBeanWrapper(TransformedMurexTrade.class, StgMrxExtDmcDto.class,
+                propertiesOf(StgMrxExtDmcDto.class), backend);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccessorBackend.class)
+    void fieldSubsetMatchesBeanWrapper(AccessorBackend backend) throws Exception {
+        List<String> properties = List.copyOf(propertiesOf(TransformedMurexTrade.class));
+        Set<String> everyOther = new TreeSet<>();
+        for (int i = 0; i < properties.size(); i += 2) {
+            everyOther.add(properties.get(i));
+        }
+
+        assertCopiesLikeBeanWrapper(TransformedMurexTrade.class, TransformedMurexTrade.class, everyOther, backend);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccessorBackend.class)
+    void inheritedFieldsAreIndexed(AccessorBackend backend) throws Exception {
+        FieldTable<AuditedTrade> table = FieldTable.forClass(AuditedTrade.class, backend);
+
+        assertEquals(propertiesOf(AuditedTrade.class).size(), table.size());
+        assertTrue(table.ordinal("traceId") >= 0);
+        assertTrue(table.ordinal("auditUser") >= 0);
+
+        AuditedTrade source = populated(AuditedTrade.class, 2);
+        Set<String> fields = propertiesOf(AuditedTrade.class);
+        AuditedTrade copied = CopyPlan.compile(AuditedTrade.class, AuditedTrade.class, fields, backend).copy(source);
+        AuditedTrade expected = beanWrapperClone(source, AuditedTrade.class, fields);
+
+        // equals of the DTO compares the inherited fields
+        assertEquals(expected, copied);
+        assertEquals(expected.getAuditUser(), copied.getAuditUser());
+        assertEquals(fields, new TreeSet<>(CopyPlan.compile(AuditedTrade.class, AuditedTrade.class, fields, backend).getFieldNames()));
+    }
+}